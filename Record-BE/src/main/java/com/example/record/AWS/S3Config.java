@@ -0,0 +1,72 @@
+// S3Config: 애플리케이션 전체에서 공유하는 S3 클라이언트(싱글톤)를 등록하는 설정 클래스입니다.
+
+
+package com.example.record.AWS;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.time.Duration;
+
+@Configuration
+public class S3Config {
+
+    /**
+     * 공유 S3 클라이언트
+     *
+     * 이유: 예전에는 업로드마다 S3Client를 새로 만들어 HTTP 커넥션 풀과 자격 증명 조회를 매번 반복했습니다.
+     * 클라이언트는 스레드 안전하므로 하나만 만들어 커넥션을 재사용합니다.
+     *
+     * - @Lazy: 로컬 저장소(app.storage.type=local)로 실행할 때는 AWS 키가 없어도 기동되도록 첫 사용 시점에 생성
+     * - 액세스 키가 비어 있으면 기본 자격 증명 체인(환경 변수, EC2 인스턴스 역할 등)을 사용
+     */
+    @Bean(destroyMethod = "close")
+    @Lazy
+    public S3Client s3Client(@Value("${cloud.aws.credentials.access-key}") String accessKey,
+                             @Value("${cloud.aws.credentials.secret-key}") String secretKey,
+                             @Value("${cloud.aws.region.static}") String region,
+                             @Value("${cloud.aws.s3.max-connections:50}") int maxConnections) {
+        return S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider(accessKey, secretKey))
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .maxConnections(maxConnections)
+                        .connectionTimeout(Duration.ofSeconds(5))
+                        .socketTimeout(Duration.ofSeconds(60)))
+                .build();
+    }
+
+    /**
+     * 업로드용 presigned URL 발급기 (클라이언트가 API 서버를 거치지 않고 S3에 직접 PUT)
+     *
+     * 서명은 로컬 계산만 하므로 네트워크 호출이 없습니다. S3Client와 마찬가지로 하나만 만들어 재사용합니다.
+     */
+    @Bean(destroyMethod = "close")
+    @Lazy
+    public S3Presigner s3Presigner(@Value("${cloud.aws.credentials.access-key}") String accessKey,
+                                   @Value("${cloud.aws.credentials.secret-key}") String secretKey,
+                                   @Value("${cloud.aws.region.static}") String region) {
+        return S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider(accessKey, secretKey))
+                .build();
+    }
+
+    private AwsCredentialsProvider credentialsProvider(String accessKey, String secretKey) {
+        if (StringUtils.hasText(accessKey) && StringUtils.hasText(secretKey)) {
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        }
+        return DefaultCredentialsProvider.create();
+    }
+}
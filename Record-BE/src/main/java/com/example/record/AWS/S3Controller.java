@@ -1,29 +1,39 @@
-// S3Controller: 클라이언트로부터 업로드된 파일을 받아 AWS S3에 저장하고, 업로드된 파일의 URL을 반환하는 컨트롤러입니다.
+// S3Controller: 클라이언트로부터 업로드된 파일을 받아 저장소(S3 또는 로컬)에 저장하고, 업로드된 파일의 URL을 반환하는 컨트롤러입니다.
 
 
 package com.example.record.AWS;
 
+import com.example.record.storage.ContentAddressedBlobStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+
 import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequiredArgsConstructor
 public class S3Controller {
 
-    private final S3Service s3Service;
+    // 내용 주소 기반 blob 저장소 (같은 파일은 한 번만 저장, 실제 저장은 S3 또는 로컬 MediaStorage)
+    private final ContentAddressedBlobStore blobStore;
 
-    // POST /upload 요청을 받아 파일을 S3에 업로드하고 업로드된 파일의 URL을 반환
+    // POST /upload 요청을 받아 파일을 저장소에 업로드하고 업로드된 파일의 URL을 반환
     @PostMapping("/upload")
     public ResponseEntity<String> upload(@RequestParam("file") MultipartFile file) {
-        try {
-            // S3에 파일 업로드 수행
-            String uploadedUrl = s3Service.uploadFile(file);
+        // 확장자만 사용 (key는 내용의 SHA-256으로 결정되어 같은 파일은 같은 URL)
+        String originalName = StringUtils.getFilename(StringUtils.cleanPath(
+                file.getOriginalFilename() != null ? file.getOriginalFilename() : "file"));
+        String ext = StringUtils.getFilenameExtension(originalName);
+
+        // 이유: file.getBytes()로 전체를 힙에 올리지 않고 스트림으로 전달 (큰 파일은 S3 멀티파트 업로드)
+        try (InputStream in = file.getInputStream()) {
+            String uploadedUrl = blobStore.store(in, file.getContentType(), ext).url();
 
             // 업로드된 파일의 URL 반환
             return ResponseEntity.ok(uploadedUrl);
@@ -34,4 +44,3 @@ public class S3Controller {
         }
     }
 }
-
@@ -1,64 +1,243 @@
 // S3Service: AWS S3에 파일을 업로드하고, 업로드된 파일의 공개 URL을 반환하는 서비스 클래스입니다.
+// (key 결정과 중복 제거는 storage/ContentAddressedBlobStore가 담당)
 
 
 package com.example.record.AWS;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.util.UUID;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class S3Service {
 
-    // application.yml에서 S3 관련 설정 주입
-    @Value("${cloud.aws.credentials.access-key}")
-    private String accessKey;
+    /** S3 멀티파트 업로드의 최소 파트 크기 (마지막 파트 제외) */
+    private static final long MIN_PART_SIZE = DataSize.ofMegabytes(5).toBytes();
 
-    @Value("${cloud.aws.credentials.secret-key}")
-    private String secretKey;
+    // 공유 S3 클라이언트 (S3Config에서 지연 생성되는 싱글톤)
+    private final ObjectProvider<S3Client> s3ClientProvider;
 
+    // application.yml에서 S3 관련 설정 주입
     @Value("${cloud.aws.region.static}")
     private String region;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
 
-    // MultipartFile을 받아 AWS S3에 업로드하고 업로드된 파일의 URL을 반환
-    public String uploadFile(MultipartFile file) throws IOException {
-        // S3 클라이언트 생성 (액세스 키, 시크릿 키, 리전 기반)
-        S3Client s3Client = S3Client.builder()
-                .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create(accessKey, secretKey)))
-                .build();
+    // CDN(CloudFront 등)을 앞에 둘 경우 공개 URL의 prefix (비어 있으면 S3 기본 URL 사용)
+    @Value("${cloud.aws.s3.public-base-url:}")
+    private String publicBaseUrl;
+
+    // 이 크기 이상이면 멀티파트 업로드 사용
+    @Value("${cloud.aws.s3.multipart-threshold:16MB}")
+    private DataSize multipartThreshold;
+
+    // 멀티파트 업로드 시 파트 하나의 크기 (한 번에 힙에 올라가는 최대 크기)
+    @Value("${cloud.aws.s3.multipart-part-size:8MB}")
+    private DataSize multipartPartSize;
+
+    /**
+     * 스트림을 지정한 key로 업로드하고 공개 URL을 반환 (생성 이미지 저장 등에 사용)
+     *
+     * multipart-threshold 미만은 단일 PUT, 이상은 멀티파트 업로드로 나눠 올립니다.
+     */
+    public String putObject(String key, InputStream in, long contentLength, String contentType) throws IOException {
+        if (contentLength >= multipartThreshold.toBytes()) {
+            multipartUpload(key, in, contentLength, contentType);
+            return publicUrl(key);
+        }
+
+        // 이유: RequestBody.fromBytes는 전체 파일을 힙에 올리므로, 길이를 알고 있는 스트림은 그대로 전달
+        client().putObject(putRequest(key, contentType), RequestBody.fromInputStream(in, contentLength));
+        return publicUrl(key);
+    }
 
-        // 고유한 파일 이름 생성 (UUID + 원래 파일명)
-        String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
+    /**
+     * 멀티파트 업로드
+     *
+     * 파트 크기만큼의 버퍼 하나를 재사용하며 순서대로 올리므로 파일 크기와 관계없이 힙 사용량이 일정합니다.
+     * 중간에 실패하면 업로드를 abort하여 S3에 미완성 파트가 남지 않게 합니다.
+     *
+     * S3는 마지막이 아닌 파트가 5MB보다 작으면 완료를 거절하므로, 버퍼를 가득 채운 파트만 "마지막이 아닌 파트"로 올립니다.
+     * (readNBytes는 스트림이 끝났을 때만 덜 채우므로, 덜 찬 파트는 항상 마지막 파트)
+     * 첫 버퍼도 다 채우지 못할 만큼 짧은 스트림(신고한 길이보다 짧음)은 멀티파트 대신 단일 PUT으로 올립니다.
+     */
+    private void multipartUpload(String key, InputStream in, long contentLength, String contentType) throws IOException {
+        byte[] buffer = new byte[(int) Math.max(MIN_PART_SIZE, multipartPartSize.toBytes())];
+        int read = in.readNBytes(buffer, 0, (int) Math.min(buffer.length, contentLength));
+        if (read == 0) {
+            throw new EOFException("업로드 스트림이 비어 있습니다: key=" + key);
+        }
+        if (read < buffer.length || read == contentLength) {
+            // 한 파트로 끝나는 크기 → 멀티파트 없이 한 번에 올림
+            if (read < contentLength) {
+                log.warn("S3 업로드 스트림이 신고한 길이보다 짧습니다: key={}, expected={}bytes, actual={}bytes",
+                        key, contentLength, read);
+            }
+            client().putObject(putRequest(key, contentType), RequestBody.fromBytes(Arrays.copyOf(buffer, read)));
+            return;
+        }
 
-        // S3에 업로드할 요청 객체 생성
-        PutObjectRequest request = PutObjectRequest.builder()
+        S3Client s3 = client();
+        String uploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
                 .bucket(bucket)
-                .key(fileName)
+                .key(key)
+                .acl("public-read")
+                .contentType(contentType)
+                .build()).uploadId();
+
+        List<CompletedPart> parts = new ArrayList<>();
+        long uploaded = 0;
+        try {
+            int partNumber = 1;
+            while (read > 0) {
+                String eTag = s3.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) read)
+                                .build(),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, read), read)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                uploaded += read;
+                partNumber++;
+
+                // 덜 찬 파트는 스트림의 끝 → 방금 올린 파트가 마지막
+                if (read < buffer.length || uploaded >= contentLength) {
+                    break;
+                }
+                read = in.readNBytes(buffer, 0, (int) Math.min(buffer.length, contentLength - uploaded));
+            }
+
+            s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+            if (uploaded < contentLength) {
+                log.warn("S3 업로드 스트림이 신고한 길이보다 짧습니다: key={}, expected={}bytes, actual={}bytes",
+                        key, contentLength, uploaded);
+            }
+            log.info("S3 멀티파트 업로드 완료: key={}, parts={}, size={}bytes", key, parts.size(), uploaded);
+        } catch (IOException | RuntimeException e) {
+            try {
+                s3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (RuntimeException abortError) {
+                e.addSuppressed(abortError);
+            }
+            throw e;
+        }
+    }
+
+    private PutObjectRequest putRequest(String key, String contentType) {
+        return PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
                 .acl("public-read") // 업로드된 파일을 외부에서 접근 가능하도록 설정
-                .contentType(file.getContentType())
+                .contentType(contentType)
                 .build();
+    }
 
-        // 실제 파일 업로드 수행
-        s3Client.putObject(request, RequestBody.fromBytes(file.getBytes()));
+    // key에 저장된 객체를 읽기 위한 스트림 반환
+    public InputStream getObject(String key) {
+        return client().getObject(GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build());
+    }
 
-        // 업로드된 파일의 공개 URL 반환
-        return "https://" + bucket + ".s3." + region + ".amazonaws.com/" + fileName;
+    // key에 객체가 존재하는지 확인 (HEAD 요청)
+    public boolean exists(String key) {
+        try {
+            client().headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    // key에 저장된 객체의 크기 (없으면 -1)
+    public long contentLength(String key) {
+        try {
+            return client().headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build()).contentLength();
+        } catch (NoSuchKeyException e) {
+            return -1;
+        }
     }
-}
 
+    // 같은 버킷 안에서 객체 복사 (공개 읽기 권한도 함께 지정)
+    public void copyObject(String sourceKey, String destinationKey) {
+        client().copyObject(CopyObjectRequest.builder()
+                .sourceBucket(bucket)
+                .sourceKey(sourceKey)
+                .destinationBucket(bucket)
+                .destinationKey(destinationKey)
+                .acl("public-read")
+                .build());
+    }
+
+    // key에 저장된 객체 삭제
+    public void deleteObject(String key) {
+        client().deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build());
+    }
+
+    // key → 공개 URL
+    public String publicUrl(String key) {
+        return baseUrl() + key;
+    }
+
+    // 공개 URL의 공통 prefix (끝에 "/" 포함)
+    public String baseUrl() {
+        if (StringUtils.hasText(publicBaseUrl)) {
+            return publicBaseUrl.endsWith("/") ? publicBaseUrl : publicBaseUrl + "/";
+        }
+        return "https://" + bucket + ".s3." + region + ".amazonaws.com/";
+    }
+
+    private S3Client client() {
+        return s3ClientProvider.getObject();
+    }
+}
@@ -1,7 +1,8 @@
-// ApiKey: 사용자별 OpenAI API 키를 저장하는 엔티티 클래스입니다.
+// ApiKey: 이미지 생성 API(/generate-image) 호출에 사용하는 API 키를 저장하는 엔티티 클래스입니다.
 
 package com.example.record;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -17,16 +18,33 @@ public class ApiKey {
     private Long id;
 
     private String userId;  // API 키를 등록한 사용자 ID
-    private String apiKey;  // 실제로 사용할 OpenAI API 키
+
+    // 원본 키는 저장하지 않고 SHA-256 해시만 저장 (DB가 유출되어도 키를 사용할 수 없음)
+    @Column(name = "key_hash", length = 64, unique = true)
+    private String keyHash;
+
+    // 관리 화면에서 키를 구분하기 위한 앞부분 몇 글자
+    @Column(name = "key_prefix", length = 12)
+    private String keyPrefix;
+
+    // 하루 최대 호출 수 (null이면 무제한)
+    @Column(name = "daily_quota")
+    private Long dailyQuota;
+
+    // 예전 평문 키 컬럼: 기동 시 해시로 옮긴 뒤 비웁니다. (ApiKeyService.migrateLegacyKeys)
+    @Column(name = "api_key")
+    private String apiKey;
 
     private LocalDateTime createdAt = LocalDateTime.now(); // 등록 시각
 
     public ApiKey() {}
 
-    // 생성자: 사용자 ID와 API 키를 받아 초기화
-    public ApiKey(String userId, String apiKey) {
+    // 생성자: 사용자 ID와 키 해시를 받아 초기화
+    public ApiKey(String userId, String keyHash, String keyPrefix, Long dailyQuota) {
         this.userId = userId;
-        this.apiKey = apiKey;
+        this.keyHash = keyHash;
+        this.keyPrefix = keyPrefix;
+        this.dailyQuota = dailyQuota;
     }
 
     // getter/setter 메서드
@@ -42,6 +60,30 @@ public class ApiKey {
         this.userId = userId;
     }
 
+    public String getKeyHash() {
+        return keyHash;
+    }
+
+    public void setKeyHash(String keyHash) {
+        this.keyHash = keyHash;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public Long getDailyQuota() {
+        return dailyQuota;
+    }
+
+    public void setDailyQuota(Long dailyQuota) {
+        this.dailyQuota = dailyQuota;
+    }
+
     public String getApiKey() {
         return apiKey;
     }
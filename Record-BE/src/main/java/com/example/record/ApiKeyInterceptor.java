@@ -1,61 +1,50 @@
-// ApiKeyInterceptor: 모든 HTTP 요청에 대해 Authorization 헤더의 API 키 유효성을 검사하는 Spring 인터셉터입니다.
+// ApiKeyInterceptor: 이미지 생성 요청에 대해 Authorization 헤더의 API 키 유효성과 일일 사용량을 검사하는 Spring 인터셉터입니다.
 
 package com.example.record;
 
 import java.io.IOException;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 
 @Component
+@RequiredArgsConstructor
 public class ApiKeyInterceptor implements HandlerInterceptor {
 
-    @Autowired
-    private ApiKeyRepository apiKeyRepository; // API 키 유효성 검사를 위한 DB 접근 객체
+    private final ApiKeyVerifier apiKeyVerifier; // 메모리 캐시 기반 검증 (키 조회에 DB를 쓰지 않고, 한도가 있는 키만 사용량을 DB에 기록)
 
     // 컨트롤러 실행 전에 호출되어 요청을 사전 처리
     @Override
-    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        // Authorization 헤더 추출
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        // Authorization 헤더 추출 (키 값은 로그에 남기지 않음)
         String header = request.getHeader("Authorization");
-        System.out.println("=== Authorization 헤더: " + header); // 디버깅용 로그
 
         // 헤더가 없거나 Bearer 형식이 아닌 경우
         if (header == null || !header.startsWith("Bearer ")) {
-            System.out.println(">>> Authorization 헤더 누락 또는 잘못된 형식");
-            try {
-                response.sendError(HttpStatus.UNAUTHORIZED.value(), "Missing or invalid Authorization header");
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), "Missing or invalid Authorization header");
             return false; // 요청 차단
         }
 
-        // "Bearer " 접두사 제거 후 API 키만 추출
-        String apiKey = header.substring(7);
-        System.out.println("=== 추출된 API 키: " + apiKey);
-
-        // DB에서 해당 API 키 존재 여부 확인
-        boolean exists = apiKeyRepository.existsByApiKey(apiKey);
-        System.out.println("=== DB에 키 존재 여부: " + exists);
-
-        // 키가 유효하지 않으면 401 응답 반환
-        if (!exists) {
-            System.out.println(">>> 존재하지 않는 API 키");
-            try {
+        // "Bearer " 접두사 제거 후 API 키만 추출하여 검증
+        switch (apiKeyVerifier.verifyAndCount(header.substring(7))) {
+            case INVALID -> {
                 response.sendError(HttpStatus.UNAUTHORIZED.value(), "Invalid API Key");
-            } catch (IOException e) {
-                e.printStackTrace();
+                return false;
+            }
+            case QUOTA_EXCEEDED -> {
+                response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Daily API Key quota exceeded");
+                return false;
+            }
+            default -> {
+                // 검증 통과 → 컨트롤러로 요청 진행 허용
+                return true;
             }
-            return false;
         }
-
-        // 검증 통과 → 컨트롤러로 요청 진행 허용
-        return true;
     }
 }
@@ -4,8 +4,14 @@ package com.example.record;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
 
-    // 특정 API 키가 DB에 존재하는지 여부를 확인
-    boolean existsByApiKey(String apiKey);
+    // 해시로 키 조회 (캐시에 없는 키를 확인할 때만 사용)
+    Optional<ApiKey> findByKeyHash(String keyHash);
+
+    // 아직 해시로 옮기지 않은 예전 평문 키
+    List<ApiKey> findByKeyHashIsNullAndApiKeyIsNotNull();
 }
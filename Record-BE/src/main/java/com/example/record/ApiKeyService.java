@@ -0,0 +1,100 @@
+// ApiKeyService: API 키 발급/삭제/조회와 예전 평문 키의 해시 전환을 담당하는 서비스입니다.
+
+package com.example.record;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApiKeyService {
+
+    private static final String KEY_PREFIX = "rk_";
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final ApiKeyUsageRepository apiKeyUsageRepository;
+    // 키 캐시(ApiKeyVerifier)는 커밋 후에 이 이벤트를 받아 다시 읽음
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /** 발급 결과 (원본 키는 이 응답에서 한 번만 보여줍니다) */
+    public record IssuedKey(Long id, String apiKey, Long dailyQuota) {}
+
+    /** 관리용 목록 항목 (원본 키 대신 앞부분만) */
+    public record KeySummary(Long id, String userId, String keyPrefix, Long dailyQuota,
+                             long usedToday, LocalDateTime createdAt) {}
+
+    @Transactional
+    public IssuedKey issue(String userId, Long dailyQuota) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawKey = KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        ApiKey saved = apiKeyRepository.save(new ApiKey(
+                userId, ApiKeyVerifier.hash(rawKey), rawKey.substring(0, 8), dailyQuota));
+        eventPublisher.publishEvent(new ApiKeysChangedEvent());
+        return new IssuedKey(saved.getId(), rawKey, dailyQuota);
+    }
+
+    @Transactional
+    public boolean delete(Long id) {
+        ApiKey key = apiKeyRepository.findById(id).orElse(null);
+        if (key == null) {
+            return false;
+        }
+        apiKeyRepository.delete(key);
+        if (key.getKeyHash() != null) {
+            apiKeyUsageRepository.deleteByKeyHash(key.getKeyHash());
+        }
+        eventPublisher.publishEvent(new ApiKeysChangedEvent());
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public List<KeySummary> list() {
+        Map<String, Long> usedToday = apiKeyUsageRepository.findToday().stream()
+                .collect(Collectors.toMap(ApiKeyUsageRepository.UsageRow::getKeyHash,
+                        ApiKeyUsageRepository.UsageRow::getUsedCount));
+        return apiKeyRepository.findAll().stream()
+                .map(key -> new KeySummary(
+                        key.getId(),
+                        key.getUserId(),
+                        key.getKeyPrefix(),
+                        key.getDailyQuota(),
+                        key.getKeyHash() != null ? usedToday.getOrDefault(key.getKeyHash(), 0L) : 0,
+                        key.getCreatedAt()))
+                .toList();
+    }
+
+    /** 기동 시 예전 평문 키를 해시로 옮기고 평문 컬럼을 비운 뒤 캐시를 채웁니다. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrateLegacyKeys() {
+        List<ApiKey> legacy = apiKeyRepository.findByKeyHashIsNullAndApiKeyIsNotNull();
+        for (ApiKey key : legacy) {
+            String rawKey = key.getApiKey();
+            key.setKeyHash(ApiKeyVerifier.hash(rawKey));
+            key.setKeyPrefix(rawKey.substring(0, Math.min(8, rawKey.length())));
+            key.setApiKey(null);
+        }
+        if (!legacy.isEmpty()) {
+            apiKeyRepository.flush();
+            log.info("평문 API 키 {}건을 해시로 전환했습니다.", legacy.size());
+        }
+        eventPublisher.publishEvent(new ApiKeysChangedEvent());
+    }
+}
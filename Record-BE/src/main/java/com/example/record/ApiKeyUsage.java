@@ -0,0 +1,71 @@
+// ApiKeyUsage: API 키별 하루 사용량을 저장하는 엔티티 클래스입니다. (여러 서버 인스턴스가 같은 행을 공유)
+
+package com.example.record;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// 테이블 구조만 이 엔티티로 관리합니다. (ddl-auto)
+// 사용량 증가는 ApiKeyUsageRepository.tryIncrement의 UPSERT 한 문장으로 합니다.
+@Entity
+@Table(name = "api_key_usage")
+@IdClass(ApiKeyUsage.Key.class)
+public class ApiKeyUsage {
+
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    // DB 기준 날짜 (CURRENT_DATE) → 서버마다 시간대가 달라도 같은 날짜로 셈
+    @Id
+    @Column(name = "usage_date")
+    private LocalDate usageDate;
+
+    @Column(name = "used_count", nullable = false)
+    private Long usedCount;
+
+    public ApiKeyUsage() {}
+
+    public String getKeyHash() {
+        return keyHash;
+    }
+
+    public LocalDate getUsageDate() {
+        return usageDate;
+    }
+
+    public Long getUsedCount() {
+        return usedCount;
+    }
+
+    public static class Key implements Serializable {
+        private String keyHash;
+        private LocalDate usageDate;
+
+        public Key() {}
+
+        public Key(String keyHash, LocalDate usageDate) {
+            this.keyHash = keyHash;
+            this.usageDate = usageDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(keyHash, other.keyHash) && Objects.equals(usageDate, other.usageDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyHash, usageDate);
+        }
+    }
+}
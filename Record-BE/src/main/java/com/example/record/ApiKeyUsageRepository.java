@@ -0,0 +1,50 @@
+// ApiKeyUsageRepository: API 키 일일 사용량을 DB에서 원자적으로 세는 리포지토리 인터페이스입니다.
+
+package com.example.record;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ApiKeyUsageRepository extends JpaRepository<ApiKeyUsage, ApiKeyUsage.Key> {
+
+    interface UsageRow {
+        String getKeyHash();
+        Long getUsedCount();
+    }
+
+    /**
+     * 오늘 사용량을 1 올립니다. (한도에 이미 도달했으면 올리지 않음)
+     *
+     * 조회 후 증가하는 두 단계 방식이면 여러 서버가 동시에 마지막 1회를 함께 통과시키므로,
+     * 행 잠금 한 번으로 끝나는 UPSERT 한 문장으로 검사와 증가를 같이 합니다.
+     * 새 행(INSERT 분기)은 한도를 검사하지 않으므로 호출자가 quota >= 1일 때만 호출해야 합니다.
+     *
+     * @return 1이면 허용, 0이면 한도 초과
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO api_key_usage (key_hash, usage_date, used_count)
+            VALUES (:keyHash, CURRENT_DATE, 1)
+            ON CONFLICT (key_hash, usage_date) DO UPDATE
+               SET used_count = api_key_usage.used_count + 1
+             WHERE api_key_usage.used_count < :quota
+            """)
+    int tryIncrement(@Param("keyHash") String keyHash, @Param("quota") long quota);
+
+    // 오늘 사용량 (관리 화면용)
+    @Query(nativeQuery = true,
+            value = "SELECT key_hash AS keyHash, used_count AS usedCount FROM api_key_usage WHERE usage_date = CURRENT_DATE")
+    List<UsageRow> findToday();
+
+    // 키 삭제 시 사용량 기록도 함께 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ApiKeyUsage u WHERE u.keyHash = :keyHash")
+    int deleteByKeyHash(@Param("keyHash") String keyHash);
+}
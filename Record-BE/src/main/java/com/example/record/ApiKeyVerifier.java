@@ -0,0 +1,155 @@
+// ApiKeyVerifier: API 키 검증을 메모리에서 처리하는 컴포넌트입니다. (요청마다 키 목록을 DB에서 조회하지 않음)
+
+package com.example.record;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * - 유효한 키의 해시를 최대 max-cached개까지 메모리에 보관합니다.
+ *   전체 키가 모두 올라와 있으면 캐시에 없는 키는 DB 조회 없이 바로 거절합니다.
+ * - 캐시에 다 못 올린 경우에만 DB를 조회하고, 없는 키는 negative 캐시에 잠시 기억합니다.
+ * - 키 생성/삭제 시 ApiKeyService가 이벤트를 발행하고, 커밋된 뒤에 다시 읽어옵니다. (onApiKeysChanged)
+ *   다른 서버 인스턴스에서 바뀐 키는 refresh-ms마다 다시 읽어 반영합니다.
+ * - 일일 한도가 있는 키는 DB의 api_key_usage에서 세므로 서버가 여러 대여도 한도가 합쳐서 적용됩니다.
+ *   (한도가 없는 키는 세지 않아 DB 쓰기가 없음)
+ */
+@Component
+public class ApiKeyVerifier {
+
+    public enum Result { VALID, INVALID, QUOTA_EXCEEDED }
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final ApiKeyUsageRepository apiKeyUsageRepository;
+
+    @Value("${app.api-key.max-cached:10000}")
+    private int maxCached;
+
+    @Value("${app.api-key.negative-max-entries:10000}")
+    private int negativeMaxEntries;
+
+    @Value("${app.api-key.negative-ttl-ms:60000}")
+    private long negativeTtlMs;
+
+    @Value("${app.api-key.refresh-ms:60000}")
+    private long refreshMs;
+
+    // 키 해시 → 일일 한도 (null 값을 넣을 수 없어 한도 없음은 -1)
+    private volatile Map<String, Long> validKeys = Map.of();
+    // 캐시에 전체 키가 올라와 있는지 (false면 캐시에 없는 키는 DB 확인 필요)
+    private volatile boolean complete = false;
+    // 마지막으로 키 목록을 읽은 시각 (0이면 아직 읽지 않음)
+    private volatile long loadedAt = 0;
+
+    // 없는 키 해시 → 만료 시각
+    private final Map<String, Long> invalidKeys = new ConcurrentHashMap<>();
+
+    public ApiKeyVerifier(ApiKeyRepository apiKeyRepository, ApiKeyUsageRepository apiKeyUsageRepository) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.apiKeyUsageRepository = apiKeyUsageRepository;
+    }
+
+    /** 키를 검증하고, 유효하면 사용량을 1 올립니다. */
+    public Result verifyAndCount(String rawKey) {
+        if (rawKey == null || rawKey.isBlank()) {
+            return Result.INVALID;
+        }
+        if (System.currentTimeMillis() - loadedAt >= refreshMs) {
+            refreshIfStale();
+        }
+
+        String hash = hash(rawKey);
+        Long quota = validKeys.get(hash);
+        if (quota == null) {
+            Optional<Long> looked = lookupMiss(hash);
+            if (looked.isEmpty()) {
+                return Result.INVALID;
+            }
+            quota = looked.get();
+        }
+        return consume(hash, quota) ? Result.VALID : Result.QUOTA_EXCEEDED;
+    }
+
+    /** 키 목록을 DB에서 다시 읽어옵니다. (기동 시, 다른 인스턴스 변경 반영) */
+    public synchronized void refresh() {
+        Page<ApiKey> page = apiKeyRepository.findAll(PageRequest.of(0, maxCached));
+        Map<String, Long> fresh = new HashMap<>();
+        for (ApiKey key : page) {
+            if (key.getKeyHash() != null) {
+                fresh.put(key.getKeyHash(), quotaOf(key));
+            }
+        }
+        validKeys = Map.copyOf(fresh);
+        complete = !page.hasNext();
+        invalidKeys.clear();
+        loadedAt = System.currentTimeMillis();
+    }
+
+    /** 키가 발급/삭제된 트랜잭션이 커밋된 뒤 다시 읽음 (커밋 전에 읽으면 롤백된 키가 캐시에 남을 수 있음) */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApiKeysChanged(ApiKeysChangedEvent event) {
+        refresh();
+    }
+
+    public static String hash(String rawKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /** 동시에 여러 요청이 만료를 보더라도 한 번만 다시 읽음 */
+    private synchronized void refreshIfStale() {
+        if (System.currentTimeMillis() - loadedAt >= refreshMs) {
+            refresh();
+        }
+    }
+
+    private Optional<Long> lookupMiss(String hash) {
+        if (complete) {
+            return Optional.empty();
+        }
+        Long invalidUntil = invalidKeys.get(hash);
+        if (invalidUntil != null && invalidUntil > System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+
+        Optional<Long> quota = apiKeyRepository.findByKeyHash(hash).map(ApiKeyVerifier::quotaOf);
+        if (quota.isEmpty()) {
+            if (invalidKeys.size() >= negativeMaxEntries) {
+                invalidKeys.clear(); // 무작위 키 대량 시도에도 메모리가 무한히 늘지 않도록
+            }
+            invalidKeys.put(hash, System.currentTimeMillis() + negativeTtlMs);
+        }
+        return quota;
+    }
+
+    private boolean consume(String hash, long quota) {
+        if (quota < 0) {
+            return true; // 한도 없음
+        }
+        if (quota == 0) {
+            return false; // INSERT 분기는 한도를 검사하지 않으므로 SQL 전에 거절
+        }
+        // 한도에 도달했으면 증가하지 않으므로 거절된 요청은 사용량에 포함되지 않음
+        return apiKeyUsageRepository.tryIncrement(hash, quota) > 0;
+    }
+
+    private static long quotaOf(ApiKey key) {
+        return key.getDailyQuota() != null ? key.getDailyQuota() : -1L;
+    }
+}
@@ -0,0 +1,7 @@
+// ApiKeysChangedEvent: API 키가 발급/삭제/전환되었음을 알리는 이벤트입니다. (ApiKeyService가 발행)
+// ApiKeyVerifier가 트랜잭션 커밋 후 이 이벤트를 받아 키 캐시를 다시 읽습니다.
+
+package com.example.record;
+
+public record ApiKeysChangedEvent() {
+}
@@ -1,5 +1,6 @@
 package com.example.record.auth.forgot;
 
+import com.example.record.auth.jwt.RefreshTokenService;
 import com.example.record.user.User;
 import com.example.record.user.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +15,7 @@ public class TemporaryPasswordService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final MailService mailService;
+    private final RefreshTokenService refreshTokenService;
 
     /** 이메일로 임시 비번 생성/저장/발송 */
     @Transactional
@@ -23,6 +25,8 @@ public class TemporaryPasswordService {
 
         String temp = TempPasswordGenerator.generate(12); // 8자 이상 숫자+영문 혼합
         user.setPassword(passwordEncoder.encode(temp));    // 기존 비번 덮어쓰기
+        // 기존 로그인(액세스/리프레시 토큰)은 모두 무효화 → 새 비밀번호로 다시 로그인
+        refreshTokenService.revokeAll(user.getId());
 
         // 메일 본문은 앱 기준으로 안내
         String subject = "[Re:cord] 임시 비밀번호가 발급되었습니다";
@@ -0,0 +1,11 @@
+package com.example.record.auth.jwt;
+
+/**
+ * 리프레시 토큰이 없거나, 만료/폐기되었거나, 비밀번호 변경 전에 발급된 경우
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -1,9 +1,7 @@
 package com.example.record.auth.jwt;
 
 import com.example.record.auth.security.AuthUser;
-import com.example.record.user.User;
-import com.example.record.user.UserRepository;
-import io.jsonwebtoken.JwtException;
+import com.example.record.user.UserCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,12 +16,14 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final JwtVerifier jwtVerifier;
+    private final UserCache userCache;
+    private final TokenVersionCache tokenVersionCache;
 
     /** ===========================================================
      *  JWT 검사 제외 경로 (startsWith 확실하게 체크)
@@ -65,36 +65,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7);
 
-        try {
-            if (jwtUtil.validateToken(token)) {
-
-                String id = jwtUtil.getIdFromToken(token);
-                String role = jwtUtil.getRoleFromToken(token);
+        // 서명 검증은 한 번만 (같은 토큰은 JwtVerifier 캐시에서 바로 반환)
+        Optional<VerifiedToken> verified = jwtVerifier.verify(token);
+        if (verified.isEmpty()) {
+            unauthorized(response, "Unauthorized: Invalid or expired token");
+            return;
+        }
 
-                User user = userRepository.findById(id).orElse(null);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                if (user != null &&
-                        SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedToken claims = verified.get();
 
-                    var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+            // 비밀번호 변경/탈퇴 등으로 폐기된 토큰 (토큰 버전이 현재 버전과 다름)
+            if (!tokenVersionCache.isCurrent(claims.userId(), claims.tokenVersion())) {
+                unauthorized(response, "Unauthorized: Token revoked");
+                return;
+            }
 
-                    var authToken = new UsernamePasswordAuthenticationToken(
-                            new AuthUser(user),
-                            null,
-                            authorities
-                    );
+            var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + claims.role()));
 
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
+            // 이유: principal은 토큰 claims만으로 만들고, User 엔티티는 필요할 때 UserCache에서 조회 (요청당 DB 조회 제거)
+            var authToken = new UsernamePasswordAuthenticationToken(
+                    new AuthUser(claims.userId(), claims.role(), userCache),
+                    null,
+                    authorities
+            );
 
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            }
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
 
-        } catch (JwtException | IllegalArgumentException e) {
-            unauthorized(response, "Unauthorized: Invalid or expired token");
-            return;
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         chain.doFilter(request, response);
@@ -17,11 +17,15 @@ public class JwtUtil {
     @Value("${jwt.secret:12345678901234567890123456789012}") // fallback for dev
     private String secret;
 
-    @Value("${jwt.expiration-ms:2592000000}")
+    // 액세스 토큰 유효 시간 (짧게 유지하고 refresh 토큰으로 재발급)
+    @Value("${jwt.expiration-ms:900000}")
     private long expirationMs;
 
     private Key key;
 
+    /** 서명 키가 설정된 파서 (불변·스레드 안전하므로 한 번만 만들어 재사용) */
+    private JwtParser parser;
+
     @PostConstruct
     void init() {
         // secret 길이 검증(최소 32바이트 권장)
@@ -30,41 +34,32 @@ public class JwtUtil {
             throw new IllegalStateException("jwt.secret must be at least 32 bytes");
         }
         this.key = Keys.hmacShaKeyFor(bytes);
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
-    /** 토큰 생성 */
-    public String generateToken(String id, String role) {
+    /**
+     * 토큰 생성
+     *
+     * @param tokenVersion 발급 시점의 users.token_version ("ver" claim, 무효화 확인용)
+     */
+    public String generateToken(String id, String role, int tokenVersion) {
         return Jwts.builder()
                 .setSubject(id)
                 .claim("role", role)
+                .claim("ver", tokenVersion)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    /** 기본 역할: USER */
-    public String generateToken(String id) {
-        return generateToken(id, "USER");
-    }
-
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
-        }
-    }
-
-    public String getIdFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
-    }
-
-    public String getRoleFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().get("role", String.class);
+    /**
+     * 서명/만료를 한 번 검증하고 claims를 반환합니다.
+     *
+     * @throws JwtException 서명이 틀렸거나 만료된 토큰
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public long getExpirationMs() {
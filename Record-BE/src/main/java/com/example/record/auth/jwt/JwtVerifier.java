@@ -0,0 +1,102 @@
+package com.example.record.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 액세스 토큰 검증기 (요청마다 JwtAuthenticationFilter에서 호출)
+ *
+ * 왜 필요한가요?
+ * - 예전 필터는 validateToken → getIdFromToken → getRoleFromToken 순으로
+ *   요청당 3번 파서를 새로 만들고 HMAC 서명과 JSON을 다시 검증/파싱했습니다.
+ * - 이제 한 번만 파싱(JwtUtil.parseClaims)하고, 검증된 결과를 토큰 해시 기준으로 캐시하여
+ *   같은 토큰의 다음 요청은 해시 계산 + Map 조회만 합니다.
+ *
+ * 캐시 키는 원본 토큰이 아니라 SHA-256 해시라서 메모리에 토큰 문자열을 보관하지 않으며,
+ * 항목은 토큰 만료 시각까지만 유효합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtVerifier {
+
+    private final JwtUtil jwtUtil;
+
+    /** 캐시 최대 항목 수 (넘으면 만료 항목부터 정리) */
+    @Value("${jwt.verify-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, VerifiedToken> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 토큰을 검증하고 내용을 반환합니다.
+     *
+     * @return 서명이 틀렸거나 만료된 토큰이면 Optional.empty()
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        long now = System.currentTimeMillis();
+        String cacheKey = hash(token);
+
+        VerifiedToken cached = cache.get(cacheKey);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            cache.remove(cacheKey);
+            return Optional.empty();
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            Integer version = claims.get("ver", Integer.class);
+            verified = new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    version != null ? version : 0,
+                    claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (cache.size() >= maxEntries) {
+            evict(now);
+        }
+        cache.put(cacheKey, verified);
+        return Optional.of(verified);
+    }
+
+    /** 토큰을 더 이상 신뢰하지 않을 때 (로그아웃 등) 캐시에서 제거 */
+    public void invalidate(String token) {
+        cache.remove(hash(token));
+    }
+
+    /** 만료된 항목을 먼저 지우고, 그래도 가득 차 있으면 전부 비움 (다음 요청에서 다시 검증) */
+    private void evict(long now) {
+        cache.values().removeIf(v -> v.isExpired(now));
+        if (cache.size() >= maxEntries) {
+            cache.clear();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.record.auth.jwt;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 리프레시 토큰
+ *
+ * - 원본 토큰은 저장하지 않고 SHA-256 해시만 저장합니다. (DB가 유출되어도 토큰을 재사용할 수 없음)
+ * - 사용할 때마다 새 토큰으로 교체(rotation)하고, 같은 로그인에서 이어진 토큰들은 familyId를 공유합니다.
+ * - 이미 사용된 토큰이 다시 들어오면 탈취로 보고 같은 family 전체를 폐기합니다.
+ * - user_id는 외래 키 없이 보관하여 회원탈퇴 시 users 삭제를 막지 않습니다.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", length = 64, nullable = false, unique = true)
+    private String tokenHash;
+
+    @Column(name = "user_id", length = 15, nullable = false)
+    private String userId;
+
+    @Column(name = "family_id", length = 36, nullable = false)
+    private String familyId;
+
+    /** 발급 시점의 users.token_version (비밀번호 변경 후에는 재발급 불가) */
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /** 이미 교체(사용)되었거나 로그아웃 등으로 폐기됨 */
+    @Column(name = "revoked", nullable = false)
+    @Builder.Default
+    private Boolean revoked = false;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,134 @@
+package com.example.record.auth.jwt;
+
+import com.example.record.user.User;
+import com.example.record.user.UserCache;
+import com.example.record.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 리프레시 토큰 발급/교체(rotation)/폐기
+ *
+ * 왜 필요한가요?
+ * - 예전에는 30일짜리 액세스 토큰 하나만 발급하여, 비밀번호를 바꿔도 탈취된 토큰을 막을 방법이 없었습니다.
+ * - 이제 액세스 토큰은 짧게(jwt.expiration-ms) 두고, 리프레시 토큰으로 재발급합니다.
+ * - 비밀번호 변경/임시 비밀번호 발급 시 revokeAll로 리프레시 토큰을 폐기하고 토큰 버전을 올려
+ *   이미 발급된 액세스 토큰도 즉시 무효화합니다. (TokenVersionCache 참고)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenVersionCache tokenVersionCache;
+    private final UserCache userCache;
+
+    @Value("${jwt.refresh-expiration-ms:1209600000}")
+    private long refreshExpirationMs;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /** 교체 결과 (새 액세스 토큰 발급에 필요한 사용자 + 새 리프레시 토큰) */
+    public record Rotation(User user, String refreshToken) {}
+
+    /** 로그인/회원가입 시 새 family로 리프레시 토큰 발급 */
+    @Transactional
+    public String issue(User user) {
+        return issueInFamily(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 리프레시 토큰을 한 번 사용하고 같은 family의 새 토큰으로 교체합니다.
+     *
+     * 이미 사용된 토큰이 다시 들어오면(탈취 의심) family 전체를 폐기합니다.
+     * 예외를 던져도 폐기 내용은 커밋되어야 하므로 noRollbackFor를 지정합니다.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new InvalidRefreshTokenException("리프레시 토큰이 없습니다.");
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("유효하지 않은 리프레시 토큰입니다."));
+
+        if (Boolean.TRUE.equals(current.getRevoked())) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.warn("이미 사용된 리프레시 토큰 재사용 감지 → family 폐기: userId={}, familyId={}",
+                    current.getUserId(), current.getFamilyId());
+            throw new InvalidRefreshTokenException("이미 사용된 리프레시 토큰입니다. 다시 로그인해 주세요.");
+        }
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            current.setRevoked(true);
+            throw new InvalidRefreshTokenException("리프레시 토큰이 만료되었습니다. 다시 로그인해 주세요.");
+        }
+
+        User user = userRepository.findById(current.getUserId()).orElse(null);
+        if (user == null || !user.getTokenVersion().equals(current.getTokenVersion())) {
+            // 탈퇴했거나 비밀번호 변경 등으로 토큰 버전이 바뀐 경우
+            current.setRevoked(true);
+            throw new InvalidRefreshTokenException("다시 로그인해 주세요.");
+        }
+
+        current.setRevoked(true);
+        return new Rotation(user, issueInFamily(user, current.getFamilyId()));
+    }
+
+    /** 로그아웃: 해당 토큰이 속한 family(같은 기기 로그인) 폐기 */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) return;
+        refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    /** 비밀번호 변경/임시 비밀번호 발급/회원탈퇴: 사용자의 모든 리프레시·액세스 토큰 무효화 */
+    @Transactional
+    public void revokeAll(String userId) {
+        refreshTokenRepository.revokeAllByUserId(userId);
+        tokenVersionCache.revoke(userId);
+        userCache.evict(userId);
+    }
+
+    public long getRefreshExpirationMs() {
+        return refreshExpirationMs;
+    }
+
+    private String issueInFamily(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .userId(user.getId())
+                .familyId(familyId)
+                .tokenVersion(user.getTokenVersion())
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs)))
+                .build());
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
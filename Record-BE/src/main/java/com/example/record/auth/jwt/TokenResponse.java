@@ -11,4 +11,6 @@ public class TokenResponse {
     private String type;      // "Bearer"
     private long   expiresIn; // ms
     private String role;      // USER / ADMIN
+    private String refreshToken;     // 액세스 토큰 재발급용 (1회용, 재발급 시 교체됨)
+    private long   refreshExpiresIn; // ms
 }
@@ -0,0 +1,73 @@
+package com.example.record.auth.jwt;
+
+import com.example.record.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 토큰 버전 캐시 (토큰 무효화 확인용)
+ *
+ * 액세스 토큰에는 발급 당시의 users.token_version이 "ver" claim으로 들어갑니다.
+ * 요청마다 claim과 이 캐시의 값을 비교하기만 하므로(Map 조회 1번) DB를 조회하지 않습니다.
+ *
+ * - 비밀번호 변경 등으로 revoke(userId)를 호출하면 DB 값을 올리고, 커밋된 뒤 캐시를 갱신합니다.
+ *   (커밋 전에 캐시를 바꾸면 롤백되어도 새 버전이 남아 현재 토큰이 모두 거절됩니다)
+ * - 버전은 올라가기만 하므로 캐시에는 항상 더 큰 버전을 남깁니다.
+ *   (revoke 직전에 읽은 옛 버전이 늦게 캐시에 들어와 새 버전을 덮어쓰지 않도록)
+ * - 다른 서버 인스턴스에서 올린 버전은 refresh-ms 이내에 다시 읽어 반영합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenVersionCache {
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${jwt.token-version.refresh-ms:60000}")
+    private long refreshMs;
+
+    private final Map<String, Entry> versions = new ConcurrentHashMap<>();
+
+    private record Entry(int version, long loadedAt) {}
+
+    /** 토큰의 버전이 사용자의 현재 버전과 같은지 (탈퇴한 사용자면 false) */
+    public boolean isCurrent(String userId, int tokenVersion) {
+        long now = System.currentTimeMillis();
+        Entry entry = versions.get(userId);
+        if (entry == null || now - entry.loadedAt() >= refreshMs) {
+            Optional<Integer> loaded = userRepository.findTokenVersionById(userId);
+            if (loaded.isEmpty()) {
+                versions.remove(userId);
+                return false;
+            }
+            entry = remember(userId, loaded.get(), now);
+        }
+        return entry.version() == tokenVersion;
+    }
+
+    /** 사용자의 기존 토큰을 모두 무효화 (버전 1 증가, 캐시는 커밋 후 onRevoked에서 갱신) */
+    public void revoke(String userId) {
+        userRepository.incrementTokenVersion(userId);
+        eventPublisher.publishEvent(new TokenVersionRevokedEvent(userId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRevoked(TokenVersionRevokedEvent event) {
+        userRepository.findTokenVersionById(event.userId())
+                .ifPresentOrElse(
+                        v -> remember(event.userId(), v, System.currentTimeMillis()),
+                        () -> versions.remove(event.userId()));
+    }
+
+    private Entry remember(String userId, int version, long loadedAt) {
+        Entry loaded = new Entry(version, loadedAt);
+        return versions.merge(userId, loaded, (old, cur) -> old.version() > cur.version() ? old : cur);
+    }
+}
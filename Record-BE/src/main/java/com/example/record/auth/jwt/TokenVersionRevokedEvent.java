@@ -0,0 +1,11 @@
+package com.example.record.auth.jwt;
+
+/**
+ * 사용자의 토큰 버전이 올라감 (TokenVersionCache.revoke가 발행)
+ *
+ * 트랜잭션 커밋 후 캐시를 새 버전으로 갱신하는 데 사용합니다.
+ *
+ * @param userId 토큰을 무효화한 사용자
+ */
+public record TokenVersionRevokedEvent(String userId) {
+}
@@ -0,0 +1,16 @@
+package com.example.record.auth.jwt;
+
+/**
+ * 서명 검증이 끝난 액세스 토큰의 내용
+ *
+ * @param userId          토큰 subject (users.id)
+ * @param role            권한 (USER, ADMIN 등)
+ * @param tokenVersion    발급 시점의 토큰 버전 ("ver" claim, 없으면 0)
+ * @param expiresAtMillis 만료 시각 (epoch millis)
+ */
+public record VerifiedToken(String userId, String role, int tokenVersion, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
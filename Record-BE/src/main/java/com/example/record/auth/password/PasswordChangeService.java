@@ -1,5 +1,6 @@
 package com.example.record.auth.password;
 
+import com.example.record.auth.jwt.RefreshTokenService;
 import com.example.record.user.User;
 import com.example.record.user.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,7 @@ public class PasswordChangeService {
 
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
 
     @Transactional
     public void changePassword(User user, PasswordChangeRequest req) {
@@ -23,5 +25,7 @@ public class PasswordChangeService {
 
         user.setPassword(passwordEncoder.encode(req.getNewPassword()));
         userRepository.save(user);
+        // 기존 로그인(액세스/리프레시 토큰)은 모두 무효화 → 새 비밀번호로 다시 로그인
+        refreshTokenService.revokeAll(user.getId());
     }
 }
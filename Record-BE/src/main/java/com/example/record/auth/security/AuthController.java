@@ -1,6 +1,9 @@
 package com.example.record.auth.security;
 
+import com.example.record.auth.jwt.InvalidRefreshTokenException;
 import com.example.record.auth.jwt.JwtUtil;
+import com.example.record.auth.jwt.RefreshTokenRequest;
+import com.example.record.auth.jwt.RefreshTokenService;
 import com.example.record.auth.jwt.TokenResponse;
 import com.example.record.auth.login.SignupRequest;
 import com.example.record.auth.login.LoginRequest;
@@ -12,6 +15,7 @@ import com.example.record.user.User;
 import com.example.record.user.UserRepository;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +28,7 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
     private final EmailVerificationService emailVerificationService;   // ✅ 추가
 
     // =========================
@@ -107,11 +112,7 @@ public class AuthController {
 
         userRepository.save(user);
 
-        String token = jwtUtil.generateToken(user.getId(), user.getRole());
-
-        TokenResponse tokenResponse = new TokenResponse(
-                token, "Bearer", jwtUtil.getExpirationMs(), user.getRole()
-        );
+        TokenResponse tokenResponse = issueTokens(user, refreshTokenService.issue(user));
 
         return ResponseEntity.ok(
                 new ApiResponse<>(true, tokenResponse, "회원가입 성공")
@@ -131,17 +132,33 @@ public class AuthController {
             );
         }
 
-        String token = jwtUtil.generateToken(user.getId(), user.getRole());
-
-        TokenResponse tokenResponse = new TokenResponse(
-                token, "Bearer", jwtUtil.getExpirationMs(), user.getRole()
-        );
+        TokenResponse tokenResponse = issueTokens(user, refreshTokenService.issue(user));
 
         return ResponseEntity.ok(
                 new ApiResponse<>(true, tokenResponse, "로그인 성공")
         );
     }
 
+    /**
+     * 액세스 토큰 재발급
+     * - 리프레시 토큰은 1회용이며, 응답의 새 리프레시 토큰으로 교체해서 보관해야 합니다.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<?>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+            TokenResponse tokenResponse = issueTokens(rotation.user(), rotation.refreshToken());
+
+            return ResponseEntity.ok(
+                    new ApiResponse<>(true, tokenResponse, "토큰 재발급 성공")
+            );
+        } catch (InvalidRefreshTokenException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
+                    new ApiResponse<>(false, null, e.getMessage())
+            );
+        }
+    }
+
     /** 로그인한 사용자 정보 조회 */
 
     //    /** 로그인한 사용자 정보 조회 */
@@ -173,12 +190,25 @@ public class AuthController {
 
     /** 로그아웃 */
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<?>> logout() {
+    public ResponseEntity<ApiResponse<?>> logout(@RequestBody(required = false) RefreshTokenRequest request) {
+        // 리프레시 토큰을 함께 보내면 해당 로그인(family)의 재발급을 막습니다.
+        if (request != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
         return ResponseEntity.ok(
                 new ApiResponse<>(true, null, "로그아웃 성공")
         );
     }
 
+    private TokenResponse issueTokens(User user, String refreshToken) {
+        String token = jwtUtil.generateToken(user.getId(), user.getRole(), user.getTokenVersion());
+
+        return new TokenResponse(
+                token, "Bearer", jwtUtil.getExpirationMs(), user.getRole(),
+                refreshToken, refreshTokenService.getRefreshExpirationMs()
+        );
+    }
+
     public record UserResponse(
             String id,
             String email,
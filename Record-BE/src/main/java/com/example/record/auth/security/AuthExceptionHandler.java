@@ -0,0 +1,22 @@
+package com.example.record.auth.security;
+
+import com.example.record.common.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 인증 관련 예외 → ApiResponse 변환
+ *
+ * 이유: 프론트는 success/data/message 구조만 처리하므로, 인증 실패도 같은 형식으로 내려준다.
+ */
+@RestControllerAdvice
+public class AuthExceptionHandler {
+
+    @ExceptionHandler(AuthUserNotFoundException.class)
+    public ResponseEntity<ApiResponse<?>> handleAuthUserNotFound(AuthUserNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiResponse<>(false, null, e.getMessage()));
+    }
+}
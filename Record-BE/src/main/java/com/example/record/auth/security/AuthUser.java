@@ -1,7 +1,7 @@
 package com.example.record.auth.security;
 
 import com.example.record.user.User;
-import lombok.Getter;
+import com.example.record.user.UserCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,28 +9,70 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.List;
 
-@Getter
+/**
+ * 인증된 사용자 (SecurityContext의 principal)
+ *
+ * JWT 인증 시에는 토큰 claims(id, role)만으로 만들어지므로 요청마다 DB를 조회하지 않습니다.
+ * User 엔티티가 필요한 경우에만 getUser()가 UserCache를 통해 한 번 불러옵니다.
+ * id만 필요하면 getUser().getId() 대신 getId()를 사용하세요.
+ */
 public class AuthUser implements UserDetails {
 
-    private final User user;
+    private final String id;
+    private final String role;
+    private final UserCache userCache;
 
+    private User user;
+
+    /** 토큰 claims 기반 (JwtAuthenticationFilter) */
+    public AuthUser(String id, String role, UserCache userCache) {
+        this.id = id;
+        this.role = role;
+        this.userCache = userCache;
+    }
+
+    /** 이미 조회한 엔티티 기반 (DevAuthBypassFilter 등) */
     public AuthUser(User user) {
+        this.id = user.getId();
+        this.role = user.getRole();
+        this.userCache = null;
         this.user = user;
     }
 
+    public String getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * 사용자 엔티티 (처음 호출 시 UserCache에서 불러옴)
+     *
+     * @throws AuthUserNotFoundException 토큰은 유효하지만 탈퇴 등으로 사용자가 없는 경우 (401 응답)
+     */
+    public User getUser() {
+        if (user == null) {
+            user = userCache.get(id).orElseThrow(AuthUserNotFoundException::new);
+        }
+        return user;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()));
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        // JWT 인증에서는 비밀번호를 사용하지 않음
+        return user != null ? user.getPassword() : null;
     }
 
     @Override
     public String getUsername() {
-        return user.getId();   // 로그인 ID
+        return id;   // 로그인 ID
     }
 
     @Override public boolean isAccountNonExpired() { return true; }
@@ -0,0 +1,13 @@
+package com.example.record.auth.security;
+
+/**
+ * 토큰은 유효하지만 해당 사용자가 더 이상 존재하지 않을 때 (회원탈퇴 직후 등)
+ *
+ * AuthExceptionHandler에서 401 ApiResponse로 변환됩니다.
+ */
+public class AuthUserNotFoundException extends RuntimeException {
+
+    public AuthUserNotFoundException() {
+        super("사용자 정보를 찾을 수 없습니다. 다시 로그인해 주세요.");
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.record.auth.security;
 
 import com.example.record.auth.jwt.JwtAuthenticationFilter;
-import com.example.record.auth.jwt.JwtUtil;
-import com.example.record.user.UserRepository;
+import com.example.record.auth.jwt.JwtVerifier;
+import com.example.record.auth.jwt.TokenVersionCache;
+import com.example.record.ratelimit.RateLimitFilter;
+import com.example.record.ratelimit.RateLimiter;
+import com.example.record.user.UserCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,8 +21,10 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final JwtVerifier jwtVerifier;
+    private final UserCache userCache;
+    private final TokenVersionCache tokenVersionCache;
+    private final RateLimiter rateLimiter;
     private final AuthenticationEntryPoint authEntryPoint;
 
     @Bean
@@ -45,6 +50,9 @@ public class SecurityConfig {
                         .requestMatchers("/reviews/**").permitAll()
                         .requestMatchers("/review/**").permitAll()
 
+                        // 저장소에 보관된 이미지 (<img> 태그로 직접 로드되므로 토큰 없이 접근)
+                        .requestMatchers("/uploads/**").permitAll()
+
 
 
 
@@ -53,6 +61,9 @@ public class SecurityConfig {
                         .requestMatchers("/test").permitAll()
                         .requestMatchers("/api/test/**").permitAll()
 
+                        // ====== 관리자 전용 (users.role = ADMIN) ======
+                        .requestMatchers("/admin/**").hasRole("ADMIN")
+
                         // ====== 나머지는 JWT 필요 ======
                         .anyRequest().authenticated()
                 )
@@ -61,10 +72,16 @@ public class SecurityConfig {
 
         // ===== JWT 인증 필터 추가 =====
         http.addFilterBefore(
-                new JwtAuthenticationFilter(jwtUtil, userRepository),
+                new JwtAuthenticationFilter(jwtVerifier, userCache, tokenVersionCache),
                 UsernamePasswordAuthenticationFilter.class
         );
 
+        // ===== AI 엔드포인트 요청 제한 (JWT 필터 뒤: 사용자 ID로 제한) =====
+        http.addFilterAfter(
+                new RateLimitFilter(rateLimiter),
+                JwtAuthenticationFilter.class
+        );
+
         return http.build();
     }
 }
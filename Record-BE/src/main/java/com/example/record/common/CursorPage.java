@@ -0,0 +1,16 @@
+package com.example.record.common;
+
+import java.util.List;
+
+/**
+ * 커서 페이지네이션 응답 (KeysetCursor 참고)
+ *
+ * @param items      항목 (최신순)
+ * @param nextCursor 다음 페이지 커서 (마지막 페이지면 null)
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(List.of(), null);
+    }
+}
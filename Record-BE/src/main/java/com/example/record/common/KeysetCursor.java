@@ -0,0 +1,48 @@
+package com.example.record.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이지네이션 커서
+ *
+ * OFFSET 방식은 뒤쪽 페이지로 갈수록 앞의 행을 모두 읽고 버리므로 느려집니다.
+ * 대신 마지막으로 내려준 행의 (created_at, id)를 커서로 주고,
+ * 다음 페이지는 "그보다 오래된 행"부터 인덱스로 바로 찾아 읽습니다.
+ *
+ * 클라이언트에는 내용을 알 필요 없는 문자열(base64url)로 내려줍니다.
+ *
+ * @param createdAt 마지막 행의 생성 시각
+ * @param id        마지막 행의 ID (같은 시각의 행 구분용)
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    public static KeysetCursor of(LocalDateTime createdAt, Long id) {
+        return new KeysetCursor(createdAt, id);
+    }
+
+    public String encode() {
+        long micros = createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + createdAt.getNano() / 1_000;
+        String raw = micros + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 잘못된 커서
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            long micros = Long.parseLong(raw.substring(0, sep));
+            long id = Long.parseLong(raw.substring(sep + 1));
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+            return new KeysetCursor(createdAt, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.record.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 활성화 (친구 추천 인덱스 재구성, 아웃박스 워커 등)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -13,6 +13,12 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${app.upload.profile-image-dir:uploads/profile-images}")
     private String profileImageDir;
 
+    @Value("${app.storage.local-dir:uploads/media}")
+    private String mediaDir;
+
+    @Value("${app.storage.local-url-prefix:/uploads/media}")
+    private String mediaUrlPrefix;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         String uploadPath = Paths.get(profileImageDir)
@@ -23,5 +29,18 @@ public class WebConfig implements WebMvcConfigurer {
 
         registry.addResourceHandler("/uploads/profile-images/**")
                 .addResourceLocations(uploadPath);
+
+        // LocalMediaStorage(app.storage.type=local)에 저장된 생성 이미지 등 서빙
+        String mediaPath = Paths.get(mediaDir)
+                .toAbsolutePath()
+                .normalize()
+                .toUri()
+                .toString();
+        if (!mediaPath.endsWith("/")) {
+            mediaPath += "/";   // 폴더가 아직 없으면 toUri()가 "/"를 붙이지 않음
+        }
+
+        registry.addResourceHandler(mediaUrlPrefix + "/**")
+                .addResourceLocations(mediaPath);
     }
 }
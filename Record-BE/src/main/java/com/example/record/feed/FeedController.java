@@ -0,0 +1,48 @@
+package com.example.record.feed;
+
+import com.example.record.auth.security.AuthUser;
+import com.example.record.common.ApiResponse;
+import com.example.record.common.CursorPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 친구 피드 컨트롤러
+ *
+ * GET /feed?size=20            → 첫 페이지
+ * GET /feed?cursor=...&size=20 → 이전 응답의 nextCursor 다음 페이지
+ */
+@RestController
+@RequestMapping("/feed")
+@RequiredArgsConstructor
+public class FeedController {
+
+    private final FeedService feedService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<FeedItemResponse>>> getFeed(
+            @AuthenticationPrincipal AuthUser authUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if (authUser == null) {
+            return ResponseEntity.status(401)
+                    .body(new ApiResponse<>(false, null, "로그인이 필요합니다."));
+        }
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(
+                    true,
+                    feedService.getFeed(authUser.getId(), cursor, size),
+                    "피드 조회 성공"
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.record.feed;
+
+import com.example.record.review.entity.Ticket;
+import com.example.record.storage.ImageVariantUrls;
+import com.example.record.user.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 친구 피드 항목 (친구의 공개 티켓 + 작성자 정보)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedItemResponse {
+
+    private Long ticketId;
+    private String userId;
+    private String nickname;
+    private String profileImage;
+    private String title;
+    private String venue;
+    private String genre;
+    private LocalDate viewDate;
+    private String imageUrl;
+    private String thumbnailUrl;
+    private String reviewText;
+    private LocalDateTime createdAt;
+
+    public static FeedItemResponse from(Ticket ticket, ImageVariantUrls variants) {
+        User user = ticket.getUser();
+        return FeedItemResponse.builder()
+                .ticketId(ticket.getId())
+                .userId(user.getId())
+                .nickname(user.getNickname())
+                .profileImage(user.getProfileImage())
+                .title(ticket.getPerformanceTitle())
+                .venue(ticket.getTheater())
+                .genre(ticket.getGenre())
+                .viewDate(ticket.getViewDate())
+                .imageUrl(ticket.getImageUrl())
+                .thumbnailUrl(variants.thumbnailUrl())
+                .reviewText(ticket.getReviewText())
+                .createdAt(ticket.getCreatedAt())
+                .build();
+    }
+}
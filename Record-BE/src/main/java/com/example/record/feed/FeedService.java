@@ -0,0 +1,124 @@
+package com.example.record.feed;
+
+import com.example.record.common.CursorPage;
+import com.example.record.common.KeysetCursor;
+import com.example.record.review.entity.Ticket;
+import com.example.record.review.entity.TicketChangedEvent;
+import com.example.record.review.repository.TicketRepository;
+import com.example.record.storage.ImageVariantService;
+import com.example.record.user.FriendGraphService;
+import com.example.record.user.FriendshipChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 친구 피드 (친구들의 공개 티켓, 최신순)
+ *
+ * - 친구 ID는 FriendGraphService 캐시에서 가져오고,
+ *   친구들의 공개 티켓은 (user_id, is_public, created_at, id) 인덱스를 타는 쿼리 한 번으로 조회합니다.
+ *   (친구마다 티켓 목록을 따로 불러와 합치지 않음)
+ * - 키셋 커서로 페이지를 넘기므로 뒤쪽 페이지도 첫 페이지와 같은 비용입니다.
+ * - 가장 많이 호출되는 첫 페이지는 사용자별로 잠깐(cache-ttl-ms) 캐시합니다.
+ *   친구 관계가 바뀌거나 친구의 티켓이 생성/수정/삭제되면 커밋 후 바로 버립니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class FeedService {
+
+    public static final int MAX_PAGE_SIZE = 50;
+
+    private final TicketRepository ticketRepository;
+    private final FriendGraphService friendGraphService;
+    private final ImageVariantService imageVariantService;
+
+    @Value("${app.feed.cache-ttl-ms:30000}")
+    private long cacheTtlMs;
+
+    @Value("${app.feed.cache-max-entries:5000}")
+    private int cacheMaxEntries;
+
+    private record CachedPage(int size, CursorPage<FeedItemResponse> page, long loadedAt) {}
+
+    private final Map<String, CachedPage> firstPages = new ConcurrentHashMap<>();
+
+    /**
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
+     * @throws IllegalArgumentException 잘못된 커서
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<FeedItemResponse> getFeed(String userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if (cursor == null || cursor.isBlank()) {
+            return firstPage(userId, pageSize);
+        }
+
+        Set<String> friendIds = friendGraphService.friendIds(userId);
+        if (friendIds.isEmpty()) {
+            return CursorPage.empty();
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toPage(ticketRepository.findPublicFeedAfter(
+                friendIds, after.createdAt(), after.id(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    private CursorPage<FeedItemResponse> firstPage(String userId, int pageSize) {
+        long now = System.currentTimeMillis();
+        CachedPage cached = firstPages.get(userId);
+        if (cached != null && cached.size() == pageSize && now - cached.loadedAt() < cacheTtlMs) {
+            return cached.page();
+        }
+
+        Set<String> friendIds = friendGraphService.friendIds(userId);
+        CursorPage<FeedItemResponse> page = friendIds.isEmpty()
+                ? CursorPage.empty()
+                : toPage(ticketRepository.findPublicFeed(friendIds, PageRequest.of(0, pageSize + 1)), pageSize);
+
+        if (firstPages.size() >= cacheMaxEntries) {
+            firstPages.values().removeIf(c -> now - c.loadedAt() >= cacheTtlMs);
+            if (firstPages.size() >= cacheMaxEntries) {
+                firstPages.clear();
+            }
+        }
+        firstPages.put(userId, new CachedPage(pageSize, page, now));
+        return page;
+    }
+
+    /** pageSize + 1개를 읽어 다음 페이지가 있는지 판단 (COUNT 쿼리 없음) */
+    private CursorPage<FeedItemResponse> toPage(List<Ticket> tickets, int pageSize) {
+        boolean hasNext = tickets.size() > pageSize;
+        List<Ticket> pageTickets = hasNext ? tickets.subList(0, pageSize) : tickets;
+
+        imageVariantService.prefetch(pageTickets.stream().map(Ticket::getImageUrl).toList());
+        List<FeedItemResponse> items = pageTickets.stream()
+                .map(t -> FeedItemResponse.from(t, imageVariantService.variantUrls(t.getImageUrl())))
+                .toList();
+
+        Ticket last = pageTickets.isEmpty() ? null : pageTickets.get(pageTickets.size() - 1);
+        String nextCursor = hasNext && last.getCreatedAt() != null
+                ? KeysetCursor.of(last.getCreatedAt(), last.getId()).encode()
+                : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /** 친구가 추가/삭제되면 두 사용자의 첫 페이지 캐시를 버림 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFriendshipChanged(FriendshipChangedEvent event) {
+        firstPages.remove(event.userId());
+        firstPages.remove(event.friendId());
+    }
+
+    /** 티켓이 생성/수정(공개 여부 포함)/삭제되면 작성자 친구들의 첫 페이지 캐시를 버림 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        friendGraphService.friendIds(event.userId()).forEach(firstPages::remove);
+    }
+}
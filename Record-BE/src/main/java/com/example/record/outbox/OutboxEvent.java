@@ -0,0 +1,80 @@
+package com.example.record.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭션 아웃박스 이벤트 (PostgreSQL 작업 큐)
+ *
+ * 요청 처리 중에 바로 하기엔 느린 작업(예: OpenAI를 호출하는 맞춤 질문 생성)을
+ * 같은 트랜잭션 안에서 이 테이블에 한 줄로 기록만 하고, OutboxWorker가 나중에 처리합니다.
+ * 요청 트랜잭션이 롤백되면 이벤트도 함께 사라지므로 "저장은 됐는데 작업 요청이 빠지는" 일이 없습니다.
+ *
+ * 상태 흐름: PENDING → PROCESSING → DONE
+ *                              ↘ (실패) PENDING (next_attempt_at까지 대기, 지수 백오프)
+ *                              ↘ (max-attempts 초과) DEAD
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_status_id", columnList = "status, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    public enum Status { PENDING, PROCESSING, DONE, DEAD }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 처리기 구분 (OutboxHandler.eventType) */
+    @Column(name = "event_type", length = 50, nullable = false)
+    private String eventType;
+
+    /** 대상 식별자 (예: 사용자 ID) */
+    @Column(name = "aggregate_id", length = 100, nullable = false)
+    private String aggregateId;
+
+    /** 같은 작업이 두 번 등록되지 않도록 하는 키 (예: REVIEW_PERSONALIZATION:user1:6) */
+    @Column(name = "job_key", length = 200, unique = true)
+    private String jobKey;
+
+    /** 처리에 필요한 추가 정보 (JSON) */
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    /** 처리 시도 횟수 */
+    @Column(name = "attempts", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /** 이 시각 이후에 처리 (재시도 대기) */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /** PROCESSING으로 가져간 시각 (서버가 죽어 멈춘 작업을 되돌릴 때 사용) */
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
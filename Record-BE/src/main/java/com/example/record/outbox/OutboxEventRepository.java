@@ -0,0 +1,62 @@
+package com.example.record.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 처리할 이벤트를 잠그고 가져옵니다.
+     * SKIP LOCKED: 다른 서버가 이미 잠근 행은 기다리지 않고 건너뛰므로 여러 워커가 같은 작업을 가져가지 않습니다.
+     * (호출하는 쪽 트랜잭션 안에서 PROCESSING으로 바꾼 뒤 커밋해야 함)
+     */
+    @Query(value = "SELECT * FROM outbox_events " +
+            "WHERE status = 'PENDING' AND (next_attempt_at IS NULL OR next_attempt_at <= :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * job_key가 같은 이벤트가 이미 있으면 아무것도 하지 않습니다. (중복 등록 방지)
+     * 예외 대신 ON CONFLICT를 쓰므로 호출한 쪽 트랜잭션이 롤백 전용으로 바뀌지 않습니다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO outbox_events " +
+            "(event_type, aggregate_id, job_key, payload, status, attempts, next_attempt_at, created_at) " +
+            "VALUES (:eventType, :aggregateId, :jobKey, :payload, 'PENDING', 0, now(), now()) " +
+            "ON CONFLICT (job_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventType") String eventType,
+                       @Param("aggregateId") String aggregateId,
+                       @Param("jobKey") String jobKey,
+                       @Param("payload") String payload);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.lastError = null, e.lockedAt = null, " +
+            "e.processedAt = :now WHERE e.id = :id")
+    int markDone(@Param("id") Long id, @Param("status") OutboxEvent.Status status, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.lastError = :error, e.lockedAt = null, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.processedAt = :now WHERE e.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") OutboxEvent.Status status,
+                   @Param("error") String error,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("now") LocalDateTime now);
+
+    /** 처리 중 서버가 종료되어 PROCESSING에 멈춘 작업을 다시 대기 상태로 */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :pending, e.lockedAt = null " +
+            "WHERE e.status = :processing AND e.lockedAt < :before")
+    int releaseStale(@Param("pending") OutboxEvent.Status pending,
+                     @Param("processing") OutboxEvent.Status processing,
+                     @Param("before") LocalDateTime before);
+}
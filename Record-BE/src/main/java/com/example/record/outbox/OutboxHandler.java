@@ -0,0 +1,14 @@
+package com.example.record.outbox;
+
+/**
+ * 아웃박스 이벤트 처리기
+ *
+ * 이벤트 종류마다 하나씩 빈으로 등록하면 OutboxWorker가 eventType으로 찾아 호출합니다.
+ */
+public interface OutboxHandler {
+
+    String eventType();
+
+    /** 예외를 던지면 실패로 기록됩니다. */
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,32 @@
+package com.example.record.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 아웃박스 이벤트 기록
+ *
+ * 호출하는 쪽의 트랜잭션 안에서 저장되므로, 반드시 업무 데이터 저장과 같은 트랜잭션에서 호출해야 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param jobKey 같은 작업을 구분하는 키 (이미 등록된 키면 무시)
+     * @return 새로 등록되었으면 true
+     */
+    public boolean publish(String eventType, String aggregateId, String jobKey, Object payload) {
+        try {
+            String json = payload != null ? objectMapper.writeValueAsString(payload) : null;
+            return outboxEventRepository.insertIfAbsent(eventType, aggregateId, jobKey, json) > 0;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("아웃박스 payload 직렬화 실패: " + eventType, e);
+        }
+    }
+}
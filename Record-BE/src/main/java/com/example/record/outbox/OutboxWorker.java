@@ -0,0 +1,153 @@
+package com.example.record.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 아웃박스 이벤트를 주기적으로 꺼내 처리기(OutboxHandler)에 넘기는 백그라운드 작업
+ *
+ * - 가져오기: FOR UPDATE SKIP LOCKED로 잠근 뒤 PROCESSING으로 바꾸고 바로 커밋 (짧은 트랜잭션)
+ * - 처리: 크기가 정해진 스레드 풀(concurrency)에서 실행, 빈 자리만큼만 가져옴
+ *         처리기 실행 중에는 워커가 DB 커넥션을 잡고 있지 않습니다.
+ * - 실패: 지수 백오프(base-delay-ms × 2^(시도-1), 최대 max-delay-ms)로 재시도, max-attempts를 넘으면 DEAD
+ */
+@Slf4j
+@Component
+public class OutboxWorker {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, OutboxHandler> handlers;
+
+    private final int concurrency;
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final long leaseMs;
+
+    private final ExecutorService executor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OutboxWorker(OutboxEventRepository outboxEventRepository,
+                        TransactionTemplate transactionTemplate,
+                        List<OutboxHandler> handlers,
+                        @Value("${app.outbox.concurrency:2}") int concurrency,
+                        @Value("${app.outbox.max-attempts:5}") int maxAttempts,
+                        @Value("${app.outbox.base-delay-ms:30000}") long baseDelayMs,
+                        @Value("${app.outbox.max-delay-ms:3600000}") long maxDelayMs,
+                        @Value("${app.outbox.lease-ms:600000}") long leaseMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.handlers = handlers.stream()
+                .collect(Collectors.toMap(OutboxHandler::eventType, Function.identity()));
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.leaseMs = leaseMs;
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        int free = concurrency - inFlight.get();
+        if (free <= 0) {
+            return;
+        }
+
+        for (OutboxEvent event : claim(free)) {
+            inFlight.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    process(event);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /** 오래 멈춰 있는 PROCESSING 작업 되돌리기 (처리 중 서버 종료 대비) */
+    @Scheduled(fixedDelayString = "${app.outbox.stale-check-interval-ms:60000}")
+    public void releaseStale() {
+        int released = outboxEventRepository.releaseStale(
+                OutboxEvent.Status.PENDING, OutboxEvent.Status.PROCESSING,
+                LocalDateTime.now().minus(Duration.ofMillis(leaseMs)));
+        if (released > 0) {
+            log.warn("멈춘 아웃박스 작업 {}건을 다시 대기 상태로 돌렸습니다.", released);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private List<OutboxEvent> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = outboxEventRepository.lockNextBatch(now, limit);
+            for (OutboxEvent event : events) {
+                event.setStatus(OutboxEvent.Status.PROCESSING);
+                event.setLockedAt(now);
+                event.setAttempts(event.getAttempts() + 1);
+            }
+            return events;
+        });
+    }
+
+    private void process(OutboxEvent event) {
+        OutboxHandler handler = handlers.get(event.getEventType());
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("처리기가 없는 이벤트 종류: " + event.getEventType());
+            }
+            handler.handle(event);
+            outboxEventRepository.markDone(event.getId(), OutboxEvent.Status.DONE, LocalDateTime.now());
+        } catch (Exception e) {
+            boolean dead = handler == null || event.getAttempts() >= maxAttempts;
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime nextAttemptAt = dead ? null : now.plus(Duration.ofMillis(backoffMs(event.getAttempts())));
+
+            if (dead) {
+                log.error("아웃박스 작업 최종 실패(DEAD): id={}, type={}, attempts={}",
+                        event.getId(), event.getEventType(), event.getAttempts(), e);
+            } else {
+                log.warn("아웃박스 작업 실패, {} 재시도: id={}, type={}, attempts={}, error={}",
+                        nextAttemptAt, event.getId(), event.getEventType(), event.getAttempts(), e.toString());
+            }
+            outboxEventRepository.markFailed(event.getId(),
+                    dead ? OutboxEvent.Status.DEAD : OutboxEvent.Status.PENDING,
+                    truncate(e.toString()), nextAttemptAt, now);
+        }
+    }
+
+    private long backoffMs(int attempts) {
+        long delay = baseDelayMs << Math.min(attempts - 1, 20);
+        return Math.min(delay, maxDelayMs);
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -1,15 +1,19 @@
 package com.example.record.promptcontrol_w03.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.record.storage.ImageIngestService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.util.retry.Retry;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
@@ -26,10 +30,12 @@ public class Gpt1PicService {
     private int maxChars;
 
     private final WebClient openAiWebClient;
-    private final ObjectMapper objectMapper;
+    private final ImageIngestService imageIngestService;
 
     /**
      * DALL-E 3 모델로 단일 이미지 생성(URL 반환)
+     *
+     * 반환 URL은 OpenAI 임시 URL이 아니라 우리 저장소(S3/로컬)에 저장된 고정 URL입니다.
      * 
      * 이유: OpenAI DALL-E API는 "gpt-image-1"이라는 모델이 존재하지 않습니다.
      *      DALL-E API는 "dall-e-2" 또는 "dall-e-3"를 사용하며,
@@ -41,6 +47,7 @@ public class Gpt1PicService {
         log.info("이미지 URL 엔드포인트: {}", imageUrl);
         log.info("원본 프롬프트 길이: {} 문자", prompt.length());
         
+        Path responseFile = null;
         try {
             String safePrompt = prompt.length() <= maxChars
                     ? prompt
@@ -62,59 +69,34 @@ public class Gpt1PicService {
             body.put("model", "dall-e-3"); // 이유: 모델을 명시하지 않으면 계정 상태에 따라 400 오류가 발생할 수 있음
             body.put("size", "1024x1024");  // 이미지 크기 설정 (선택사항)
             body.put("n", 1);  // 생성할 이미지 개수 (선택사항, 기본값 1)
+            // 이유: url 응답은 약 1시간 뒤 만료되므로, 이미지 바이트(b64_json)를 받아 우리 저장소에 영구 보관
+            body.put("response_format", "b64_json");
 
             log.info("DALL-E API 요청 body: {}", body);
             log.info("API 호출 시작...");
 
-            String response = openAiWebClient.post()
-                    .uri(imageUrl)
-                    .bodyValue(body)
-                    .retrieve()
-                    .bodyToMono(String.class)
+            // 응답 본문(수 MB의 base64)을 문자열로 받지 않고 임시 파일로 바로 흘려 씀
+            responseFile = Files.createTempFile("openai_image_", ".json");
+            DataBufferUtils.write(
+                            openAiWebClient.post()
+                                    .uri(imageUrl)
+                                    .bodyValue(body)
+                                    .retrieve()
+                                    .bodyToFlux(DataBuffer.class),
+                            responseFile,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)
                     .timeout(Duration.ofSeconds(60))
                     .retryWhen(Retry.backoff(2, Duration.ofSeconds(1)))
                     .block();
-            
-            log.info("=== DALL-E API 응답 받음 ===");
-            log.info("응답 길이: {} 문자", response != null ? response.length() : 0);
-            log.info("응답 미리보기: {}", response != null && response.length() > 0 
-                    ? response.substring(0, Math.min(200, response.length())) : "null");
-
-            JsonNode root = objectMapper.readTree(response);
-            log.info("JSON 파싱 완료");
-            
-            JsonNode dataArray = root.path("data");
-            log.info("data 배열 크기: {}", dataArray.isArray() ? dataArray.size() : 0);
-            
-            if (!dataArray.isArray() || dataArray.size() == 0) {
-                log.error("응답에 data 배열이 없거나 비어있음");
-                log.error("전체 응답: {}", response);
-                throw new RuntimeException("Image generation failed: no data in response");
-            }
-            
-            JsonNode first = dataArray.path(0);
-            log.info("첫 번째 이미지 데이터 추출");
-
-            // URL 우선
-            String url = first.path("url").asText(null);
-            if (url != null && !url.isBlank()) {
-                log.info("=== 이미지 URL 추출 성공 ===");
-                log.info("이미지 URL: {}", url);
-                return url;
-            }
 
-            // b64 처리 (S3 업로드 필요)
-            String b64 = first.path("b64_json").asText(null);
-            if (b64 != null && !b64.isBlank()) {
-                log.warn("b64_json 응답 받음 (S3 업로드 미구현)");
-                throw new UnsupportedOperationException(
-                        "b64_json returned — implement S3 upload and return public URL."
-                );
-            }
+            log.info("=== DALL-E API 응답 받음 ===");
+            log.info("응답 크기: {} bytes", Files.size(responseFile));
 
-            log.error("응답에 url 또는 b64_json이 없음");
-            log.error("첫 번째 데이터 노드: {}", first.toString());
-            throw new RuntimeException("Image generation failed: missing url/b64_json");
+            // b64_json 디코딩 → S3(또는 로컬) 업로드 → 고정 URL 반환
+            String storedUrl = imageIngestService.ingestOpenAiImageResponse(responseFile);
+            log.info("=== 이미지 저장 성공 ===");
+            log.info("이미지 URL: {}", storedUrl);
+            return storedUrl;
 
         } catch (Exception e) {
             if (e instanceof WebClientResponseException wex) {
@@ -128,6 +110,10 @@ public class Gpt1PicService {
                 log.error("원인: {}", e.getCause().getMessage());
             }
             throw new RuntimeException("DALL-E image generation failed: " + e.getMessage(), e);
+        } finally {
+            if (responseFile != null) {
+                try { Files.deleteIfExists(responseFile); } catch (Exception ignore) {}
+            }
         }
     }
 
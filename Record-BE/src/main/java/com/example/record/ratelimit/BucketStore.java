@@ -0,0 +1,21 @@
+package com.example.record.ratelimit;
+
+/**
+ * 토큰 버킷 저장소
+ *
+ * - memory: 서버 인스턴스 안에서만 세는 lock-free 버킷 (기본값)
+ * - jdbc: 여러 서버가 같은 DB 테이블을 공유 (app.rate-limit.store=jdbc)
+ */
+public interface BucketStore {
+
+    /**
+     * 버킷에서 cost만큼 토큰을 꺼냅니다.
+     *
+     * @param key             사용자/IP별 버킷 키
+     * @param cost            이번 요청 비용
+     * @param capacity        버킷 최대 토큰 수
+     * @param refillPerSecond 초당 채워지는 토큰 수
+     * @return 허용되면 0, 거절되면 다시 시도할 수 있을 때까지 남은 시간(ms)
+     */
+    long tryConsume(String key, int cost, long capacity, double refillPerSecond);
+}
@@ -0,0 +1,32 @@
+package com.example.record.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryBucketStore implements BucketStore {
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Value("${app.rate-limit.max-buckets:100000}")
+    private int maxBuckets;
+
+    @Override
+    public long tryConsume(String key, int cost, long capacity, double refillPerSecond) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                // 가득 찬(= 한동안 요청이 없던) 버킷은 지워도 결과가 같으므로 정리
+                buckets.values().removeIf(b -> b.isIdle(capacity, refillPerSecond, now));
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, now));
+        }
+        return bucket.tryConsume(cost, capacity, refillPerSecond, now);
+    }
+}
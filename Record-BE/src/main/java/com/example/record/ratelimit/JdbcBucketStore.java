@@ -0,0 +1,71 @@
+package com.example.record.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 여러 서버가 공유하는 토큰 버킷 (PostgreSQL)
+ *
+ * 토큰 보충과 차감을 UPSERT 한 문장으로 처리하므로 행 잠금 한 번으로 원자적으로 동작합니다.
+ * (조회 후 갱신하는 두 단계 방식이면 동시에 들어온 요청이 같은 토큰을 두 번 쓸 수 있음)
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcBucketStore implements BucketStore {
+
+    private static final String AVAILABLE = """
+            LEAST(CAST(? AS double precision), rate_limit_buckets.tokens
+                  + CAST(EXTRACT(EPOCH FROM (now() - rate_limit_buckets.updated_at)) AS double precision)
+                  * CAST(? AS double precision))""";
+
+    private static final String CONSUME_SQL = """
+            INSERT INTO rate_limit_buckets (bucket_key, tokens, updated_at)
+            VALUES (?, ?, now())
+            ON CONFLICT (bucket_key) DO UPDATE
+               SET tokens = %s - ?,
+                   updated_at = now()
+             WHERE %s >= ?
+            """.formatted(AVAILABLE, AVAILABLE);
+
+    private static final String AVAILABLE_SQL =
+            "SELECT " + AVAILABLE + " FROM rate_limit_buckets WHERE bucket_key = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void createTable() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+                    bucket_key VARCHAR(200) PRIMARY KEY,
+                    tokens     DOUBLE PRECISION NOT NULL,
+                    updated_at TIMESTAMP NOT NULL
+                )
+                """);
+    }
+
+    @Override
+    public long tryConsume(String key, int cost, long capacity, double refillPerSecond) {
+        if (cost > capacity) {
+            // 가득 찬 버킷으로도 낼 수 없는 비용 (INSERT 분기는 잔량을 검사하지 않으므로 SQL 전에 거절)
+            return Math.max(1, (long) Math.ceil((cost - capacity) / refillPerSecond * 1000));
+        }
+        int updated = jdbcTemplate.update(CONSUME_SQL,
+                key, (double) (capacity - cost),
+                capacity, refillPerSecond, cost,
+                capacity, refillPerSecond, cost);
+        if (updated > 0) {
+            return 0;
+        }
+
+        List<Double> available = jdbcTemplate.queryForList(AVAILABLE_SQL, Double.class,
+                capacity, refillPerSecond, key);
+        double tokens = available.isEmpty() ? 0 : available.get(0);
+        return Math.max(1, (long) Math.ceil((cost - tokens) / refillPerSecond * 1000));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.record.ratelimit;
+
+import com.example.record.auth.jwt.JwtVerifier;
+import com.example.record.auth.jwt.VerifiedToken;
+import com.example.record.auth.security.AuthUser;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * 유료 AI API를 호출하는 엔드포인트의 요청 제한
+ *
+ * - 사용자(로그인 시) 또는 클라이언트 IP마다 토큰 버킷 하나를 두고,
+ *   엔드포인트별 비용만큼 토큰을 차감합니다. (이미지 생성은 비싸므로 10, OCR은 3 ...)
+ * - /ocr, /review 등은 permitAll이라 JWT 필터가 인증 정보를 채우지 않으므로,
+ *   Bearer 토큰이 있으면 JwtVerifier(검증 캐시)로 사용자를 확인합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    private record Rule(String pathPrefix, int cost) {
+        boolean matches(String path) {
+            return path.equals(pathPrefix) || path.startsWith(pathPrefix + "/");
+        }
+    }
+
+    // 엔드포인트별 비용 (이 목록에 없는 경로는 제한하지 않음)
+    private static final List<Rule> RULES = List.of(
+            new Rule("/generate-image", 10),
+            new Rule("/stt", 5),
+            new Rule("/STTorText", 5),
+            new Rule("/ocr", 3),
+            new Rule("/prompt", 3),
+            new Rule("/review", 2),
+            new Rule("/review-questions", 1)
+    );
+
+    private final BucketStore bucketStore;
+    private final JwtVerifier jwtVerifier;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    // 사용자/IP당 버킷 크기와 초당 보충량 (기본: 순간 30, 분당 30)
+    @Value("${app.rate-limit.capacity:30}")
+    private long capacity;
+
+    @Value("${app.rate-limit.refill-per-second:0.5}")
+    private double refillPerSecond;
+
+    // 로드밸런서 뒤에서만 true로 (아니면 X-Forwarded-For를 위조해 제한을 피할 수 있음)
+    @Value("${app.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    /** 허용되면 0, 제한되면 다시 시도할 수 있을 때까지 남은 시간(ms) */
+    public long tryAcquire(HttpServletRequest request) {
+        if (!enabled) {
+            return 0;
+        }
+        String path = request.getRequestURI();
+        Rule rule = RULES.stream().filter(r -> r.matches(path)).findFirst().orElse(null);
+        if (rule == null) {
+            return 0;
+        }
+        return bucketStore.tryConsume(clientKey(request), rule.cost(), capacity, refillPerSecond);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthUser authUser) {
+            return "user:" + authUser.getId();
+        }
+
+        String header = request.getHeader("Authorization");
+        if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
+            var verified = jwtVerifier.verify(header.substring(7)).map(VerifiedToken::userId);
+            if (verified.isPresent()) {
+                return "user:" + verified.get();
+            }
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwarded)) {
+                return forwarded.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.record.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * lock-free 토큰 버킷
+ *
+ * 남은 토큰 수와 마지막 갱신 시각을 하나의 불변 State로 묶어 compareAndSet으로 교체합니다.
+ * 동시에 여러 요청이 들어와도 synchronized 없이 정확히 한 번씩만 차감됩니다.
+ */
+class TokenBucket {
+
+    private record State(double tokens, long updatedAtNanos) {}
+
+    private final AtomicReference<State> state;
+
+    TokenBucket(long capacity, long nowNanos) {
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /** 허용되면 0, 거절되면 필요한 토큰이 찰 때까지 남은 시간(ms) */
+    long tryConsume(int cost, long capacity, double refillPerSecond, long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double elapsedSeconds = Math.max(0, nowNanos - current.updatedAtNanos()) / 1_000_000_000.0;
+            double available = Math.min(capacity, current.tokens() + elapsedSeconds * refillPerSecond);
+
+            if (available < cost) {
+                return (long) Math.ceil((cost - available) / refillPerSecond * 1000);
+            }
+            if (state.compareAndSet(current, new State(available - cost, nowNanos))) {
+                return 0;
+            }
+        }
+    }
+
+    /** 오래 쓰지 않아 가득 찬 버킷인지 (정리 대상) */
+    boolean isIdle(long capacity, double refillPerSecond, long nowNanos) {
+        State current = state.get();
+        double elapsedSeconds = (nowNanos - current.updatedAtNanos()) / 1_000_000_000.0;
+        return current.tokens() + elapsedSeconds * refillPerSecond >= capacity;
+    }
+}
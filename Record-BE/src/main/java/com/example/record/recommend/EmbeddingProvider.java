@@ -0,0 +1,19 @@
+package com.example.record.recommend;
+
+import java.util.List;
+
+/**
+ * 텍스트 → 임베딩 벡터 (길이 1로 정규화된 float 배열)
+ *
+ * app.embedding.provider로 선택합니다.
+ * - local(기본): HashingEmbeddingProvider - 외부 호출 없는 결정적 임베딩 (개발/테스트용)
+ * - openai: OpenAIEmbeddingProvider - OpenAI Embeddings API
+ */
+public interface EmbeddingProvider {
+
+    /** 저장된 벡터가 어떤 모델로 만들어졌는지 구분하는 이름 (바뀌면 다시 계산) */
+    String modelName();
+
+    /** texts와 같은 순서의 벡터 목록 */
+    List<float[]> embed(List<String> texts);
+}
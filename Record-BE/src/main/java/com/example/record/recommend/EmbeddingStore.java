@@ -0,0 +1,125 @@
+package com.example.record.recommend;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 임베딩 저장소 (reviews / musical_db 테이블의 embedding 컬럼)
+ *
+ * 임베딩은 해당 행 옆에 bytea(float32)로 저장합니다.
+ * 엔티티에 넣으면 리뷰를 조회할 때마다 벡터까지 읽게 되므로 JPA 매핑 없이 JDBC로만 다룹니다.
+ *
+ * - embedding IS NULL: 아직 계산하지 않았거나 요약이 바뀌어 다시 계산해야 하는 행
+ * - embedding_model: 어떤 모델로 계산했는지 (모델이 바뀌면 prepare에서 모두 다시 계산하도록 비움)
+ * - embedded_at: 계산 시각 (다른 서버 인스턴스도 이 값으로 새 벡터를 메모리 인덱스에 반영)
+ * - embedding_attempts / embedding_retry_at: 혼자 보내도 계산에 실패한 횟수와 다음 시도 시각
+ *   (API가 항상 거절하는 행이 id 순 배치의 맨 앞을 막지 않도록, 실패할수록 더 늦게 다시 시도)
+ */
+@Component
+@RequiredArgsConstructor
+public class EmbeddingStore {
+
+    /** 임베딩을 저장하는 테이블 (table, 임베딩할 텍스트 컬럼) */
+    enum Target {
+        REVIEW("reviews"),
+        MUSICAL("musical_db");
+
+        final String table;
+
+        Target(String table) {
+            this.table = table;
+        }
+    }
+
+    record Pending(long id, String text) {}
+
+    record Stored(long id, float[] vector, Timestamp embeddedAt) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 컬럼/인덱스를 만들고, 다른 모델로 계산된 벡터를 비웁니다.
+     * Hibernate가 테이블을 만든 뒤여야 하므로 애플리케이션 시작 완료 후 호출합니다.
+     */
+    void prepare(Target target, String model) {
+        String t = target.table;
+        jdbcTemplate.execute("ALTER TABLE " + t + " ADD COLUMN IF NOT EXISTS embedding BYTEA");
+        jdbcTemplate.execute("ALTER TABLE " + t + " ADD COLUMN IF NOT EXISTS embedding_model VARCHAR(60)");
+        jdbcTemplate.execute("ALTER TABLE " + t + " ADD COLUMN IF NOT EXISTS embedded_at TIMESTAMP");
+        jdbcTemplate.execute("ALTER TABLE " + t + " ADD COLUMN IF NOT EXISTS embedding_attempts INTEGER NOT NULL DEFAULT 0");
+        jdbcTemplate.execute("ALTER TABLE " + t + " ADD COLUMN IF NOT EXISTS embedding_retry_at TIMESTAMP");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + t + "_embedding_pending ON " + t +
+                " (id) WHERE embedding IS NULL");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + t + "_embedded_at ON " + t + " (embedded_at)");
+        jdbcTemplate.update("UPDATE " + t + " SET embedding = NULL, embedding_model = NULL, embedded_at = NULL " +
+                "WHERE embedding IS NOT NULL AND embedding_model IS DISTINCT FROM ?", model);
+    }
+
+    /** 아직 임베딩이 없는 행 (요약이 비어 있는 행, 실패 후 다시 시도할 때가 아닌 행 제외) */
+    List<Pending> findPending(Target target, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, summary FROM " + target.table +
+                        " WHERE embedding IS NULL AND summary IS NOT NULL AND summary <> ''" +
+                        " AND (embedding_retry_at IS NULL OR embedding_retry_at <= now()) ORDER BY id LIMIT ?",
+                (rs, i) -> new Pending(rs.getLong("id"), rs.getString("summary")),
+                limit);
+    }
+
+    /**
+     * 계산한 벡터 저장
+     *
+     * 계산하는 동안 요약이 바뀐 행은 저장하지 않습니다. (summary 비교 - 다음 배치에서 새 요약으로 계산)
+     *
+     * @return 저장된 행 수
+     */
+    int save(Target target, String model, List<Pending> rows, List<float[]> vectors) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            args.add(new Object[]{EmbeddingCodec.encode(vectors.get(i)), model, rows.get(i).id(), rows.get(i).text()});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(
+                "UPDATE " + target.table + " SET embedding = ?, embedding_model = ?, embedded_at = now() " +
+                        "WHERE id = ? AND summary = ?", args);
+        int saved = 0;
+        for (int count : counts) {
+            // 드라이버가 개수 대신 SUCCESS_NO_INFO(-2)를 돌려줄 수 있음
+            saved += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        return saved;
+    }
+
+    /** since 이후 계산된 벡터 (id 순, afterId 다음부터 limit개) */
+    List<Stored> findEmbeddedSince(Target target, Timestamp since, long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, embedding, embedded_at FROM " + target.table +
+                        " WHERE embedded_at >= ? AND id > ? AND embedding IS NOT NULL ORDER BY id LIMIT ?",
+                (rs, i) -> new Stored(rs.getLong("id"),
+                        EmbeddingCodec.decode(rs.getBytes("embedding")), rs.getTimestamp("embedded_at")),
+                since, afterId, limit);
+    }
+
+    /**
+     * 계산에 실패한 행의 다음 시도를 미룹니다.
+     *
+     * 대기 시간은 backoffMs × 2^(이전 실패 횟수)이며 maxBackoffMs를 넘지 않습니다.
+     */
+    void markFailed(Target target, long id, long backoffMs, long maxBackoffMs) {
+        jdbcTemplate.update("UPDATE " + target.table +
+                " SET embedding_attempts = embedding_attempts + 1," +
+                " embedding_retry_at = now() + make_interval(secs => LEAST(?, ? * power(2, embedding_attempts)) / 1000.0)" +
+                " WHERE id = ?", maxBackoffMs, backoffMs, id);
+    }
+
+    /** 요약이 바뀐 행의 벡터를 비워 다음 배치에서 다시 계산하게 합니다. (실패 기록도 초기화) */
+    void clear(Target target, long id) {
+        jdbcTemplate.update("UPDATE " + target.table +
+                " SET embedding = NULL, embedding_model = NULL, embedded_at = NULL," +
+                " embedding_attempts = 0, embedding_retry_at = NULL WHERE id = ?", id);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.record.recommend;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 로컬 결정적 임베딩 (feature hashing)
+ *
+ * 단어와 글자 2-gram을 해시하여 고정 길이 벡터의 칸에 ±1씩 더한 뒤 정규화합니다.
+ * 같은 입력은 항상 같은 벡터가 되고 외부 API를 호출하지 않으므로 개발/테스트 환경의 기본값입니다.
+ * 의미까지 이해하지는 못하지만 겹치는 표현이 많은 글끼리는 가깝게 나옵니다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.embedding.provider", havingValue = "local", matchIfMissing = true)
+public class HashingEmbeddingProvider implements EmbeddingProvider {
+
+    @Value("${app.embedding.dimensions:256}")
+    private int dimensions;
+
+    @Override
+    public String modelName() {
+        return "local-hash-" + dimensions;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            vectors.add(embed(text));
+        }
+        return vectors;
+    }
+
+    private float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        if (text != null) {
+            String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+            for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+                if (word.isEmpty()) {
+                    continue;
+                }
+                add(vector, "w:" + word, 1.0f);
+                int[] cps = word.codePoints().toArray();
+                for (int i = 0; i + 1 < cps.length; i++) {
+                    add(vector, "b:" + new String(cps, i, 2), 0.5f);
+                }
+            }
+        }
+        return EmbeddingCodec.normalize(vector);
+    }
+
+    private void add(float[] vector, String feature, float weight) {
+        long h = fnv1a(feature.getBytes(StandardCharsets.UTF_8));
+        int slot = (int) Math.floorMod(h, (long) dimensions);
+        vector[slot] += ((h >>> 63) == 0 ? 1 : -1) * weight;
+    }
+
+    private static long fnv1a(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
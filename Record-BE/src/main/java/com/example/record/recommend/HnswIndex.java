@@ -0,0 +1,294 @@
+package com.example.record.recommend;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 메모리 근사 최근접 이웃 인덱스 (HNSW: Hierarchical Navigable Small World)
+ *
+ * - 벡터는 길이 1로 정규화되어 있다고 가정하고, 내적(=코사인 유사도)으로 비교합니다.
+ * - 위쪽 층은 듬성듬성한 그래프로 멀리 이동하고, 0층에서 가까운 이웃을 자세히 찾으므로
+ *   전체를 비교하지 않고도 수십만 개 중 상위 K개를 밀리초 단위로 찾습니다.
+ * - 삭제는 표시만 하고 검색 결과에서 뺍니다. 같은 id를 다시 add하면 이전 벡터는 삭제 처리됩니다.
+ *   삭제된 노드가 많아지면 compactIfNeeded()로 살아 있는 노드만으로 다시 만듭니다.
+ *
+ * 검색은 읽기 잠금, 추가/삭제는 쓰기 잠금으로 보호합니다.
+ */
+final class HnswIndex {
+
+    /** 검색 결과 (score: 코사인 유사도) */
+    record Neighbor(long id, double score) {}
+
+    private record Candidate(int node, float distance) {}
+
+    private static final class Node {
+        final long id;
+        final float[] vector;
+        final int[][] links;
+        final int[] linkCounts;
+        boolean deleted;
+
+        Node(long id, float[] vector, int level, int m) {
+            this.id = id;
+            this.vector = vector;
+            this.links = new int[level + 1][];
+            this.linkCounts = new int[level + 1];
+            for (int l = 0; l <= level; l++) {
+                links[l] = new int[(l == 0 ? m * 2 : m) + 1];
+            }
+        }
+
+        int level() {
+            return links.length - 1;
+        }
+    }
+
+    private final int m;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Long, Integer> nodeById = new HashMap<>();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int deletedCount;
+
+    HnswIndex(int m, int efConstruction) {
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return nodeById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** id의 벡터 (없으면 null) */
+    float[] vector(long id) {
+        lock.readLock().lock();
+        try {
+            Integer node = nodeById.get(id);
+            return node == null ? null : nodes.get(node).vector;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void add(long id, float[] vector) {
+        lock.writeLock().lock();
+        try {
+            insert(id, vector);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeById.remove(id);
+            if (node != null) {
+                nodes.get(node).deleted = true;
+                deletedCount++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * query와 가장 비슷한 k개 (excludeId는 결과에서 제외)
+     *
+     * @param ef 탐색 폭 (클수록 정확하지만 느림, k 이상)
+     */
+    List<Neighbor> search(float[] query, int k, int ef, long excludeId) {
+        lock.readLock().lock();
+        try {
+            List<Neighbor> result = new ArrayList<>(k);
+            if (entryPoint < 0 || k <= 0) {
+                return result;
+            }
+            int ep = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                ep = greedyClosest(query, ep, l);
+            }
+            List<Candidate> found = searchLayer(query, ep, Math.max(ef, k + 1), 0);
+            found.sort(Comparator.comparingDouble(Candidate::distance));
+            for (Candidate c : found) {
+                Node node = nodes.get(c.node());
+                if (node.deleted || node.id == excludeId) {
+                    continue;
+                }
+                result.add(new Neighbor(node.id, 1 - c.distance()));
+                if (result.size() == k) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 삭제된 노드가 전체의 30%를 넘으면 살아 있는 노드만으로 다시 구성 */
+    void compactIfNeeded() {
+        lock.writeLock().lock();
+        try {
+            if (deletedCount * 10 <= nodes.size() * 3) {
+                return;
+            }
+            List<Node> live = nodes.stream().filter(n -> !n.deleted).toList();
+            nodes.clear();
+            nodeById.clear();
+            entryPoint = -1;
+            maxLevel = -1;
+            deletedCount = 0;
+            for (Node node : live) {
+                insert(node.id, node.vector);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(long id, float[] vector) {
+        Integer previous = nodeById.remove(id);
+        if (previous != null) {
+            nodes.get(previous).deleted = true;
+            deletedCount++;
+        }
+
+        int level = (int) Math.floor(-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        Node node = new Node(id, vector, level, m);
+        int index = nodes.size();
+        nodes.add(node);
+        nodeById.put(id, index);
+
+        if (entryPoint < 0) {
+            entryPoint = index;
+            maxLevel = level;
+            return;
+        }
+
+        int ep = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            ep = greedyClosest(vector, ep, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> candidates = searchLayer(vector, ep, efConstruction, l);
+            candidates.sort(Comparator.comparingDouble(Candidate::distance));
+            int maxLinks = l == 0 ? m * 2 : m;
+            for (int i = 0; i < Math.min(m, candidates.size()); i++) {
+                int neighbor = candidates.get(i).node();
+                link(index, neighbor, l, maxLinks);
+                link(neighbor, index, l, maxLinks);
+            }
+            ep = candidates.get(0).node();
+        }
+        if (level > maxLevel) {
+            entryPoint = index;
+            maxLevel = level;
+        }
+    }
+
+    /** from → to 연결 추가 (넘치면 from에서 가장 먼 연결을 버림) */
+    private void link(int from, int to, int level, int maxLinks) {
+        Node node = nodes.get(from);
+        int[] links = node.links[level];
+        int count = node.linkCounts[level];
+        links[count++] = to;
+        if (count > maxLinks) {
+            int farthest = 0;
+            float farthestDistance = -1;
+            for (int i = 0; i < count; i++) {
+                float d = distance(node.vector, nodes.get(links[i]).vector);
+                if (d > farthestDistance) {
+                    farthestDistance = d;
+                    farthest = i;
+                }
+            }
+            links[farthest] = links[count - 1];
+            count--;
+        }
+        node.linkCounts[level] = count;
+    }
+
+    private int greedyClosest(float[] query, int ep, int level) {
+        int current = ep;
+        float currentDistance = distance(query, nodes.get(current).vector);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Node node = nodes.get(current);
+            for (int i = 0; i < node.linkCounts[level]; i++) {
+                int next = node.links[level][i];
+                float d = distance(query, nodes.get(next).vector);
+                if (d < currentDistance) {
+                    currentDistance = d;
+                    current = next;
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    private List<Candidate> searchLayer(float[] query, int ep, int ef, int level) {
+        BitSet visited = new BitSet(nodes.size());
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+        PriorityQueue<Candidate> results = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidate::distance).reversed());
+
+        Candidate start = new Candidate(ep, distance(query, nodes.get(ep).vector));
+        visited.set(ep);
+        candidates.add(start);
+        results.add(start);
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (closest.distance() > results.peek().distance() && results.size() >= ef) {
+                break;
+            }
+            Node node = nodes.get(closest.node());
+            for (int i = 0; i < node.linkCounts[level]; i++) {
+                int next = node.links[level][i];
+                if (visited.get(next)) {
+                    continue;
+                }
+                visited.set(next);
+                float d = distance(query, nodes.get(next).vector);
+                if (results.size() < ef || d < results.peek().distance()) {
+                    Candidate c = new Candidate(next, d);
+                    candidates.add(c);
+                    results.add(c);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(results);
+    }
+
+    private static float distance(float[] a, float[] b) {
+        float dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return 1 - dot;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.record.recommend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OpenAI Embeddings API (app.embedding.provider=openai)
+ *
+ * 배치 작업(RecommendationService)에서만 호출하며, 추천 조회 시에는 호출하지 않습니다.
+ * 여러 문장을 한 번의 요청으로 보냅니다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.embedding.provider", havingValue = "openai")
+@RequiredArgsConstructor
+public class OpenAIEmbeddingProvider implements EmbeddingProvider {
+
+    private final WebClient openAiWebClient;
+
+    @Value("${openai.url.embedding:https://api.openai.com/v1/embeddings}")
+    private String embeddingUrl;
+
+    @Value("${openai.model.embedding:text-embedding-3-small}")
+    private String model;
+
+    @Value("${app.embedding.dimensions:256}")
+    private int dimensions;
+
+    @Override
+    public String modelName() {
+        return model + "-" + dimensions;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        JsonNode response = openAiWebClient.post()
+                .uri(embeddingUrl)
+                .bodyValue(Map.of("model", model, "input", texts, "dimensions", dimensions))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(Duration.ofSeconds(60))
+                .retryWhen(Retry.backoff(2, Duration.ofSeconds(2)))
+                .block();
+
+        JsonNode data = response == null ? null : response.get("data");
+        if (data == null || !data.isArray() || data.size() != texts.size()) {
+            throw new IllegalStateException("OpenAI 임베딩 응답이 올바르지 않습니다.");
+        }
+
+        float[][] vectors = new float[texts.size()][];
+        for (JsonNode item : data) {
+            JsonNode embedding = item.get("embedding");
+            float[] vector = new float[embedding.size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = (float) embedding.get(i).asDouble();
+            }
+            vectors[item.get("index").asInt()] = EmbeddingCodec.normalize(vector);
+        }
+        return new ArrayList<>(List.of(vectors));
+    }
+}
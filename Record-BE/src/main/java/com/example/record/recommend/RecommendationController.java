@@ -0,0 +1,65 @@
+package com.example.record.recommend;
+
+import com.example.record.auth.security.AuthUser;
+import com.example.record.common.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 임베딩 기반 추천 컨트롤러
+ *
+ * GET /recommendations/reviews/{reviewId}/similar?limit=10   비슷하게 느낀 다른 사람들의 공개 후기
+ * GET /recommendations/musicals/{musicalId}/similar?limit=10 줄거리가 비슷한 뮤지컬
+ */
+@RestController
+@RequestMapping("/recommendations")
+@RequiredArgsConstructor
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+
+    @GetMapping("/reviews/{reviewId}/similar")
+    public ResponseEntity<ApiResponse<List<SimilarReviewResponse>>> similarReviews(
+            @AuthenticationPrincipal AuthUser authUser,
+            @PathVariable Long reviewId,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        if (authUser == null) {
+            return ResponseEntity.status(401)
+                    .body(new ApiResponse<>(false, null, "로그인이 필요합니다."));
+        }
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(
+                    true,
+                    recommendationService.similarReviews(authUser.getId(), reviewId, limit),
+                    "비슷한 후기 조회 성공"
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404)
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(403)
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/musicals/{musicalId}/similar")
+    public ResponseEntity<ApiResponse<List<SimilarMusicalResponse>>> similarMusicals(
+            @PathVariable Long musicalId,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(new ApiResponse<>(
+                true,
+                recommendationService.similarMusicals(musicalId, limit),
+                "비슷한 공연 조회 성공"
+        ));
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.record.recommend;
+
+import com.example.record.recommend.EmbeddingStore.Pending;
+import com.example.record.recommend.EmbeddingStore.Stored;
+import com.example.record.recommend.EmbeddingStore.Target;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 임베딩 기반 추천 ("나와 비슷하게 느낀 사람들의 후기", "이 공연과 비슷한 공연")
+ *
+ * 구성:
+ * - 리뷰 요약/뮤지컬 요약의 임베딩은 배치 작업(embedPending)에서 한 번만 계산해 행 옆에 저장합니다. (EmbeddingStore)
+ * - 저장된 벡터는 시작 시 메모리 HNSW 인덱스에 올리고, 이후 새로 계산된 벡터만 주기적으로 추가합니다.
+ *   (embedded_at 기준이라 다른 서버 인스턴스에서 계산한 벡터도 반영됨)
+ * - 추천 조회는 메모리 인덱스 검색 + 결과 행 조회 한 번이며, 조회 시 OpenAI를 호출하지 않습니다.
+ *
+ * 리뷰 요약이 바뀌면 벡터를 비우고 (커밋 후) 인덱스에서 빼 두었다가 다음 배치에서 다시 계산합니다.
+ *
+ * 배치 요청이 실패하면 행을 하나씩 다시 보내, 실패한 행만 embedding_retry_at까지 미룹니다.
+ * API가 항상 거절하는 행이 있어도 id 순으로 그 뒤에 있는 행들은 계속 계산됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendationService {
+
+    private static final int MAX_LIMIT = 50;
+    private static final int LOAD_BATCH = 1000;
+    /** 다른 트랜잭션이 늦게 커밋한 벡터를 놓치지 않도록 이전 동기화 시각보다 조금 앞에서부터 읽음 */
+    private static final long SYNC_OVERLAP_MS = 60_000;
+    /** 한 건씩 다시 보낼 때 성공 없이 이만큼 실패하면 API 장애로 판단 */
+    private static final int OUTAGE_FAILURES = 3;
+
+    private static final String SIMILAR_REVIEWS_SQL = """
+            SELECT r.id, r.summary, r.created_at, t.id AS ticket_id, t.performance_title,
+                   u.id AS user_id, u.nickname
+              FROM reviews r
+              JOIN tickets t ON t.id = r.ticket_id
+              JOIN users u ON u.id = t.user_id
+             WHERE r.id IN (:ids)
+               AND t.is_public = TRUE
+               AND u.is_account_private = FALSE
+               AND u.id <> :userId
+            """;
+
+    private final EmbeddingProvider embeddingProvider;
+    private final EmbeddingStore embeddingStore;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.embedding.batch-size:64}")
+    private int batchSize;
+
+    @Value("${app.embedding.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    /** 혼자 보내도 실패한 행의 첫 재시도 대기 (실패할 때마다 2배, 최대 max-retry-backoff-ms) */
+    @Value("${app.embedding.retry-backoff-ms:60000}")
+    private long retryBackoffMs;
+
+    @Value("${app.embedding.max-retry-backoff-ms:86400000}")
+    private long maxRetryBackoffMs;
+
+    @Value("${app.embedding.hnsw.m:16}")
+    private int hnswM;
+
+    @Value("${app.embedding.hnsw.ef-construction:100}")
+    private int hnswEfConstruction;
+
+    @Value("${app.embedding.hnsw.ef-search:64}")
+    private int hnswEfSearch;
+
+    private final Map<Target, HnswIndex> indexes = new EnumMap<>(Target.class);
+    private final Map<Target, Timestamp> syncedUntil = new EnumMap<>(Target.class);
+    private volatile boolean ready;
+
+    /** 시작 시 저장된 벡터를 모두 인덱스에 적재 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        String model = embeddingProvider.modelName();
+        for (Target target : Target.values()) {
+            embeddingStore.prepare(target, model);
+            indexes.put(target, new HnswIndex(hnswM, hnswEfConstruction));
+            syncedUntil.put(target, new Timestamp(0));
+            int loaded = sync(target);
+            log.info("추천 인덱스 적재: {} {}건 (model={})", target.table, loaded, model);
+        }
+        ready = true;
+    }
+
+    /** 임베딩이 없는 행을 계산해 저장하고, 새로 저장된 벡터를 인덱스에 반영 */
+    @Scheduled(fixedDelayString = "${app.embedding.batch-interval-ms:30000}")
+    public synchronized void embedPending() {
+        if (!ready) {
+            return;
+        }
+        String model = embeddingProvider.modelName();
+        for (Target target : Target.values()) {
+            int saved = 0;
+            try {
+                for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                    List<Pending> pending = embeddingStore.findPending(target, batchSize);
+                    if (pending.isEmpty()) {
+                        break;
+                    }
+                    List<float[]> vectors;
+                    try {
+                        vectors = embeddingProvider.embed(pending.stream().map(Pending::text).toList());
+                    } catch (Exception e) {
+                        log.warn("임베딩 배치 실패, 한 건씩 다시 시도: table={}, error={}", target.table, e.getMessage());
+                        saved += embedOneByOne(target, model, pending);
+                        break; // 나머지 행은 다음 주기에 (실패한 행은 이미 뒤로 미뤄짐)
+                    }
+                    saved += embeddingStore.save(target, model, pending, vectors);
+                    if (pending.size() < batchSize) {
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                // 다음 주기에 남은 행부터 다시 시도
+                log.warn("임베딩 계산 실패: table={}, error={}", target.table, e.getMessage());
+            }
+            if (saved > 0) {
+                log.info("임베딩 계산: {} {}건", target.table, saved);
+            }
+            sync(target);
+            indexes.get(target).compactIfNeeded();
+        }
+    }
+
+    /** 리뷰 요약이 바뀌었을 때 호출 (다음 배치에서 다시 계산) */
+    public void onReviewSummaryChanged(Long reviewId) {
+        embeddingStore.clear(Target.REVIEW, reviewId);
+        eventPublisher.publishEvent(new ReviewVectorRemovedEvent(reviewId));
+    }
+
+    /** 리뷰 삭제 시 호출 */
+    public void onReviewDeleted(Long reviewId) {
+        eventPublisher.publishEvent(new ReviewVectorRemovedEvent(reviewId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewVectorRemoved(ReviewVectorRemovedEvent event) {
+        removeFromIndex(Target.REVIEW, event.reviewId());
+    }
+
+    /**
+     * 이 리뷰와 비슷하게 느낀 다른 사람들의 공개 후기
+     *
+     * 아직 임베딩이 계산되지 않은 리뷰면 빈 목록입니다.
+     *
+     * @throws IllegalArgumentException 리뷰가 없을 때
+     * @throws SecurityException        요청자가 볼 수 없는 리뷰일 때 (다른 사람의 비공개 티켓)
+     */
+    public List<SimilarReviewResponse> similarReviews(String userId, Long reviewId, int limit) {
+        Map<String, Object> source = jdbcTemplate.queryForList(
+                "SELECT t.user_id, t.is_public FROM reviews r JOIN tickets t ON t.id = r.ticket_id WHERE r.id = :id",
+                new MapSqlParameterSource("id", reviewId)).stream().findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("리뷰가 없습니다. id=" + reviewId));
+        if (!userId.equals(source.get("user_id")) && !Boolean.TRUE.equals(source.get("is_public"))) {
+            throw new SecurityException("볼 수 없는 리뷰입니다.");
+        }
+
+        int safeLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        // 비공개/본인 후기는 조회 단계에서 빠지므로 넉넉히 뽑음
+        List<HnswIndex.Neighbor> neighbors = neighbors(Target.REVIEW, reviewId, safeLimit * 4);
+        if (neighbors.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, SimilarReviewResponse> rows = new HashMap<>();
+        Map<Long, Double> scores = scores(neighbors);
+        jdbcTemplate.query(SIMILAR_REVIEWS_SQL,
+                new MapSqlParameterSource()
+                        .addValue("ids", scores.keySet())
+                        .addValue("userId", userId),
+                rs -> {
+                    long id = rs.getLong("id");
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    rows.put(id, new SimilarReviewResponse(
+                            id,
+                            rs.getLong("ticket_id"),
+                            rs.getString("user_id"),
+                            rs.getString("nickname"),
+                            rs.getString("performance_title"),
+                            rs.getString("summary"),
+                            scores.get(id),
+                            createdAt == null ? null : createdAt.toLocalDateTime()));
+                });
+        return inNeighborOrder(neighbors, rows, safeLimit);
+    }
+
+    /** 이 뮤지컬과 줄거리가 비슷한 뮤지컬 (임베딩이 아직 없으면 빈 목록) */
+    public List<SimilarMusicalResponse> similarMusicals(Long musicalId, int limit) {
+        int safeLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<HnswIndex.Neighbor> neighbors = neighbors(Target.MUSICAL, musicalId, safeLimit);
+        if (neighbors.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, SimilarMusicalResponse> rows = new HashMap<>();
+        Map<Long, Double> scores = scores(neighbors);
+        jdbcTemplate.query("SELECT id, title, summary FROM musical_db WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", scores.keySet()),
+                rs -> {
+                    long id = rs.getLong("id");
+                    rows.put(id, new SimilarMusicalResponse(id, rs.getString("title"), rs.getString("summary"), scores.get(id)));
+                });
+        return inNeighborOrder(neighbors, rows, safeLimit);
+    }
+
+    private List<HnswIndex.Neighbor> neighbors(Target target, long id, int k) {
+        HnswIndex index = ready ? indexes.get(target) : null;
+        float[] vector = index == null ? null : index.vector(id);
+        if (vector == null) {
+            return new ArrayList<>();
+        }
+        return index.search(vector, k, Math.max(hnswEfSearch, k), id);
+    }
+
+    private static Map<Long, Double> scores(List<HnswIndex.Neighbor> neighbors) {
+        Map<Long, Double> scores = new HashMap<>();
+        neighbors.forEach(n -> scores.put(n.id(), n.score()));
+        return scores;
+    }
+
+    private static <T> List<T> inNeighborOrder(List<HnswIndex.Neighbor> neighbors, Map<Long, T> rows, int limit) {
+        List<T> result = new ArrayList<>(limit);
+        for (HnswIndex.Neighbor neighbor : neighbors) {
+            T row = rows.get(neighbor.id());
+            if (row != null) {
+                result.add(row);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 배치가 실패했을 때 한 건씩 계산 (실패한 행만 다음 시도를 미룸)
+     *
+     * 한 건도 성공하지 못한 채 연속으로 실패하면 API 장애로 보고 남은 행도 모두 미룬 뒤 멈춥니다.
+     * (장애 중에 배치 크기만큼 요청을 보내지 않도록, 미루는 시간은 처음에는 짧음)
+     */
+    private int embedOneByOne(Target target, String model, List<Pending> pending) {
+        int saved = 0;
+        int failures = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            Pending row = pending.get(i);
+            if (saved == 0 && failures >= OUTAGE_FAILURES) {
+                pending.subList(i, pending.size())
+                        .forEach(p -> embeddingStore.markFailed(target, p.id(), retryBackoffMs, maxRetryBackoffMs));
+                break;
+            }
+            try {
+                List<float[]> vector = embeddingProvider.embed(List.of(row.text()));
+                saved += embeddingStore.save(target, model, List.of(row), vector);
+            } catch (Exception e) {
+                failures++;
+                embeddingStore.markFailed(target, row.id(), retryBackoffMs, maxRetryBackoffMs);
+                log.warn("임베딩 실패, 나중에 다시 시도: table={}, id={}, error={}", target.table, row.id(), e.getMessage());
+            }
+        }
+        return saved;
+    }
+
+    private void removeFromIndex(Target target, Long id) {
+        if (ready && id != null) {
+            indexes.get(target).remove(id);
+        }
+    }
+
+    /** 마지막 동기화 이후 계산된 벡터를 인덱스에 추가 (같은 벡터가 이미 있으면 건너뜀) */
+    private int sync(Target target) {
+        HnswIndex index = indexes.get(target);
+        Timestamp since = new Timestamp(Math.max(0, syncedUntil.get(target).getTime() - SYNC_OVERLAP_MS));
+        Timestamp latest = syncedUntil.get(target);
+        int added = 0;
+        long lastId = 0;
+        List<Stored> rows;
+        do {
+            rows = embeddingStore.findEmbeddedSince(target, since, lastId, LOAD_BATCH);
+            for (Stored row : rows) {
+                lastId = row.id();
+                if (row.embeddedAt().after(latest)) {
+                    latest = row.embeddedAt();
+                }
+                if (!Arrays.equals(index.vector(row.id()), row.vector())) {
+                    index.add(row.id(), row.vector());
+                    added++;
+                }
+            }
+        } while (rows.size() == LOAD_BATCH);
+        syncedUntil.put(target, latest);
+        return added;
+    }
+}
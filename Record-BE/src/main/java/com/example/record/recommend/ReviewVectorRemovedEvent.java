@@ -0,0 +1,12 @@
+package com.example.record.recommend;
+
+/**
+ * 리뷰 벡터를 추천 인덱스에서 빼야 함 (요약 변경/리뷰 삭제 시 RecommendationService가 발행)
+ *
+ * 트랜잭션 커밋 후 메모리 인덱스에서 제거하는 데 사용합니다.
+ * (롤백되면 DB의 벡터가 그대로 남으므로 인덱스도 그대로 두어야 함)
+ *
+ * @param reviewId 리뷰 ID
+ */
+public record ReviewVectorRemovedEvent(Long reviewId) {
+}
@@ -0,0 +1,16 @@
+package com.example.record.recommend;
+
+/**
+ * 비슷한 공연 한 건
+ *
+ * @param musicalId 뮤지컬 id (musical_db)
+ * @param title     뮤지컬 제목
+ * @param summary   뮤지컬 요약
+ * @param score     코사인 유사도 (1에 가까울수록 비슷함)
+ */
+public record SimilarMusicalResponse(
+        Long musicalId,
+        String title,
+        String summary,
+        double score
+) {}
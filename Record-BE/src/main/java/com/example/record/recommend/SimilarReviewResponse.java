@@ -0,0 +1,25 @@
+package com.example.record.recommend;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비슷한 후기 한 건
+ *
+ * @param reviewId         리뷰 id
+ * @param ticketId         리뷰의 티켓 id
+ * @param ownerId          작성자 id
+ * @param nickname         작성자 닉네임
+ * @param performanceTitle 공연 제목
+ * @param summary          리뷰 요약
+ * @param score            코사인 유사도 (1에 가까울수록 비슷함)
+ */
+public record SimilarReviewResponse(
+        Long reviewId,
+        Long ticketId,
+        String ownerId,
+        String nickname,
+        String performanceTitle,
+        String summary,
+        double score,
+        LocalDateTime createdAt
+) {}
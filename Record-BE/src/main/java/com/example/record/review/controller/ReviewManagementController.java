@@ -1,11 +1,13 @@
 package com.example.record.review.controller;
 
+import com.example.record.common.ApiResponse;
 import com.example.record.review.dto.request.ReviewCreateRequest;
 import com.example.record.review.dto.request.ReviewUpdateRequest;
 import com.example.record.review.dto.response.ReviewCreateResponse;
 import com.example.record.review.dto.response.ReviewListItemResponse;
 import com.example.record.review.service.ReviewService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
@@ -133,4 +135,15 @@ public class ReviewManagementController {
         // 3. 표준: REST API에서 삭제 작업 완료 시 일반적으로 사용
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * 동시 수정 충돌 (다른 요청이 먼저 같은 리뷰를 수정함) → 409
+     *
+     * 클라이언트는 리뷰를 다시 불러와 최신 version으로 재시도하면 됩니다.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<?>> handleConcurrentUpdate(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiResponse<>(false, null, "다른 곳에서 먼저 수정된 리뷰입니다. 다시 불러온 뒤 수정해 주세요."));
+    }
+}
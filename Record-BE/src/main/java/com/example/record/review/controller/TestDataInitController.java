@@ -4,6 +4,7 @@ import com.example.record.review.entity.QuestionTemplate;
 import com.example.record.review.entity.Ticket;
 import com.example.record.review.repository.QuestionTemplateRepository;
 import com.example.record.review.repository.TicketRepository;
+import com.example.record.review.service.QuestionTemplatePool;
 import com.example.record.user.User;
 import com.example.record.user.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +34,7 @@ public class TestDataInitController {
     private final UserRepository userRepository;
     private final QuestionTemplateRepository questionTemplateRepository;
     private final TicketRepository ticketRepository;
+    private final QuestionTemplatePool questionTemplatePool;
 
     /**
      * 테스트용 사용자 생성
@@ -239,6 +241,8 @@ public class TestDataInitController {
                     // 공통 질문 (5개)
                     common1, common2, common3, common4, common5
             ));
+            // 메모리의 질문 템플릿 풀을 다시 읽도록 무효화
+            questionTemplatePool.invalidate();
 
             return ResponseEntity.ok("질문 템플릿 생성 완료: 총 20개 (뮤지컬 8개, 밴드 7개, 공통 5개)");
         } catch (Exception e) {
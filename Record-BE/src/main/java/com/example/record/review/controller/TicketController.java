@@ -2,14 +2,20 @@ package com.example.record.review.controller;
 
 import com.example.record.auth.security.AuthUser;
 import com.example.record.common.ApiResponse;
+import com.example.record.common.CursorPage;
+import com.example.record.common.KeysetCursor;
 import com.example.record.review.dto.request.TicketCreateRequest;
 import com.example.record.review.dto.request.TicketUpdateRequest;
 import com.example.record.review.dto.response.TicketResponse;
+import com.example.record.review.dto.response.TicketSummaryResponse;
 import com.example.record.review.entity.Ticket;
 import com.example.record.review.repository.TicketRepository;
+import com.example.record.review.service.TicketService;
+import com.example.record.storage.ImageVariantService;
 import com.example.record.user.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.util.StringUtils;
@@ -36,6 +42,8 @@ import java.util.stream.Collectors;
 public class TicketController {
 
     private final TicketRepository ticketRepository;
+    private final ImageVariantService imageVariantService;
+    private final TicketService ticketService;
 
     /**
      * 티켓 생성
@@ -61,12 +69,12 @@ public class TicketController {
                 .isPublic(Boolean.TRUE.equals(request.getIsPublic()))
                 .build();
 
-        Ticket saved = ticketRepository.save(ticket);
+        Ticket saved = ticketService.save(ticket, true);
         log.info("티켓 저장 완료: user={}, ticketId={}", user.getId(), saved.getId());
 
         return ResponseEntity.ok(new ApiResponse<>(
                 true,
-                TicketResponse.from(saved),
+                toResponse(saved),
                 "티켓이 저장되었습니다."
         ));
     }
@@ -82,10 +90,11 @@ public class TicketController {
             return unauthorizedResponse();
         }
 
-        List<TicketResponse> tickets = ticketRepository
-                .findByUser_IdOrderByCreatedAtDesc(authUser.getUser().getId())
+        List<Ticket> myTickets = ticketRepository.findByUser_IdOrderByCreatedAtDesc(authUser.getId());
+        imageVariantService.prefetch(myTickets.stream().map(Ticket::getImageUrl).toList());
+        List<TicketResponse> tickets = myTickets
                 .stream()
-                .map(TicketResponse::from)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(new ApiResponse<>(
@@ -95,6 +104,61 @@ public class TicketController {
         ));
     }
 
+    /**
+     * 내 티켓 목록 조회 (요약 + 커서 페이지네이션)
+     *
+     * 이유: /tickets/me는 후기 본문까지 전체 티켓을 한 번에 내려주어 티켓이 많은 사용자는 응답이 수 MB가 되었습니다.
+     *       목록은 요약 필드만 size개씩 내려주고, 본문은 상세 조회(/tickets/{ticketId})로 가져갑니다.
+     *
+     * GET /tickets/me/summaries?size=20            → 첫 페이지
+     * GET /tickets/me/summaries?cursor=...&size=20 → 이전 응답의 nextCursor 다음 페이지
+     */
+    @GetMapping("/me/summaries")
+    public ResponseEntity<ApiResponse<CursorPage<TicketSummaryResponse>>> getMyTicketSummaries(
+            @AuthenticationPrincipal AuthUser authUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if (authUser == null) {
+            return unauthorizedResponse();
+        }
+
+        int pageSize = Math.max(1, Math.min(size, 100));
+        // 다음 페이지 여부를 COUNT 없이 알기 위해 1개 더 조회
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<TicketRepository.TicketSummaryRow> rows;
+        if (StringUtils.hasText(cursor)) {
+            KeysetCursor after;
+            try {
+                after = KeysetCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, null, e.getMessage()));
+            }
+            rows = ticketRepository.findSummariesAfter(authUser.getId(), after.createdAt(), after.id(), limit);
+        } else {
+            rows = ticketRepository.findSummaries(authUser.getId(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<TicketRepository.TicketSummaryRow> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        imageVariantService.prefetch(pageRows.stream().map(TicketRepository.TicketSummaryRow::getImageUrl).toList());
+        List<TicketSummaryResponse> items = pageRows.stream()
+                .map(row -> TicketSummaryResponse.from(row, imageVariantService.variantUrls(row.getImageUrl())))
+                .collect(Collectors.toList());
+
+        TicketRepository.TicketSummaryRow last = pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1);
+        String nextCursor = hasNext && last.getCreatedAt() != null
+                ? KeysetCursor.of(last.getCreatedAt(), last.getId()).encode()
+                : null;
+
+        return ResponseEntity.ok(new ApiResponse<>(
+                true,
+                new CursorPage<>(items, nextCursor),
+                "티켓 조회 성공"
+        ));
+    }
+
     /**
      * 티켓 단건 상세 조회
      *
@@ -112,7 +176,7 @@ public class TicketController {
         return findOwnedTicket(ticketId, authUser)
                 .map(ticket -> ResponseEntity.ok(new ApiResponse<>(
                         true,
-                        TicketResponse.from(ticket),
+                        toResponse(ticket),
                         "티켓 조회 성공"
                 )))
                 .orElseGet(() -> ResponseEntity.status(404)
@@ -164,12 +228,12 @@ public class TicketController {
             ticket.setIsPublic(request.getIsPublic());
         }
 
-        Ticket saved = ticketRepository.save(ticket);
-        log.info("티켓 수정 완료: user={}, ticketId={}", authUser != null ? authUser.getUser().getId() : "anonymous", ticketId);
+        Ticket saved = ticketService.save(ticket, request.getImageUrl() != null);
+        log.info("티켓 수정 완료: user={}, ticketId={}", authUser != null ? authUser.getId() : "anonymous", ticketId);
 
         return ResponseEntity.ok(new ApiResponse<>(
                 true,
-                TicketResponse.from(saved),
+                toResponse(saved),
                 "티켓이 수정되었습니다."
         ));
     }
@@ -194,8 +258,8 @@ public class TicketController {
                     .body(new ApiResponse<>(false, null, "티켓을 찾을 수 없습니다."));
         }
 
-        ticketRepository.delete(ticketOpt.get());
-        log.info("티켓 삭제 완료: user={}, ticketId={}", authUser != null ? authUser.getUser().getId() : "anonymous", ticketId);
+        ticketService.delete(ticketOpt.get());
+        log.info("티켓 삭제 완료: user={}, ticketId={}", authUser != null ? authUser.getId() : "anonymous", ticketId);
 
         return ResponseEntity.ok(new ApiResponse<>(
                 true,
@@ -209,7 +273,11 @@ public class TicketController {
             return Optional.empty();
         }
         return ticketRepository.findById(ticketId)
-                .filter(ticket -> ticket.getUser().getId().equals(authUser.getUser().getId()));
+                .filter(ticket -> ticket.getUser().getId().equals(authUser.getId()));
+    }
+
+    private TicketResponse toResponse(Ticket ticket) {
+        return TicketResponse.from(ticket, imageVariantService.variantUrls(ticket.getImageUrl()));
     }
 
     private <T> ResponseEntity<ApiResponse<T>> unauthorizedResponse() {
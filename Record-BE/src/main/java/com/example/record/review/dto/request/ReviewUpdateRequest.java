@@ -12,6 +12,8 @@ public class ReviewUpdateRequest {
     private String summary;
     private String keywords;
     private List<QuestionDTO> questions;
+    // 클라이언트가 마지막으로 읽은 리뷰 버전 (보내면 그 사이 다른 수정이 있었을 때 409)
+    private Long version;
 
     @Getter
     @Setter
@@ -0,0 +1,34 @@
+package com.example.record.review.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 질문 템플릿/맞춤 질문 통계 응답 DTO (관리자용)
+ *
+ * 주기적으로 집계한 값이며, computedAt이 집계 시각입니다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionStatsResponse {
+
+    private long totalTemplates;
+    /** 소문자 장르 → 템플릿 개수 */
+    private Map<String, Long> templatesByGenre;
+    /** 소문자 장르 → (카테고리 → 템플릿 개수) */
+    private Map<String, Map<String, Long>> templatesByGenreAndCategory;
+    /** 소문자가 아닌 형태로 저장된 장르 값 (예: "MUSICAL") */
+    private List<String> nonLowercaseGenres;
+    private long totalCustomQuestions;
+    /** 소문자 장르 → 맞춤 질문 개수 */
+    private Map<String, Long> customQuestionsByGenre;
+    private LocalDateTime computedAt;
+}
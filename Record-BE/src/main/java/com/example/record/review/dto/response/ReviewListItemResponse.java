@@ -14,6 +14,8 @@ public class ReviewListItemResponse {
     private String summary;
     private String keywords;
     private String ticketImageUrl;
+    private String ticketThumbnailUrl;
     private String performanceTitle;
     private LocalDateTime createdAt;
+    private Long version;
 }
\ No newline at end of file
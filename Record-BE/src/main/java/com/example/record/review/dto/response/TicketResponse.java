@@ -1,6 +1,7 @@
 package com.example.record.review.dto.response;
 
 import com.example.record.review.entity.Ticket;
+import com.example.record.storage.ImageVariantUrls;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -26,11 +27,15 @@ public class TicketResponse {
     private String genre;
     private LocalDate viewDate;
     private String imageUrl;
+    /** 목록/그리드용 썸네일 (파생 이미지가 아직 없으면 원본 imageUrl) */
+    private String thumbnailUrl;
+    /** 상세 화면용 중간 크기 이미지 (파생 이미지가 아직 없으면 원본 imageUrl) */
+    private String mediumUrl;
     private String reviewText;
     private Boolean isPublic;
     private LocalDateTime createdAt;
 
-    public static TicketResponse from(Ticket ticket) {
+    public static TicketResponse from(Ticket ticket, ImageVariantUrls variants) {
         return TicketResponse.builder()
                 .id(ticket.getId())
                 .title(ticket.getPerformanceTitle())
@@ -38,6 +43,8 @@ public class TicketResponse {
                 .genre(ticket.getGenre())
                 .viewDate(ticket.getViewDate())
                 .imageUrl(ticket.getImageUrl())
+                .thumbnailUrl(variants.thumbnailUrl())
+                .mediumUrl(variants.mediumUrl())
                 .reviewText(ticket.getReviewText())
                 .isPublic(ticket.getIsPublic())
                 .createdAt(ticket.getCreatedAt())
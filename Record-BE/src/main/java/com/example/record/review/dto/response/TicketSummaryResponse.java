@@ -0,0 +1,46 @@
+package com.example.record.review.dto.response;
+
+import com.example.record.review.repository.TicketRepository.TicketSummaryRow;
+import com.example.record.storage.ImageVariantUrls;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 티켓 목록용 요약 응답 DTO
+ *
+ * 목록 화면에 필요한 필드만 담습니다. (후기 본문은 GET /tickets/{ticketId} 상세 조회로)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSummaryResponse {
+
+    private Long id;
+    private String title;
+    private String venue;
+    private String genre;
+    private LocalDate viewDate;
+    /** 목록/그리드용 썸네일 (파생 이미지가 아직 없으면 원본 imageUrl) */
+    private String thumbnailUrl;
+    private Boolean isPublic;
+    private LocalDateTime createdAt;
+
+    public static TicketSummaryResponse from(TicketSummaryRow row, ImageVariantUrls variants) {
+        return TicketSummaryResponse.builder()
+                .id(row.getId())
+                .title(row.getPerformanceTitle())
+                .venue(row.getTheater())
+                .genre(row.getGenre())
+                .viewDate(row.getViewDate())
+                .thumbnailUrl(variants.thumbnailUrl() != null ? variants.thumbnailUrl() : row.getImageUrl())
+                .isPublic(row.getIsPublic())
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+}
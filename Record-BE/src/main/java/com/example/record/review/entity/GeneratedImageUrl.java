@@ -31,7 +31,8 @@ import java.time.LocalDateTime;
 public class GeneratedImageUrl {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "generated_image_url_seq")
+    @SequenceGenerator(name = "generated_image_url_seq", sequenceName = "generated_image_url_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -52,9 +53,10 @@ public class GeneratedImageUrl {
     /**
      * 생성된 이미지의 URL
      * 
-     * DALL-E나 다른 AI 이미지 생성 서비스에서 반환되는 이미지 URL입니다.
+     * DALL-E 결과를 우리 저장소(S3/로컬)에 옮긴 뒤의 고정 URL입니다.
+     * (OpenAI 임시 URL은 만료되므로 저장하지 않음 → ImageIngestService 참고)
      * 
-     * 예시: "https://oaidalleapiprodscus.blob.core.windows.net/private/..."
+     * 예시: "https://recording-bucket.s3.ap-northeast-2.amazonaws.com/blobs/ab/cd/abcd....png"
      * 
      * 왜 TEXT 타입을 사용하나요?
      * - URL이 매우 길 수 있기 때문입니다 (400자 이상)
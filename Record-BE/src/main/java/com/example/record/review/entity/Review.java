@@ -2,6 +2,7 @@ package com.example.record.review.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
@@ -19,8 +20,13 @@ import java.util.List;
 @Builder
 public class Review {
 
+    /**
+     * 시퀀스에서 50개씩 미리 받아 사용 (IDENTITY는 INSERT마다 id를 돌려받아야 해서 배치 INSERT가 불가능)
+     * 기존 IDENTITY로 만든 행과 겹치지 않도록 시작 시 시퀀스를 맞춥니다. (resources/db/id-sequences.sql 참고)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @SequenceGenerator(name = "review_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -41,6 +47,17 @@ public class Review {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    /**
+     * 낙관적 잠금 버전 (수정할 때마다 1씩 증가)
+     *
+     * 두 요청이 같은 리뷰를 동시에 고치면 나중에 커밋하는 쪽이 실패(409)하여 앞선 수정을 덮어쓰지 않습니다.
+     * 새 엔티티는 null로 두어야 save()가 persist로 처리합니다. (기존 행은 DEFAULT 0으로 채워짐)
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "review", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<ReviewQuestion> questions = new ArrayList<>();
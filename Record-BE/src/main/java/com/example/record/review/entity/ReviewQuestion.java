@@ -13,7 +13,8 @@ import lombok.*;
 public class ReviewQuestion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_question_seq")
+    @SequenceGenerator(name = "review_question_seq", sequenceName = "review_questions_seq", allocationSize = 50)
     private Long id;
 
     /**
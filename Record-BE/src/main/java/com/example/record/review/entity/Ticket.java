@@ -10,7 +10,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tickets", indexes = {
-    @Index(name = "idx_tickets_user_id", columnList = "user_id")
+    @Index(name = "idx_tickets_user_id", columnList = "user_id"),
+    // 내 티켓 목록: 키셋 페이지네이션 (user_id = ? ORDER BY created_at DESC, id DESC)
+    @Index(name = "idx_tickets_user_created", columnList = "user_id, created_at, id"),
+    // 친구 피드: 친구들의 공개 티켓을 최신순으로 (user_id IN ... AND is_public ORDER BY created_at, id)
+    @Index(name = "idx_tickets_user_public_created", columnList = "user_id, is_public, created_at, id")
 })
 @Getter
 @Setter
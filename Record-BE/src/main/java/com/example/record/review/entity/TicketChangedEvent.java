@@ -0,0 +1,12 @@
+package com.example.record.review.entity;
+
+/**
+ * 티켓 생성/수정/삭제 이벤트 (티켓을 저장/삭제할 때 발행)
+ *
+ * 친구 피드(FeedService)가 트랜잭션 커밋 후 이 이벤트를 받아 작성자 친구들의 첫 페이지 캐시를 버립니다.
+ * 공개 → 비공개로 바뀐 티켓이 캐시 TTL 동안 친구 피드에 남지 않도록 하기 위함입니다.
+ *
+ * @param userId 티켓 작성자 ID
+ */
+public record TicketChangedEvent(String userId) {
+}
@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "user_custom_questions", indexes = {
-    @Index(name = "idx_user_custom_questions_user_id", columnList = "user_id")
+    @Index(name = "idx_user_custom_questions_user_id", columnList = "user_id"),
+    @Index(name = "idx_user_custom_questions_user_genre", columnList = "user_id, genre")
 })
 @Getter
 @Setter
@@ -97,5 +98,12 @@ public class UserCustomQuestion {
     @Column(name = "created_at")
     @CreationTimestamp
     private LocalDateTime createdAt;
-}
 
+    /**
+     * 마지막으로 사용자에게 제공되었거나 다시 생성된(비슷한 질문이 또 만들어진) 시간
+     * 
+     * 사용자/장르별 질문 개수 상한을 넘으면 이 값이 오래된 질문부터 지웁니다. (없으면 createdAt 기준)
+     */
+    @Column(name = "last_used_at")
+    private LocalDateTime lastUsedAt;
+}
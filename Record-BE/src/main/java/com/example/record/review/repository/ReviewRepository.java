@@ -3,11 +3,14 @@ package com.example.record.review.repository;
 import com.example.record.review.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     /**
@@ -27,11 +30,50 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Page<Review> findByTicket_User_Id(String userId, Pageable pageable);
 
     /**
-     * 특정 사용자의 모든 리뷰를 생성 시간 순으로 조회합니다.
-     * 
+     * 특정 사용자의 리뷰 수 (엔티티를 불러오지 않고 COUNT만)
+     *
      * @param userId 사용자 ID
-     * @return 해당 사용자의 리뷰 목록 (생성 시간 오름차순)
+     * @return 해당 사용자의 리뷰 개수
+     */
+    long countByTicket_User_Id(String userId);
+
+    /**
+     * 이 후기보다 나중에 작성된 같은 사용자의 후기 수
+     * (취향 프로필에서 이 후기의 가중치에 decay가 몇 번 곱해졌는지 계산할 때 사용)
      */
-    @Query("SELECT r FROM Review r WHERE r.ticket.user.id = :userId ORDER BY r.createdAt ASC")
-    List<Review> findByTicket_User_IdOrderByCreatedAtAsc(@Param("userId") String userId);
-}
\ No newline at end of file
+    long countByTicket_User_IdAndIdGreaterThan(String userId, Long reviewId);
+
+    /**
+     * 수정용 조회: 커밋 시 version을 올리고 읽은 뒤 다른 수정이 있었으면 실패시킵니다.
+     * (질문만 바뀌어도 리뷰 version이 올라가 동시 수정이 충돌로 잡힘)
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT r FROM Review r WHERE r.id = :id")
+    Optional<Review> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * 특정 사용자의 리뷰를 생성 시간 순으로 한 페이지만 조회합니다. (티켓 함께 조회)
+     *
+     * 예: 3개씩 묶었을 때 두 번째 묶음(4~6번째 후기) → PageRequest.of(1, 3)
+     *
+     * @param userId 사용자 ID
+     * @return 해당 페이지의 리뷰 목록 (생성 시간 오름차순)
+     */
+    @Query("SELECT r FROM Review r JOIN FETCH r.ticket t " +
+            "WHERE t.user.id = :userId ORDER BY r.createdAt ASC, r.id ASC")
+    List<Review> findPageByUserOrderByCreatedAtAsc(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * 취향 프로필을 처음 만들 때 반영할 최근 후기 (필요한 컬럼만, 최신순)
+     */
+    @Query("SELECT r.summary AS summary, r.keywords AS keywords, t.genre AS genre " +
+            "FROM Review r JOIN r.ticket t " +
+            "WHERE t.user.id = :userId ORDER BY r.createdAt DESC, r.id DESC")
+    List<TasteSeedRow> findTasteSeedRows(@Param("userId") String userId, Pageable pageable);
+
+    interface TasteSeedRow {
+        String getSummary();
+        String getKeywords();
+        String getGenre();
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.record.review.repository;
 
 import com.example.record.review.entity.Ticket;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -27,4 +31,72 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
      * 특정 사용자의 티켓 목록을 최신 순으로 조회합니다.
      */
     List<Ticket> findByUser_IdOrderByCreatedAtDesc(String userId);
-}
\ No newline at end of file
+
+    /**
+     * 내 티켓 목록 첫 페이지 (요약: review_text 등 큰 컬럼 제외)
+     */
+    @Query("SELECT t.id AS id, t.performanceTitle AS performanceTitle, t.theater AS theater, " +
+            "t.genre AS genre, t.viewDate AS viewDate, t.imageUrl AS imageUrl, " +
+            "t.isPublic AS isPublic, t.createdAt AS createdAt " +
+            "FROM Ticket t WHERE t.user.id = :userId " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummaryRow> findSummaries(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * 내 티켓 목록 다음 페이지: 커서(createdAt, id)보다 오래된 티켓
+     */
+    @Query("SELECT t.id AS id, t.performanceTitle AS performanceTitle, t.theater AS theater, " +
+            "t.genre AS genre, t.viewDate AS viewDate, t.imageUrl AS imageUrl, " +
+            "t.isPublic AS isPublic, t.createdAt AS createdAt " +
+            "FROM Ticket t WHERE t.user.id = :userId " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummaryRow> findSummariesAfter(@Param("userId") String userId,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    /**
+     * 친구 피드 첫 페이지: 여러 사용자의 공개 티켓을 최신순으로 (작성자 정보 함께 조회)
+     */
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.user " +
+            "WHERE t.user.id IN :userIds AND t.isPublic = true " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Ticket> findPublicFeed(@Param("userIds") Collection<String> userIds, Pageable pageable);
+
+    /**
+     * 친구 피드 다음 페이지: 커서(createdAt, id)보다 오래된 공개 티켓
+     */
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.user " +
+            "WHERE t.user.id IN :userIds AND t.isPublic = true " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Ticket> findPublicFeedAfter(@Param("userIds") Collection<String> userIds,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    /**
+     * 여러 사용자의 관람 취향 (장르/공연 제목)을 한 번에 조회합니다. (친구 추천 점수 계산용)
+     */
+    @Query("SELECT DISTINCT t.user.id AS userId, t.genre AS genre, t.performanceTitle AS performanceTitle " +
+            "FROM Ticket t WHERE t.user.id IN :userIds")
+    List<TasteRow> findTasteRows(@Param("userIds") Collection<String> userIds);
+
+    interface TicketSummaryRow {
+        Long getId();
+        String getPerformanceTitle();
+        String getTheater();
+        String getGenre();
+        LocalDate getViewDate();
+        String getImageUrl();
+        Boolean getIsPublic();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface TasteRow {
+        String getUserId();
+        String getGenre();
+        String getPerformanceTitle();
+    }
+}
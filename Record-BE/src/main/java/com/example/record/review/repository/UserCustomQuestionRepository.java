@@ -2,9 +2,13 @@ package com.example.record.review.repository;
 
 import com.example.record.review.entity.UserCustomQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -32,14 +36,15 @@ public interface UserCustomQuestionRepository extends JpaRepository<UserCustomQu
     List<UserCustomQuestion> findByUser_IdAndGenre(String userId, String genre);
 
     /**
-     * 특정 사용자와 장르의 랜덤 맞춤 질문을 조회합니다.
-     * 
-     * @param userId 사용자 ID
-     * @param genre 장르
-     * @param limit 조회할 질문 개수
-     * @return 랜덤하게 선택된 맞춤 질문 목록
+     * 장르/카테고리별 맞춤 질문 개수 (관리자 통계용)
      */
-    @Query(value = "SELECT * FROM user_custom_questions WHERE user_id = :userId AND genre = :genre ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
-    List<UserCustomQuestion> findRandomByUserAndGenre(@Param("userId") String userId, @Param("genre") String genre, @Param("limit") int limit);
-}
+    @Query("SELECT q.genre AS genre, q.category AS category, COUNT(q) AS count " +
+           "FROM UserCustomQuestion q GROUP BY q.genre, q.category")
+    List<QuestionTemplateRepository.GenreCategoryCount> countByGenreAndCategory();
 
+    /** 제공된 질문들의 마지막 사용 시간 갱신 (CustomQuestionCache가 모아서 호출) */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserCustomQuestion q SET q.lastUsedAt = :now WHERE q.id IN :ids")
+    int touchLastUsed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
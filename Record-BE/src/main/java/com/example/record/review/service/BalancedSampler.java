@@ -0,0 +1,87 @@
+package com.example.record.review.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * 카테고리별로 묶인 질문 목록에서 k개를 중복 없이 뽑습니다.
+ *
+ * - 카테고리 순서를 섞은 뒤 한 개씩 돌아가며 뽑아 ACTING/MUSIC/STAGE/STORY 등이 고르게 섞이게 합니다.
+ *   (한 카테고리의 질문이 떨어지면 남은 카테고리에서 계속 뽑습니다.)
+ * - 카테고리 안에서는 목록을 복사하지 않는 Fisher-Yates(바뀐 자리만 Map에 기록)로 뽑아
+ *   질문 개수와 상관없이 O(k)입니다.
+ */
+final class BalancedSampler {
+
+    private BalancedSampler() {
+    }
+
+    /** 카테고리별 묶음 (category가 없으면 OVERALL) */
+    static <T, R> List<List<R>> group(Collection<T> items, Function<T, String> category, Function<T, R> value) {
+        Map<String, List<R>> byCategory = new LinkedHashMap<>();
+        for (T item : items) {
+            String c = category.apply(item);
+            String key = c == null || c.isBlank() ? "OVERALL" : c.trim().toUpperCase(Locale.ROOT);
+            byCategory.computeIfAbsent(key, k -> new ArrayList<>()).add(value.apply(item));
+        }
+        List<List<R>> groups = new ArrayList<>(byCategory.size());
+        byCategory.values().forEach(list -> groups.add(List.copyOf(list)));
+        return List.copyOf(groups);
+    }
+
+    static <R> List<R> sample(List<List<R>> groups, int k, Random random) {
+        if (groups.isEmpty() || k <= 0) {
+            return new ArrayList<>();
+        }
+        int n = groups.size();
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+
+        int[] drawn = new int[n];
+        List<Map<Integer, Integer>> swaps = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            swaps.add(new HashMap<>());
+        }
+
+        List<R> result = new ArrayList<>(k);
+        boolean progressed = true;
+        while (result.size() < k && progressed) {
+            progressed = false;
+            for (int g : order) {
+                List<R> group = groups.get(g);
+                int d = drawn[g];
+                if (d >= group.size()) {
+                    continue;
+                }
+                Map<Integer, Integer> swap = swaps.get(g);
+                int j = d + random.nextInt(group.size() - d);
+                int picked = swap.getOrDefault(j, j);
+                swap.put(j, swap.getOrDefault(d, d));
+                drawn[g] = d + 1;
+
+                result.add(group.get(picked));
+                progressed = true;
+                if (result.size() == k) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+}
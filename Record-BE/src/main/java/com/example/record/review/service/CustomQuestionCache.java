@@ -0,0 +1,136 @@
+package com.example.record.review.service;
+
+import com.example.record.review.entity.UserCustomQuestion;
+import com.example.record.review.repository.UserCustomQuestionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자 맞춤 질문 캐시
+ *
+ * 예전에는 findRandomByUserAndGenre(ORDER BY RANDOM())로 매번 사용자의 맞춤 질문을 정렬했습니다.
+ * 이제 사용자의 맞춤 질문을 한 번 읽어 장르/카테고리별로 들고 있다가 메모리에서 뽑습니다.
+ *
+ * 무효화: 맞춤 질문이 새로 저장되면 evict(userId)를 호출합니다.
+ *
+ * 제공한 질문의 last_used_at은 요청마다 쓰지 않고 모아 두었다가 주기적으로 한 번에 갱신합니다.
+ * (사용자/장르별 개수 상한을 넘으면 오래 쓰이지 않은 질문부터 지움 - ReviewQuestionService 참고)
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomQuestionCache {
+
+    private final UserCustomQuestionRepository userCustomQuestionRepository;
+
+    @Value("${app.question-pool.ttl-ms:600000}")
+    private long ttlMs;
+
+    @Value("${app.question-pool.max-users:10000}")
+    private int maxEntries;
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    private final Set<Long> usedIds = ConcurrentHashMap.newKeySet();
+
+    private record Question(Long id, String text) {}
+
+    /** 소문자 장르 → 카테고리별 질문 */
+    private record Entry(Map<String, List<List<Question>>> byGenre, long loadedAt) {}
+
+    /** 사용자의 해당 장르 맞춤 질문 중 최대 count개를 뽑습니다. (없으면 빈 리스트) */
+    public List<String> sample(String userId, String genre, int count) {
+        if (userId == null || genre == null) {
+            return new ArrayList<>();
+        }
+        List<List<Question>> groups = get(userId).byGenre().get(genre.toLowerCase(Locale.ROOT));
+        if (groups == null) {
+            return new ArrayList<>();
+        }
+        List<Question> picked = BalancedSampler.sample(groups, count, ThreadLocalRandom.current());
+        List<String> texts = new ArrayList<>(picked.size());
+        for (Question question : picked) {
+            usedIds.add(question.id());
+            texts.add(question.text());
+        }
+        return texts;
+    }
+
+    /**
+     * 모아 둔 사용 기록을 last_used_at에 반영
+     *
+     * ID를 하나씩 꺼내면서(iterator.remove) 지우므로, 반영하는 동안 다시 사용된 ID는 집합에 다시 들어가
+     * 다음 반영 때 처리됩니다. (복사 후 removeAll로 지우면 그 사이의 사용 기록이 함께 지워짐)
+     * 반영에 실패한 묶음은 집합에 되돌려 다음 반영 때 다시 시도합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.question-pool.usage-flush-ms:60000}")
+    public void flushUsage() {
+        LocalDateTime now = LocalDateTime.now();
+        Iterator<Long> it = usedIds.iterator();
+        List<Long> batch = new ArrayList<>(500);
+        while (it.hasNext()) {
+            batch.add(it.next());
+            it.remove();
+            if (batch.size() == 500 || !it.hasNext()) {
+                touch(batch, now);
+                batch = new ArrayList<>(500);
+            }
+        }
+    }
+
+    private void touch(List<Long> ids, LocalDateTime now) {
+        try {
+            userCustomQuestionRepository.touchLastUsed(ids, now);
+        } catch (RuntimeException e) {
+            usedIds.addAll(ids);
+            throw e;
+        }
+    }
+
+    /** 맞춤 질문이 바뀌었을 때 호출 */
+    public void evict(String userId) {
+        if (userId != null) {
+            cache.remove(userId);
+        }
+    }
+
+    private Entry get(String userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(userId);
+        if (entry != null && now - entry.loadedAt() < ttlMs) {
+            return entry;
+        }
+
+        Map<String, List<UserCustomQuestion>> rawByGenre = userCustomQuestionRepository.findByUser_Id(userId).stream()
+                .filter(q -> q.getGenre() != null && q.getTemplateText() != null)
+                .collect(Collectors.groupingBy(q -> q.getGenre().trim().toLowerCase(Locale.ROOT)));
+
+        Map<String, List<List<Question>>> byGenre = new HashMap<>();
+        rawByGenre.forEach((genre, questions) -> byGenre.put(genre,
+                BalancedSampler.group(questions, UserCustomQuestion::getCategory,
+                        q -> new Question(q.getId(), q.getTemplateText()))));
+        entry = new Entry(Map.copyOf(byGenre), now);
+
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(e -> now - e.loadedAt() >= ttlMs);
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(userId, entry);
+        return entry;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.record.review.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * 맞춤 질문 중복 제거
+ *
+ * 왜 필요한가요?
+ * - 후기 분석 때마다 "가장 인상깊었던 장면은?" 같은 질문이 표현만 조금 바뀌어 계속 쌓였습니다.
+ * - 저장 전에 사용자의 기존 질문(같은 장르)과 비교하여 거의 같은 질문은 버립니다.
+ *
+ * 방법:
+ * 1. 정규화: 소문자, 공백/문장부호 제거 ("가장 인상 깊었던 장면은?" → "가장인상깊었던장면은")
+ * 2. 글자 2-gram 집합의 MinHash 서명(60개)을 만들고 LSH(20밴드 × 3행)로 후보만 고릅니다.
+ * 3. 후보와 실제 Jaccard 유사도를 계산하여 app.question-dedup.similarity 이상이면 중복으로 봅니다.
+ * 외부 API 호출 없이 메모리에서만 계산합니다.
+ */
+@Component
+public class QuestionDeduplicator {
+
+    private static final int BANDS = 20;
+    private static final int ROWS = 3;
+    private static final int NUM_HASHES = BANDS * ROWS;
+
+    private static final long[] SEEDS_A = new long[NUM_HASHES];
+    private static final long[] SEEDS_B = new long[NUM_HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            SEEDS_A[i] = random.nextLong() | 1L;
+            SEEDS_B[i] = random.nextLong();
+        }
+    }
+
+    @Value("${app.question-dedup.similarity:0.6}")
+    private double similarityThreshold;
+
+    /**
+     * 중복 제거 결과
+     *
+     * @param unique          저장할 새 질문 (입력 순서 유지)
+     * @param matchedExisting 새 질문과 거의 같아 대신 "다시 사용됨"으로 볼 기존 질문의 인덱스
+     */
+    public record Result(List<String> unique, Set<Integer> matchedExisting) {}
+
+    /**
+     * 후보 질문 중 기존 질문 및 서로 간에 거의 같은 것을 걸러냅니다.
+     *
+     * @param existing   사용자의 기존 질문 (같은 장르)
+     * @param candidates 새로 생성된 질문
+     */
+    public Result filter(List<String> existing, List<String> candidates) {
+        Index index = new Index();
+        for (int i = 0; i < existing.size(); i++) {
+            index.add(i, existing.get(i));
+        }
+
+        List<String> unique = new ArrayList<>();
+        Set<Integer> matchedExisting = new HashSet<>();
+        Set<String> seenNormalized = new HashSet<>();
+        int nextId = existing.size();
+        for (String candidate : candidates) {
+            String normalized = normalize(candidate);
+            if (normalized.isEmpty() || !seenNormalized.add(normalized)) {
+                continue;
+            }
+            Set<Long> shingles = shingles(normalized);
+            int[] signature = signature(shingles);
+
+            int match = index.findSimilar(shingles, signature, similarityThreshold);
+            if (match >= 0) {
+                if (match < existing.size()) {
+                    matchedExisting.add(match);
+                }
+                continue;
+            }
+            index.add(nextId++, shingles, signature);
+            unique.add(candidate.trim());
+        }
+        return new Result(unique, matchedExisting);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String nfkc = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(nfkc.length());
+        nfkc.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    /**
+     * 글자 2-gram (한 글자짜리는 그 글자 자체)
+     *
+     * 코드 포인트는 21비트 이하이므로 앞 글자를 21비트 올려 붙이면 서로 다른 2-gram이 같은 값이 되지 않습니다.
+     * (a * 31 + b 는 "가나"와 다른 글자 쌍이 같은 값이 될 수 있었음)
+     * 한 글자짜리는 앞 글자 자리에 코드 포인트 범위 밖의 값(0x1FFFFF)을 넣어 2-gram과 구분합니다.
+     */
+    private static Set<Long> shingles(String normalized) {
+        int[] cps = normalized.codePoints().toArray();
+        Set<Long> result = new HashSet<>();
+        if (cps.length == 1) {
+            result.add(bigram(0x1FFFFF, cps[0]));
+            return result;
+        }
+        for (int i = 0; i + 1 < cps.length; i++) {
+            result.add(bigram(cps[i], cps[i + 1]));
+        }
+        return result;
+    }
+
+    private static long bigram(int first, int second) {
+        return ((long) first << 21) | second;
+    }
+
+    private static int[] signature(Set<Long> shingles) {
+        int[] sig = new int[NUM_HASHES];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int h = (int) (mix(shingle * SEEDS_A[i] + SEEDS_B[i]) >>> 33);
+                if (h < sig[i]) {
+                    sig[i] = h;
+                }
+            }
+        }
+        return sig;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static double jaccard(Set<Long> a, Set<Long> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 1.0;
+        }
+        Set<Long> smaller = a.size() <= b.size() ? a : b;
+        Set<Long> larger = smaller == a ? b : a;
+        int intersection = 0;
+        for (long x : smaller) {
+            if (larger.contains(x)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    /** LSH 버킷 (밴드별 해시 → 질문 번호) */
+    private static final class Index {
+        private final Map<Long, List<Integer>> buckets = new HashMap<>();
+        private final Map<Integer, Set<Long>> shinglesById = new HashMap<>();
+
+        void add(int id, String text) {
+            String normalized = normalize(text);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            Set<Long> shingles = shingles(normalized);
+            add(id, shingles, signature(shingles));
+        }
+
+        void add(int id, Set<Long> shingles, int[] signature) {
+            shinglesById.put(id, shingles);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bandKey(band, signature), k -> new ArrayList<>()).add(id);
+            }
+        }
+
+        /** 유사도가 threshold 이상인 질문 번호 (없으면 -1) */
+        int findSimilar(Set<Long> shingles, int[] signature, double threshold) {
+            Set<Integer> checked = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                List<Integer> bucket = buckets.get(bandKey(band, signature));
+                if (bucket == null) {
+                    continue;
+                }
+                for (int id : bucket) {
+                    if (checked.add(id) && jaccard(shingles, shinglesById.get(id)) >= threshold) {
+                        return id;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private static long bandKey(int band, int[] signature) {
+            long h = band;
+            for (int r = 0; r < ROWS; r++) {
+                h = h * 0x9E3779B97F4A7C15L + signature[band * ROWS + r];
+            }
+            return mix(h);
+        }
+    }
+}
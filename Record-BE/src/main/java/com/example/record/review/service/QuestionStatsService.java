@@ -0,0 +1,99 @@
+package com.example.record.review.service;
+
+import com.example.record.review.dto.response.QuestionStatsResponse;
+import com.example.record.review.repository.QuestionTemplateRepository;
+import com.example.record.review.repository.QuestionTemplateRepository.GenreCategoryCount;
+import com.example.record.review.repository.UserCustomQuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 질문 통계 (관리자용)
+ *
+ * 예전에는 getQuestionsForUser가 로그를 남기려고 매 요청마다 count()와 findByGenre 전체 조회를
+ * 여러 번 실행했습니다. 이제 그 통계는 GROUP BY 집계 쿼리 두 개로 주기적으로 계산해 두고,
+ * GET /admin/question-stats에서 마지막 집계 결과를 돌려줍니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuestionStatsService {
+
+    private final QuestionTemplateRepository questionTemplateRepository;
+    private final UserCustomQuestionRepository userCustomQuestionRepository;
+
+    private volatile QuestionStatsResponse latest;
+
+    /** 마지막 집계 결과 (아직 집계 전이면 지금 집계) */
+    public QuestionStatsResponse get() {
+        QuestionStatsResponse stats = latest;
+        if (stats == null) {
+            stats = compute();
+            latest = stats;
+        }
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${app.question-stats.refresh-ms:600000}")
+    public void refresh() {
+        latest = compute();
+    }
+
+    private QuestionStatsResponse compute() {
+        List<GenreCategoryCount> templateRows = questionTemplateRepository.countByGenreAndCategory();
+        List<GenreCategoryCount> customRows = userCustomQuestionRepository.countByGenreAndCategory();
+
+        Map<String, Long> templatesByGenre = new TreeMap<>();
+        Map<String, Map<String, Long>> templatesByGenreAndCategory = new TreeMap<>();
+        TreeSet<String> nonLowercaseGenres = new TreeSet<>();
+        long totalTemplates = 0;
+        for (GenreCategoryCount row : templateRows) {
+            String genre = normalize(row.getGenre());
+            String category = row.getCategory() != null ? row.getCategory() : "OVERALL";
+            long count = row.getCount();
+
+            totalTemplates += count;
+            templatesByGenre.merge(genre, count, Long::sum);
+            templatesByGenreAndCategory.computeIfAbsent(genre, g -> new TreeMap<>()).merge(category, count, Long::sum);
+            if (row.getGenre() != null && !row.getGenre().equals(genre)) {
+                nonLowercaseGenres.add(row.getGenre());
+            }
+        }
+
+        Map<String, Long> customQuestionsByGenre = new TreeMap<>();
+        long totalCustomQuestions = 0;
+        for (GenreCategoryCount row : customRows) {
+            totalCustomQuestions += row.getCount();
+            customQuestionsByGenre.merge(normalize(row.getGenre()), row.getCount(), Long::sum);
+        }
+
+        QuestionStatsResponse stats = QuestionStatsResponse.builder()
+                .totalTemplates(totalTemplates)
+                .templatesByGenre(templatesByGenre)
+                .templatesByGenreAndCategory(templatesByGenreAndCategory)
+                .nonLowercaseGenres(List.copyOf(nonLowercaseGenres))
+                .totalCustomQuestions(totalCustomQuestions)
+                .customQuestionsByGenre(customQuestionsByGenre)
+                .computedAt(LocalDateTime.now())
+                .build();
+
+        if (!nonLowercaseGenres.isEmpty()) {
+            log.warn("소문자가 아닌 장르로 저장된 질문 템플릿이 있습니다: {}", nonLowercaseGenres);
+        }
+        log.debug("질문 통계 집계: 템플릿 {}개 {}, 맞춤 질문 {}개", totalTemplates, templatesByGenre, totalCustomQuestions);
+        return stats;
+    }
+
+    private static String normalize(String genre) {
+        return genre == null ? "(none)" : genre.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.record.review.service;
+
+import com.example.record.review.entity.QuestionTemplate;
+import com.example.record.review.repository.QuestionTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * 장르별 질문 템플릿 풀 (메모리 캐시)
+ *
+ * 왜 필요한가요?
+ * - 예전에는 /review-questions 호출마다 ORDER BY RANDOM() LIMIT 3 쿼리로
+ *   장르의 템플릿 전체를 정렬했습니다.
+ * - 템플릿은 수십 개 수준이고 거의 바뀌지 않으므로 한 번에 읽어 장르/카테고리별로 들고 있다가
+ *   메모리에서 뽑습니다. (BalancedSampler 참고)
+ *
+ * 무효화: 템플릿을 추가/수정하면 invalidate()를 호출합니다.
+ * TTL은 다른 서버 인스턴스에서 바뀐 템플릿이 늦게 반영되는 최대 시간입니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionTemplatePool {
+
+    private final QuestionTemplateRepository questionTemplateRepository;
+
+    @Value("${app.question-pool.ttl-ms:600000}")
+    private long ttlMs;
+
+    /** 소문자 장르 → 카테고리별 템플릿 텍스트 */
+    private record Snapshot(Map<String, List<List<String>>> byGenre, long loadedAt) {}
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 장르의 템플릿 중 최대 count개를 카테고리가 고르게 섞이도록 뽑습니다.
+     *
+     * @param genre 장르 (대소문자 구분 없음, 예: "musical", "band", "common")
+     */
+    public List<String> sample(String genre, int count) {
+        if (genre == null) {
+            return new ArrayList<>();
+        }
+        List<List<String>> groups = current().byGenre().get(genre.toLowerCase(Locale.ROOT));
+        if (groups == null) {
+            return new ArrayList<>();
+        }
+        return BalancedSampler.sample(groups, count, ThreadLocalRandom.current());
+    }
+
+    /** 템플릿이 바뀌었을 때 호출 (다음 조회 시 다시 읽음) */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        long now = System.currentTimeMillis();
+        if (s != null && now - s.loadedAt() < ttlMs) {
+            return s;
+        }
+        synchronized (this) {
+            s = snapshot;
+            if (s != null && now - s.loadedAt() < ttlMs) {
+                return s;
+            }
+            s = load(now);
+            snapshot = s;
+            return s;
+        }
+    }
+
+    private Snapshot load(long now) {
+        // 장르는 대문자/소문자가 섞여 저장되어 있을 수 있으므로 소문자로 묶음
+        Map<String, List<QuestionTemplate>> rawByGenre = questionTemplateRepository.findAll().stream()
+                .filter(t -> t.getGenre() != null && t.getTemplateText() != null)
+                .collect(Collectors.groupingBy(t -> t.getGenre().trim().toLowerCase(Locale.ROOT)));
+
+        Map<String, List<List<String>>> byGenre = new HashMap<>();
+        rawByGenre.forEach((genre, templates) -> byGenre.put(genre,
+                BalancedSampler.group(templates, QuestionTemplate::getCategory, QuestionTemplate::getTemplateText)));
+
+        log.info("질문 템플릿 풀 적재: 장르 {}개, 템플릿 {}개", byGenre.size(),
+                rawByGenre.values().stream().mapToInt(List::size).sum());
+        return new Snapshot(Map.copyOf(byGenre), now);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.record.review.service;
+
+import com.example.record.outbox.OutboxEvent;
+import com.example.record.outbox.OutboxHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 후기 3개마다 맞춤 질문/선호 키워드를 생성하는 아웃박스 처리기
+ *
+ * ReviewService.createReview가 같은 트랜잭션에서 이벤트를 기록하고,
+ * OutboxWorker가 요청과 분리된 스레드에서 이 처리기를 호출합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewPersonalizationHandler implements OutboxHandler {
+
+    public static final String EVENT_TYPE = "REVIEW_PERSONALIZATION";
+
+    /** @param reviewCount 이벤트 발생 시점의 후기 개수 (분석할 3개 묶음 결정) */
+    public record Payload(long reviewCount) {}
+
+    /**
+     * 같은 3개 묶음은 한 번만 분석 (묶음을 완성한 후기의 ID 기준)
+     *
+     * 후기 개수는 삭제 후 다시 작성하면 같은 값이 반복되어 새 묶음이 분석되지 않으므로 키로 쓰지 않습니다.
+     * 후기 ID는 다시 쓰이지 않으므로 묶음마다 다른 키가 됩니다.
+     */
+    public static String jobKey(String userId, Long latestReviewId) {
+        return EVENT_TYPE + ":" + userId + ":" + latestReviewId;
+    }
+
+    private final ReviewQuestionService reviewQuestionService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String eventType() {
+        return EVENT_TYPE;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        Payload payload = objectMapper.readValue(event.getPayload(), Payload.class);
+        reviewQuestionService.analyzeAndGenerateCustomQuestions(event.getAggregateId(), payload.reviewCount());
+    }
+}
@@ -1,22 +1,26 @@
 package com.example.record.review.service;
 
 import com.example.record.promptcontrol_w03.service.OpenAIChatService;
-import com.example.record.review.entity.QuestionTemplate;
 import com.example.record.review.entity.Review;
 import com.example.record.review.entity.Ticket;
 import com.example.record.review.entity.UserCustomQuestion;
-import com.example.record.review.repository.QuestionTemplateRepository;
 import com.example.record.review.repository.ReviewRepository;
 import com.example.record.review.repository.TicketRepository;
 import com.example.record.review.repository.UserCustomQuestionRepository;
+import com.example.record.taste.TasteProfileService;
 import com.example.record.user.User;
 import com.example.record.user.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,20 +30,41 @@ import java.util.stream.Collectors;
  * 역할:
  * 1. 사용자의 티켓 개수에 따라 적절한 질문 제공
  * 2. 사용자의 과거 후기를 분석하여 맞춤 질문 생성
- * 3. 사용자의 선호 키워드 추출 및 저장
+ * 3. 사용자의 선호 키워드(취향 프로필)를 질문 생성에 반영
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReviewQuestionService {
 
-    private final QuestionTemplateRepository questionTemplateRepository;
     private final UserCustomQuestionRepository userCustomQuestionRepository;
     private final TicketRepository ticketRepository;
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
+    private final QuestionTemplatePool questionTemplatePool;
+    private final CustomQuestionCache customQuestionCache;
+    private final QuestionDeduplicator questionDeduplicator;
+    private final TasteProfileService tasteProfileService;
     private final OpenAIChatService openAIChatService;
     private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    /** 취향 단어를 OpenAI로 주제 키워드로 묶을지 여부 (끄면 프로필 상위 단어를 그대로 사용) */
+    @Value("${app.taste.llm-labels:false}")
+    private boolean llmLabels;
+
+    @Value("${app.question-dedup.max-per-genre:30}")
+    private int maxQuestionsPerGenre;
+
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void initTransactionTemplates() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
 
     /**
      * 사용자에게 표시할 질문들을 가져옵니다.
@@ -48,6 +73,9 @@ public class ReviewQuestionService {
      * 1. 티켓 개수가 3개 이하: 기존 DB 질문 중에서 장르별 랜덤 질문 제공
      * 2. 티켓 개수가 3개 이상: 사용자 맞춤 질문 풀에서 랜덤 질문 제공
      * 
+     * 질문은 QuestionTemplatePool / CustomQuestionCache에서 메모리로 뽑습니다. (ORDER BY RANDOM() 쿼리 없음)
+     * 질문 템플릿 통계는 요청마다 조회하지 않고 QuestionStatsService(GET /admin/question-stats)에서 봅니다.
+     * 
      * @param userId 사용자 ID
      * @param genre 장르 (예: "MUSICAL", "BAND")
      * @return 질문 텍스트 목록 (최대 3개)
@@ -56,91 +84,23 @@ public class ReviewQuestionService {
         // 장르 매핑 (프론트엔드 → 백엔드)
         String mappedGenre = mapGenre(genre);
         
-        // 사용자의 티켓 개수 확인
+        // 사용자의 티켓 개수 확인 (이 요청에서 실행하는 유일한 쿼리)
         long ticketCount = ticketRepository.countByUser_Id(userId);
         
-        List<String> questions = new ArrayList<>();
-        
+        List<String> questions;
         if (ticketCount <= 3) {
             // 티켓 개수가 3개 이하: 기존 DB 질문 중에서 장르별 랜덤 질문 제공
-            log.info("=== 질문 조회 시작 ===");
-            log.info("사용자 ID: {}", userId);
-            log.info("요청 장르: {} (매핑된 장르: {})", genre, mappedGenre);
-            log.info("티켓 개수: {}개 (3개 이하)", ticketCount);
-            
-            // 전체 질문 개수 확인 (디버깅용)
-            long totalTemplates = questionTemplateRepository.count();
-            log.info("DB의 전체 질문 템플릿 개수: {}개", totalTemplates);
-            
-            // 모든 장르의 질문 개수 확인 (디버깅용)
-            List<QuestionTemplate> allMusical = questionTemplateRepository.findByGenre("musical");
-            List<QuestionTemplate> allBand = questionTemplateRepository.findByGenre("band");
-            List<QuestionTemplate> allCommon = questionTemplateRepository.findByGenre("common");
-            log.info("장르별 질문 개수 - musical: {}개, band: {}개, common: {}개", 
-                    allMusical.size(), allBand.size(), allCommon.size());
-            
-            // 대소문자 구분 없이 조회 시도 (혹시 대문자로 저장되어 있을 경우)
-            List<QuestionTemplate> allMusicalUpper = questionTemplateRepository.findByGenre("MUSICAL");
-            List<QuestionTemplate> allBandUpper = questionTemplateRepository.findByGenre("BAND");
-            log.info("대문자 장르 조회 - MUSICAL: {}개, BAND: {}개", 
-                    allMusicalUpper.size(), allBandUpper.size());
-            
-            // 해당 장르의 질문 개수 확인
-            List<QuestionTemplate> allTemplates = questionTemplateRepository.findByGenre(mappedGenre);
-            log.info("장르 '{}'의 질문 개수: {}개", mappedGenre, allTemplates.size());
-            
-            List<QuestionTemplate> templates = questionTemplateRepository.findRandomByGenre(mappedGenre, 3);
-            log.info("랜덤 조회 결과: {}개", templates.size());
-            
-            questions = templates.stream()
-                    .map(QuestionTemplate::getTemplateText)
-                    .collect(Collectors.toList());
-            
-            // 해당 장르의 질문이 없으면 common 장르 질문 사용
-            if (questions.isEmpty() && !mappedGenre.equals("common")) {
-                log.warn("사용자 {}의 장르 {}에 대한 질문이 없어 common 장르 질문 사용", userId, mappedGenre);
-                List<QuestionTemplate> commonTemplates = questionTemplateRepository.findRandomByGenre("common", 3);
-                questions = commonTemplates.stream()
-                        .map(QuestionTemplate::getTemplateText)
-                        .collect(Collectors.toList());
-            }
-            
-            log.info("최종 반환 질문 개수: {}개", questions.size());
-            log.info("반환 질문 내용: {}", questions);
-            log.info("=== 질문 조회 완료 ===");
-            
-            log.info("사용자 {}의 티켓 개수: {}개 (3개 이하) - 기존 DB 질문 사용, 장르: {}, 질문 개수: {}", 
-                    userId, ticketCount, mappedGenre, questions.size());
+            questions = sampleTemplates(userId, mappedGenre);
         } else {
-            // 티켓 개수가 3개 이상: 사용자 맞춤 질문 풀에서 랜덤 질문 제공
-            List<UserCustomQuestion> customQuestions = userCustomQuestionRepository.findRandomByUserAndGenre(userId, mappedGenre, 3);
-            
-            if (customQuestions.isEmpty()) {
-                // 맞춤 질문이 없으면 기존 DB 질문 사용
-                List<QuestionTemplate> templates = questionTemplateRepository.findRandomByGenre(mappedGenre, 3);
-                questions = templates.stream()
-                        .map(QuestionTemplate::getTemplateText)
-                        .collect(Collectors.toList());
-                
-                // 해당 장르의 질문이 없으면 common 장르 질문 사용
-                if (questions.isEmpty() && !mappedGenre.equals("common")) {
-                    log.warn("사용자 {}의 장르 {}에 대한 질문이 없어 common 장르 질문 사용", userId, mappedGenre);
-                    List<QuestionTemplate> commonTemplates = questionTemplateRepository.findRandomByGenre("common", 3);
-                    questions = commonTemplates.stream()
-                            .map(QuestionTemplate::getTemplateText)
-                            .collect(Collectors.toList());
-                }
-                
-                log.info("사용자 {}의 맞춤 질문이 없음 - 기존 DB 질문 사용, 장르: {}, 질문 개수: {}", 
-                        userId, mappedGenre, questions.size());
-            } else {
-                questions = customQuestions.stream()
-                        .map(UserCustomQuestion::getTemplateText)
-                        .collect(Collectors.toList());
-                log.info("사용자 {}의 맞춤 질문 {}개 사용", userId, questions.size());
+            // 티켓 개수가 3개 이상: 사용자 맞춤 질문 풀에서 랜덤 질문 제공 (없으면 기존 DB 질문)
+            questions = customQuestionCache.sample(userId, mappedGenre, 3);
+            if (questions.isEmpty()) {
+                questions = sampleTemplates(userId, mappedGenre);
             }
         }
         
+        log.debug("사용자 {}의 질문 조회 - 티켓 {}개, 장르: {}, 질문 {}개", userId, ticketCount, mappedGenre, questions.size());
+        
         // 질문이 하나도 없으면 빈 리스트 반환 (프론트엔드에서 기본 질문 사용)
         if (questions.isEmpty()) {
             log.warn("사용자 {}에게 제공할 질문이 없음 - 빈 리스트 반환", userId);
@@ -149,62 +109,86 @@ public class ReviewQuestionService {
         return questions;
     }
 
+    /** 장르 템플릿에서 뽑고, 해당 장르의 질문이 없으면 common 장르 질문 사용 */
+    private List<String> sampleTemplates(String userId, String mappedGenre) {
+        List<String> questions = questionTemplatePool.sample(mappedGenre, 3);
+        if (questions.isEmpty() && !mappedGenre.equals("common")) {
+            log.warn("사용자 {}의 장르 {}에 대한 질문이 없어 common 장르 질문 사용", userId, mappedGenre);
+            questions = questionTemplatePool.sample("common", 3);
+        }
+        return questions;
+    }
+
+    /** 분석 대상 (트랜잭션 밖에서 쓸 수 있도록 엔티티 대신 값만) */
+    private record AnalysisInput(List<String> reviewTexts, Set<String> genres, List<String> tasteTerms) {}
+
     /**
      * 사용자의 새로 추가된 후기들을 분석하여 맞춤 질문을 생성합니다.
      * 
      * 호출 시점: 사용자의 후기가 3개, 6개, 9개... 이런 식으로 3개씩 늘어날 때마다
+     *          (후기 저장 시 아웃박스에 기록 → ReviewPersonalizationHandler가 백그라운드에서 호출)
+     * 
+     * 트랜잭션을 세 단계로 나눕니다:
+     * 1. 읽기 (짧은 읽기 전용 트랜잭션) 2. OpenAI 호출 (트랜잭션/DB 커넥션 없음) 3. 저장 (짧은 트랜잭션)
+     * OpenAI 호출이 실패하면 예외를 그대로 던져 아웃박스 워커가 재시도합니다.
      * 
      * @param userId 사용자 ID
+     * @param reviewCount 이벤트 발생 시점의 후기 개수
      */
-    @Transactional
-    public void analyzeAndGenerateCustomQuestions(String userId) {
-        // 사용자의 모든 리뷰를 생성 시간 순으로 조회
-        List<Review> allReviews = reviewRepository.findByTicket_User_IdOrderByCreatedAtAsc(userId);
-        
-        if (allReviews.size() < 3) {
+    public void analyzeAndGenerateCustomQuestions(String userId, long reviewCount) {
+        if (reviewCount < 3) {
             log.info("사용자 {}의 리뷰가 3개 미만이므로 분석하지 않음", userId);
             return;
         }
-        
-        // 3개씩 그룹화하여 마지막 그룹(새로 추가된 3개)만 분석
-        int reviewCount = allReviews.size();
-        int groupIndex = (reviewCount - 1) / 3; // 0-based 그룹 인덱스
-        int startIndex = groupIndex * 3;
-        int endIndex = Math.min(startIndex + 3, reviewCount);
-        
-        // 새로 추가된 3개 후기만 추출
-        List<Review> newReviews = allReviews.subList(startIndex, endIndex);
-        
+
+        // 1) 읽기
+        AnalysisInput input = readOnlyTransaction.execute(status -> loadAnalysisInput(userId, reviewCount));
+        if (input == null) {
+            return;
+        }
+
+        // 2) 장르별 맞춤 질문 생성 (DB 커넥션을 잡지 않음)
+        // 선호 키워드는 후기마다 누적된 취향 프로필(TasteProfileService)에서 가져오고,
+        // app.taste.llm-labels가 켜져 있을 때만 OpenAI로 비슷한 단어를 주제로 묶습니다.
+        String favoriteKeywords = llmLabels
+                ? labelTasteTerms(input.tasteTerms())
+                : String.join(",", input.tasteTerms().stream().limit(5).toList());
+        Map<String, List<String>> questionsByGenre = new LinkedHashMap<>();
+        for (String genre : input.genres()) {
+            questionsByGenre.put(genre, generateCustomQuestions(input.reviewTexts(), genre, favoriteKeywords));
+        }
+
+        // 3) 저장
+        transactionTemplate.executeWithoutResult(status ->
+                saveAnalysisResult(userId, questionsByGenre));
+        customQuestionCache.evict(userId);
+    }
+
+    private AnalysisInput loadAnalysisInput(String userId, long reviewCount) {
+        // 3개씩 그룹화하여 해당 그룹(새로 추가된 3개)만 조회 (전체 후기를 불러오지 않음)
+        int groupIndex = (int) ((reviewCount - 1) / 3); // 0-based 그룹 인덱스
+        List<Review> newReviews = reviewRepository.findPageByUserOrderByCreatedAtAsc(
+                userId, PageRequest.of(groupIndex, 3));
+
         if (newReviews.isEmpty()) {
             log.info("사용자 {}의 새로 추가된 후기가 없음", userId);
-            return;
+            return null;
         }
-        
+
         log.info("사용자 {}의 새로 추가된 후기 {}개 분석 시작", userId, newReviews.size());
-        
+
         // 후기 텍스트 추출 (summary 필드 사용)
         List<String> reviewTexts = newReviews.stream()
                 .map(Review::getSummary)
                 .filter(Objects::nonNull)
                 .filter(text -> !text.trim().isEmpty())
                 .collect(Collectors.toList());
-        
+
         if (reviewTexts.isEmpty()) {
             log.warn("사용자 {}의 새로 추가된 후기에 텍스트가 없음", userId);
-            return;
+            return null;
         }
-        
-        // OpenAI를 사용하여 후기 분석 및 키워드 추출
-        String favoriteKeywords = analyzeReviewsAndExtractKeywords(reviewTexts);
-        
-        // 사용자의 favorite 필드 업데이트
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + userId));
-        user.setFavorite(favoriteKeywords);
-        userRepository.save(user);
-        
-        log.info("사용자 {}의 선호 키워드 업데이트: {}", userId, favoriteKeywords);
-        
+
         // 후기들의 장르 추출 (티켓에서 가져옴)
         // DB에 소문자로 저장되어 있으므로 소문자로 변환
         Set<String> genres = newReviews.stream()
@@ -222,56 +206,91 @@ public class ReviewQuestionService {
                         return "common";
                     }
                 })
-                .collect(Collectors.toSet());
-        
-        // 각 장르별로 맞춤 질문 생성
-        for (String genre : genres) {
-            List<String> customQuestions = generateCustomQuestions(reviewTexts, genre, favoriteKeywords);
-            
-            // 생성된 질문들을 DB에 저장
-            for (String questionText : customQuestions) {
-                // 카테고리 추출 (간단한 휴리스틱)
-                String category = extractCategory(questionText);
-                
-                UserCustomQuestion customQuestion = UserCustomQuestion.builder()
-                        .user(user)
-                        .category(category)
-                        .genre(genre)
-                        .templateText(questionText)
-                        .build();
-                
-                userCustomQuestionRepository.save(customQuestion);
-            }
-            
-            log.info("사용자 {}의 장르 {}에 대한 맞춤 질문 {}개 생성 완료", userId, genre, customQuestions.size());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        return new AnalysisInput(reviewTexts, genres, tasteProfileService.topTerms(userId, 15));
+    }
+
+    private void saveAnalysisResult(String userId, Map<String, List<String>> questionsByGenre) {
+        // users.favorite은 TasteProfileService가 후기 저장 시 갱신하므로 여기서는 질문만 저장
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + userId));
+
+        // 생성된 질문들을 장르별로 DB에 저장 (기존 질문과 거의 같은 질문은 제외)
+        LocalDateTime now = LocalDateTime.now();
+        questionsByGenre.forEach((genre, customQuestions) -> {
+            List<UserCustomQuestion> existing = userCustomQuestionRepository.findByUser_IdAndGenre(userId, genre);
+            QuestionDeduplicator.Result dedup = questionDeduplicator.filter(
+                    existing.stream().map(UserCustomQuestion::getTemplateText).collect(Collectors.toList()),
+                    customQuestions);
+
+            // 다시 생성된 기존 질문은 최근 사용으로 표시 (변경 감지로 반영)
+            dedup.matchedExisting().forEach(i -> existing.get(i).setLastUsedAt(now));
+
+            List<UserCustomQuestion> created = dedup.unique().stream()
+                    .map(questionText -> UserCustomQuestion.builder()
+                            .user(user)
+                            .category(extractCategory(questionText)) // 카테고리 추출 (간단한 휴리스틱)
+                            .genre(genre)
+                            .templateText(questionText)
+                            .lastUsedAt(now)
+                            .build())
+                    .collect(Collectors.toList());
+            userCustomQuestionRepository.saveAll(created);
+
+            int evicted = evictLeastRecentlyUsed(existing, created.size());
+
+            log.info("사용자 {}의 장르 {}에 대한 맞춤 질문 {}개 생성 완료 (중복 제외 {}개, 오래된 질문 삭제 {}개)",
+                    userId, genre, created.size(), customQuestions.size() - created.size(), evicted);
+        });
+    }
+
+    /**
+     * 사용자/장르별 맞춤 질문이 상한(app.question-dedup.max-per-genre)을 넘으면
+     * 가장 오래 쓰이지 않은 기존 질문부터 삭제합니다.
+     */
+    private int evictLeastRecentlyUsed(List<UserCustomQuestion> existing, int added) {
+        int overflow = existing.size() + added - maxQuestionsPerGenre;
+        if (overflow <= 0) {
+            return 0;
         }
+        List<UserCustomQuestion> victims = existing.stream()
+                .sorted(Comparator.comparing(
+                        (UserCustomQuestion q) -> q.getLastUsedAt() != null ? q.getLastUsedAt() : q.getCreatedAt(),
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .limit(Math.min(overflow, existing.size()))
+                .collect(Collectors.toList());
+        userCustomQuestionRepository.deleteAll(victims);
+        return victims.size();
     }
 
     /**
-     * 후기들을 분석하여 주요 키워드를 추출합니다.
+     * 취향 프로필의 상위 단어들을 OpenAI로 3~5개 주제 키워드로 묶습니다. (선택 기능)
      * 
-     * @param reviewTexts 후기 텍스트 목록
+     * 실패해도 질문 생성은 계속할 수 있으므로 단어 목록을 그대로 사용합니다.
+     * 
+     * @param tasteTerms 가중치가 높은 순서의 단어 목록
      * @return 쉼표로 구분된 키워드 문자열 (예: "연기,음악,무대연출,스토리")
      */
-    private String analyzeReviewsAndExtractKeywords(List<String> reviewTexts) {
-        String combinedReviews = String.join("\n\n", reviewTexts);
+    private String labelTasteTerms(List<String> tasteTerms) {
+        String fallback = String.join(",", tasteTerms.stream().limit(5).toList());
+        if (tasteTerms.isEmpty()) {
+            return fallback;
+        }
         
         String systemPrompt = """
             당신은 공연 후기를 분석하는 전문가입니다.
-            사용자가 작성한 후기들을 분석하여 주요 키워드를 추출해주세요.
-            키워드는 3~5개 정도로 추출하고, 쉼표로 구분하여 반환해주세요.
+            사용자의 후기에서 자주 나온 단어들을 비슷한 것끼리 묶어 주제 키워드로 정리해주세요.
+            키워드는 3~5개 정도로 만들고, 쉼표로 구분하여 반환해주세요.
             예시: "연기,음악,무대연출,스토리,감동"
             """;
         
         String userPrompt = String.format("""
-            다음은 사용자가 작성한 공연 후기들입니다.
-            이 후기들에서 가장 자주 언급되거나 중요한 주제를 키워드로 추출해주세요.
-            
-            후기들:
+            다음은 사용자의 후기에서 자주 나온 단어들입니다. (중요한 순서)
             %s
             
             키워드만 쉼표로 구분하여 반환해주세요.
-            """, combinedReviews);
+            """, String.join(", ", tasteTerms));
         
         try {
             String response = openAIChatService.complete(systemPrompt, userPrompt);
@@ -281,11 +300,11 @@ public class ReviewQuestionService {
                     .replaceAll("[^가-힣,]+$", "") // 뒤의 불필요한 텍스트 제거
                     .replaceAll("\\s+", ""); // 공백 제거
             
-            log.info("추출된 키워드: {}", keywords);
-            return keywords;
+            log.info("취향 단어 라벨링 결과: {}", keywords);
+            return keywords.isEmpty() ? fallback : keywords;
         } catch (Exception e) {
-            log.error("키워드 추출 실패: {}", e.getMessage(), e);
-            return "일반";
+            log.warn("취향 단어 라벨링 실패, 단어 목록을 그대로 사용: {}", e.getMessage());
+            return fallback;
         }
     }
 
@@ -339,8 +358,8 @@ public class ReviewQuestionService {
             log.info("생성된 맞춤 질문 {}개: {}", result.size(), result);
             return result;
         } catch (Exception e) {
-            log.error("맞춤 질문 생성 실패: {}", e.getMessage(), e);
-            return Collections.emptyList();
+            // 아웃박스 워커가 재시도하도록 실패를 그대로 알림
+            throw new IllegalStateException("맞춤 질문 생성 실패: " + e.getMessage(), e);
         }
     }
 
@@ -1,5 +1,7 @@
 package com.example.record.review.service;
 
+import com.example.record.outbox.OutboxPublisher;
+import com.example.record.recommend.RecommendationService;
 import com.example.record.review.dto.request.ReviewCreateRequest;
 import com.example.record.review.dto.request.ReviewUpdateRequest;
 import com.example.record.review.dto.response.ReviewCreateResponse;
@@ -11,13 +13,29 @@ import com.example.record.review.entity.Ticket;
 import com.example.record.review.repository.QuestionTemplateRepository;
 import com.example.record.review.repository.ReviewRepository;
 import com.example.record.review.repository.TicketRepository;
+import com.example.record.search.SearchIndexService;
+import com.example.record.storage.ImageVariantService;
+import com.example.record.taste.TasteProfileService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -26,7 +44,11 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final TicketRepository ticketRepository;
     private final QuestionTemplateRepository questionTemplateRepository;
-    private final ReviewQuestionService reviewQuestionService;
+    private final OutboxPublisher outboxPublisher;
+    private final ImageVariantService imageVariantService;
+    private final TasteProfileService tasteProfileService;
+    private final SearchIndexService searchIndexService;
+    private final RecommendationService recommendationService;
 
     @Transactional
     public ReviewCreateResponse createReview(ReviewCreateRequest request) {
@@ -39,25 +61,13 @@ public class ReviewService {
                 .keywords(request.getKeywords())
                 .build();
 
-        if (request.getQuestions() != null) {
+        if (request.getQuestions() != null && !request.getQuestions().isEmpty()) {
+            // 템플릿은 질문마다 findById하지 않고 한 번에 조회
+            Map<Long, QuestionTemplate> templates = loadTemplates(request.getQuestions().stream()
+                    .map(ReviewCreateRequest.QuestionDTO::getTemplateId).toList());
             for (var dto : request.getQuestions()) {
-                /**
-                 * 질문 템플릿 조회 및 설정
-                 * 
-                 * 변경 사항:
-                 * - templateId(Long) → template(QuestionTemplate 객체)로 변경
-                 * - 이유: ReviewQuestion 엔티티에서 templateId 필드를 QuestionTemplate 객체로 변경했기 때문
-                 * 
-                 * 이렇게 하면:
-                 * 1. 데이터 무결성 보장: 존재하지 않는 템플릿 ID로 질문을 만들 수 없음
-                 * 2. 조인 쿼리 가능: 템플릿 정보와 함께 질문을 조회할 수 있음
-                 * 3. 객체지향 설계: question.getTemplate().getTemplateText()로 자연스럽게 접근 가능
-                 */
-                QuestionTemplate template = questionTemplateRepository.findById(dto.getTemplateId())
-                        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 질문 템플릿입니다: id=" + dto.getTemplateId()));
-                
                 ReviewQuestion q = ReviewQuestion.builder()
-                        .template(template)  // templateId → template으로 변경
+                        .template(templates.get(dto.getTemplateId()))
                         .displayOrder(dto.getDisplayOrder())
                         .customText(dto.getCustomText())
                         .build();
@@ -66,24 +76,25 @@ public class ReviewService {
         }
 
         Review saved = reviewRepository.save(review);
+        searchIndexService.indexReview(saved);
+
+        // 취향 프로필에 이번 후기의 단어/장르를 누적 (로컬 토큰화만 하므로 요청 안에서 처리)
+        tasteProfileService.recordReview(ticket.getUser(), ticket.getGenre(), saved.getSummary(), saved.getKeywords());
         
         // 후기 생성 후, 사용자의 후기 개수를 확인하여 맞춤 질문 생성 여부 결정
         // 3개, 6개, 9개... 이런 식으로 3개씩 늘어날 때마다 분석
+        // 이유: 분석은 OpenAI를 두 번 이상 호출하므로 요청 안에서 하지 않고,
+        //      같은 트랜잭션에 아웃박스 이벤트만 기록해 OutboxWorker가 나중에 처리합니다.
         String userId = ticket.getUser().getId();
-        long reviewCount = reviewRepository.findByTicket_User_IdOrderByCreatedAtAsc(userId).size();
-        
-        // 3개, 6개, 9개... 이런 식으로 3개씩 늘어날 때마다 분석
+        long reviewCount = reviewRepository.countByTicket_User_Id(userId);
+
         if (reviewCount % 3 == 0 && reviewCount >= 3) {
-            log.info("사용자 {}의 후기 개수가 {}개가 되어 맞춤 질문 생성 시작", userId, reviewCount);
-            try {
-                // 비동기로 실행하여 응답 지연 방지 (선택적)
-                reviewQuestionService.analyzeAndGenerateCustomQuestions(userId);
-            } catch (Exception e) {
-                log.error("맞춤 질문 생성 중 오류 발생: {}", e.getMessage(), e);
-                // 오류가 발생해도 후기 생성은 성공한 것으로 처리
-            }
+            log.info("사용자 {}의 후기 개수가 {}개가 되어 맞춤 질문 생성 요청", userId, reviewCount);
+            outboxPublisher.publish(ReviewPersonalizationHandler.EVENT_TYPE, userId,
+                    ReviewPersonalizationHandler.jobKey(userId, saved.getId()),
+                    new ReviewPersonalizationHandler.Payload(reviewCount));
         }
-        
+
         return ReviewCreateResponse.builder()
                 .reviewId(saved.getId())
                 .createdAt(saved.getCreatedAt())
@@ -99,21 +110,25 @@ public class ReviewService {
      * - JPA는 객체 관계를 통해 쿼리를 생성하므로, user.id로 접근해야 합니다.
      */
     public Page<ReviewListItemResponse> getMyReviews(String userId, Pageable pageable) {
-        return reviewRepository.findByTicket_User_Id(userId, pageable)
+        Page<Review> reviews = reviewRepository.findByTicket_User_Id(userId, pageable);
+        imageVariantService.prefetch(reviews.getContent().stream().map(r -> r.getTicket().getImageUrl()).toList());
+        return reviews
                 .map(r -> ReviewListItemResponse.builder()
                         .reviewId(r.getId())
                         .ticketId(r.getTicket().getId())
                         .summary(r.getSummary())
                         .keywords(r.getKeywords())
                         .ticketImageUrl(r.getTicket().getImageUrl())
+                        .ticketThumbnailUrl(imageVariantService.variantUrls(r.getTicket().getImageUrl()).thumbnailUrl())
                         .performanceTitle(r.getTicket().getPerformanceTitle())
                         .createdAt(r.getCreatedAt())
+                        .version(r.getVersion())
                         .build());
     }
 
     @Transactional
     public void updateReview(Long reviewId, String requesterUserId, ReviewUpdateRequest req) {
-        Review review = reviewRepository.findById(reviewId)
+        Review review = reviewRepository.findForUpdateById(reviewId)
                 .orElseThrow(() -> new IllegalArgumentException("리뷰가 없습니다. id=" + reviewId));
 
         /**
@@ -127,32 +142,32 @@ public class ReviewService {
         if (!owner.equals(requesterUserId)) {
             throw new SecurityException("본인 리뷰만 수정 가능합니다.");
         }
+        if (req.getVersion() != null && !req.getVersion().equals(review.getVersion())) {
+            throw new OptimisticLockingFailureException("다른 곳에서 먼저 수정된 리뷰입니다. 다시 불러온 뒤 수정해 주세요.");
+        }
+
+        String oldSummary = review.getSummary();
+        String oldKeywords = review.getKeywords();
 
-        if (req.getSummary() != null) review.setSummary(req.getSummary());
+        if (req.getSummary() != null && !Objects.equals(req.getSummary(), review.getSummary())) {
+            review.setSummary(req.getSummary());
+            // 요약이 바뀌면 임베딩을 비워 다음 배치에서 다시 계산
+            recommendationService.onReviewSummaryChanged(reviewId);
+        }
         if (req.getKeywords() != null) review.setKeywords(req.getKeywords());
 
         if (req.getQuestions() != null) {
-            review.getQuestions().clear();
-            if (!req.getQuestions().isEmpty()) {
-                for (var qdto : req.getQuestions()) {
-                    /**
-                     * 질문 템플릿 조회 및 설정 (리뷰 수정 시)
-                     * 
-                     * createReview와 동일한 로직을 적용합니다.
-                     * templateId → template 객체로 변경하여 데이터 무결성을 보장합니다.
-                     */
-                    QuestionTemplate template = questionTemplateRepository.findById(qdto.getTemplateId())
-                            .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 질문 템플릿입니다: id=" + qdto.getTemplateId()));
-                    
-                    ReviewQuestion q = ReviewQuestion.builder()
-                            .template(template)  // templateId → template으로 변경
-                            .displayOrder(qdto.getDisplayOrder())
-                            .customText(qdto.getCustomText())
-                            .build();
-                    review.addQuestion(q);
-                }
-            }
+            syncQuestions(review, req.getQuestions());
         }
+
+        // 취향 프로필: 이전 내용의 기여를 빼고 새 내용을 더함
+        if (!Objects.equals(oldSummary, review.getSummary()) || !Objects.equals(oldKeywords, review.getKeywords())) {
+            tasteProfileService.updateReview(review.getTicket().getUser(), oldSummary, oldKeywords,
+                    review.getSummary(), review.getKeywords(),
+                    reviewRepository.countByTicket_User_IdAndIdGreaterThan(owner, reviewId));
+        }
+
+        searchIndexService.indexReview(review);
     }
 
     @Transactional
@@ -169,6 +184,93 @@ public class ReviewService {
         if (!review.getTicket().getUser().getId().equals(requesterUserId)) {
             throw new SecurityException("본인 리뷰만 삭제 가능합니다.");
         }
+        tasteProfileService.removeReview(review.getTicket().getUser(), review.getTicket().getGenre(),
+                review.getSummary(), review.getKeywords(),
+                reviewRepository.countByTicket_User_IdAndIdGreaterThan(requesterUserId, reviewId));
         reviewRepository.delete(review);
+        searchIndexService.removeReview(reviewId);
+        recommendationService.onReviewDeleted(reviewId);
+    }
+
+    /**
+     * 리뷰의 질문 목록을 요청 내용과 같게 맞춥니다.
+     *
+     * 예전에는 질문을 모두 지우고 다시 넣어, 요약만 고쳐도 질문 수만큼 DELETE + INSERT가 나갔습니다.
+     * 이제 바뀐 것만 반영합니다. (배치로 묶여 전송됨)
+     * 1. (템플릿, 표시 순서)가 같은 기존 질문은 그대로 두고 customText가 다를 때만 UPDATE
+     * 2. 남은 요청 중 템플릿이 같은 기존 질문이 남아 있으면 순서/내용만 UPDATE (순서 변경)
+     * 3. 그래도 남은 요청은 INSERT, 짝이 없는 기존 질문은 DELETE (orphanRemoval)
+     */
+    void syncQuestions(Review review, List<ReviewUpdateRequest.QuestionDTO> incoming) {
+        Map<QuestionKey, Deque<ReviewQuestion>> byKey = new HashMap<>();
+        for (ReviewQuestion q : review.getQuestions()) {
+            byKey.computeIfAbsent(new QuestionKey(q.getTemplate().getId(), q.getDisplayOrder()),
+                    k -> new ArrayDeque<>()).add(q);
+        }
+
+        Set<ReviewQuestion> kept = new HashSet<>();
+        List<ReviewUpdateRequest.QuestionDTO> unmatched = new ArrayList<>();
+        for (var dto : incoming) {
+            Deque<ReviewQuestion> same = byKey.get(new QuestionKey(dto.getTemplateId(), dto.getDisplayOrder()));
+            ReviewQuestion match = same == null ? null : same.poll();
+            if (match == null) {
+                unmatched.add(dto);
+                continue;
+            }
+            kept.add(match);
+            match.setCustomText(dto.getCustomText()); // 값이 같으면 Hibernate가 UPDATE하지 않음
+        }
+
+        Map<Long, Deque<ReviewQuestion>> leftoverByTemplate = new HashMap<>();
+        byKey.values().forEach(left -> left.forEach(q ->
+                leftoverByTemplate.computeIfAbsent(q.getTemplate().getId(), k -> new ArrayDeque<>()).add(q)));
+        List<ReviewUpdateRequest.QuestionDTO> added = new ArrayList<>();
+        for (var dto : unmatched) {
+            Deque<ReviewQuestion> sameTemplate = leftoverByTemplate.get(dto.getTemplateId());
+            ReviewQuestion moved = sameTemplate == null ? null : sameTemplate.poll();
+            if (moved == null) {
+                added.add(dto);
+                continue;
+            }
+            kept.add(moved);
+            moved.setDisplayOrder(dto.getDisplayOrder());
+            moved.setCustomText(dto.getCustomText());
+        }
+
+        review.getQuestions().removeIf(q -> !kept.contains(q));
+
+        if (!added.isEmpty()) {
+            Map<Long, QuestionTemplate> templates = loadTemplates(added.stream()
+                    .map(ReviewUpdateRequest.QuestionDTO::getTemplateId).toList());
+            for (var dto : added) {
+                review.addQuestion(ReviewQuestion.builder()
+                        .template(templates.get(dto.getTemplateId()))
+                        .displayOrder(dto.getDisplayOrder())
+                        .customText(dto.getCustomText())
+                        .build());
+            }
+        }
+    }
+
+    private record QuestionKey(Long templateId, Integer displayOrder) {}
+
+    /**
+     * 질문 템플릿을 한 번의 IN 쿼리로 조회합니다.
+     *
+     * @throws IllegalArgumentException 존재하지 않는 템플릿 id가 있을 때
+     */
+    private Map<Long, QuestionTemplate> loadTemplates(List<Long> templateIds) {
+        if (templateIds.contains(null)) {
+            throw new IllegalArgumentException("질문 템플릿 id가 없습니다.");
+        }
+        Set<Long> ids = new HashSet<>(templateIds);
+        Map<Long, QuestionTemplate> templates = questionTemplateRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(QuestionTemplate::getId, Function.identity()));
+        for (Long id : ids) {
+            if (!templates.containsKey(id)) {
+                throw new IllegalArgumentException("존재하지 않는 질문 템플릿입니다: id=" + id);
+            }
+        }
+        return templates;
     }
-}
\ No newline at end of file
+}
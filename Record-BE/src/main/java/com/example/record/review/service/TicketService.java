@@ -0,0 +1,53 @@
+package com.example.record.review.service;
+
+import com.example.record.review.entity.Ticket;
+import com.example.record.review.entity.TicketChangedEvent;
+import com.example.record.review.repository.TicketRepository;
+import com.example.record.search.SearchIndexService;
+import com.example.record.storage.ImageVariantService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 티켓 저장/삭제
+ *
+ * 티켓 행과 검색 문서를 한 트랜잭션에서 씁니다.
+ * 예전에는 컨트롤러에서 각각 따로 커밋되어, 중간에 실패하면 검색 결과에 없는 티켓이 보이거나
+ * 삭제된 티켓이 검색되는 일이 있었습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketService {
+
+    private final TicketRepository ticketRepository;
+    private final SearchIndexService searchIndexService;
+    private final ImageVariantService imageVariantService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 티켓 생성/수정 저장
+     *
+     * @param imageChanged 이미지가 새로 지정되었으면 true (썸네일/중간 크기 생성 예약)
+     */
+    @Transactional
+    public Ticket save(Ticket ticket, boolean imageChanged) {
+        Ticket saved = ticketRepository.save(ticket);
+        searchIndexService.indexTicket(saved);
+        if (imageChanged) {
+            // 목록 화면이 원본 대신 썸네일을 받을 수 있도록 파생 이미지 생성 예약 (백그라운드 스레드가 처리)
+            imageVariantService.requestVariants(saved.getImageUrl());
+        }
+        eventPublisher.publishEvent(new TicketChangedEvent(saved.getUser().getId()));
+        return saved;
+    }
+
+    /** 티켓과 그 티켓의 검색 문서(티켓/리뷰) 삭제 */
+    @Transactional
+    public void delete(Ticket ticket) {
+        ticketRepository.delete(ticket);
+        searchIndexService.removeTicket(ticket.getId());
+        eventPublisher.publishEvent(new TicketChangedEvent(ticket.getUser().getId()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.record.search;
+
+import com.example.record.auth.security.AuthUser;
+import com.example.record.common.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 티켓/리뷰 검색 컨트롤러
+ *
+ * GET /search?q=오페라&scope=all&page=0&size=20
+ * scope: me(내 것), friends(친구 공개), public(전체 공개), all(내 것 + 공개, 기본값)
+ */
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<SearchPage>> search(
+            @AuthenticationPrincipal AuthUser authUser,
+            @RequestParam("q") String keyword,
+            @RequestParam(defaultValue = "all") String scope,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if (authUser == null) {
+            return ResponseEntity.status(401)
+                    .body(new ApiResponse<>(false, null, "로그인이 필요합니다."));
+        }
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(
+                    true,
+                    searchService.search(authUser.getId(), keyword, scope, page, size),
+                    "검색 성공"
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+}
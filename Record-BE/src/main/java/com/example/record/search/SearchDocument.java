@@ -0,0 +1,69 @@
+package com.example.record.search;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 검색 문서 (티켓 또는 리뷰 하나)
+ *
+ * 테이블 구조만 이 엔티티로 관리합니다. (ddl-auto)
+ * 쓰기는 SearchIndexService가 UPSERT 한 문장으로, 검색은 SearchService가 전문 검색 쿼리로 합니다.
+ * tokens의 GIN 인덱스는 식 인덱스라 JPA로 표현할 수 없어 db/search-indexes.sql에서 만듭니다.
+ */
+@Entity
+@Table(name = "search_documents", indexes = {
+        @Index(name = "idx_search_documents_owner", columnList = "owner_id"),
+        @Index(name = "idx_search_documents_ticket", columnList = "ticket_id")
+})
+@IdClass(SearchDocument.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchDocument {
+
+    /** TICKET 또는 REVIEW */
+    @Id
+    @Column(name = "doc_type", length = 10)
+    private String docType;
+
+    /** 티켓 ID 또는 리뷰 ID */
+    @Id
+    @Column(name = "source_id")
+    private Long sourceId;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Column(name = "owner_id", length = 15, nullable = false)
+    private String ownerId;
+
+    @Column(name = "is_public", nullable = false)
+    private Boolean isPublic;
+
+    @Column(name = "title", length = 100)
+    private String title;
+
+    @Column(name = "snippet", columnDefinition = "TEXT")
+    private String snippet;
+
+    /** SearchTokenizer가 만든 토큰 (공백 구분) */
+    @Column(name = "tokens", columnDefinition = "TEXT", nullable = false)
+    private String tokens;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String docType;
+        private Long sourceId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.record.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 결과 한 건
+ *
+ * @param type     TICKET 또는 REVIEW
+ * @param id       티켓 id 또는 리뷰 id
+ * @param ticketId 문서가 속한 티켓 id (REVIEW면 리뷰의 티켓)
+ * @param ownerId  작성자 id
+ * @param title    공연 제목
+ * @param snippet  본문 앞부분 (후기 글 또는 리뷰 요약)
+ * @param score    관련도 (클수록 관련 높음)
+ */
+public record SearchHitResponse(
+        String type,
+        Long id,
+        Long ticketId,
+        String ownerId,
+        String title,
+        String snippet,
+        double score,
+        LocalDateTime createdAt
+) {}
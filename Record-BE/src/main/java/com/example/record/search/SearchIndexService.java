@@ -0,0 +1,158 @@
+package com.example.record.search;
+
+import com.example.record.review.entity.Review;
+import com.example.record.review.entity.Ticket;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검색 색인 (search_documents 테이블)
+ *
+ * 티켓(제목, 공연장, 후기 글)과 리뷰(요약, 키워드, 티켓 제목)를 문서 하나씩으로 색인합니다.
+ * 티켓/리뷰를 생성·수정·삭제할 때 해당 문서 한 행만 UPSERT/DELETE 하므로 전체 재색인이 필요 없습니다.
+ *
+ * 검색은 to_tsvector('simple', tokens)의 GIN 인덱스를 사용합니다. (토큰 규칙은 SearchTokenizer 참고)
+ * 테이블은 SearchDocument 엔티티로, GIN 인덱스는 db/search-indexes.sql로 만듭니다.
+ * 색인은 티켓/리뷰 쓰기와 같은 트랜잭션에서 호출하여, 롤백되면 색인도 함께 되돌아갑니다.
+ * 리뷰 문서도 티켓의 소유자/공개 여부를 함께 저장하여 조인 없이 범위를 거를 수 있게 합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService {
+
+    static final String TICKET = "TICKET";
+    static final String REVIEW = "REVIEW";
+
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int BACKFILL_BATCH = 500;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO search_documents
+                (doc_type, source_id, ticket_id, owner_id, is_public, title, snippet, tokens, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (doc_type, source_id) DO UPDATE
+               SET ticket_id = EXCLUDED.ticket_id,
+                   owner_id = EXCLUDED.owner_id,
+                   is_public = EXCLUDED.is_public,
+                   title = EXCLUDED.title,
+                   snippet = EXCLUDED.snippet,
+                   tokens = EXCLUDED.tokens
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 티켓 생성/수정 시 호출 (제목·공개 여부가 바뀌면 그 티켓의 리뷰 문서에도 반영) */
+    public void indexTicket(Ticket ticket) {
+        String ownerId = ticket.getUser().getId();
+        boolean isPublic = Boolean.TRUE.equals(ticket.getIsPublic());
+        upsert(TICKET, ticket.getId(), ticket.getId(), ownerId, isPublic,
+                ticket.getPerformanceTitle(), ticket.getReviewText(), ticket.getCreatedAt(),
+                SearchTokenizer.documentTokens(ticket.getPerformanceTitle(), ticket.getTheater(), ticket.getReviewText()));
+
+        jdbcTemplate.update("UPDATE search_documents SET owner_id = ?, is_public = ?, title = ? " +
+                        "WHERE doc_type = ? AND ticket_id = ?",
+                ownerId, isPublic, truncate(ticket.getPerformanceTitle(), 100), REVIEW, ticket.getId());
+    }
+
+    /** 리뷰 생성/수정 시 호출 */
+    public void indexReview(Review review) {
+        Ticket ticket = review.getTicket();
+        upsert(REVIEW, review.getId(), ticket.getId(), ticket.getUser().getId(),
+                Boolean.TRUE.equals(ticket.getIsPublic()),
+                ticket.getPerformanceTitle(), review.getSummary(), review.getCreatedAt(),
+                SearchTokenizer.documentTokens(ticket.getPerformanceTitle(), review.getSummary(), review.getKeywords()));
+    }
+
+    public void removeReview(Long reviewId) {
+        jdbcTemplate.update("DELETE FROM search_documents WHERE doc_type = ? AND source_id = ?", REVIEW, reviewId);
+    }
+
+    /** 티켓 삭제 시 호출 (티켓과 그 리뷰 문서 모두 삭제) */
+    public void removeTicket(Long ticketId) {
+        jdbcTemplate.update("DELETE FROM search_documents WHERE ticket_id = ?", ticketId);
+    }
+
+    /** 회원탈퇴 시 호출 (사용자의 티켓/리뷰 문서 모두 삭제) */
+    public void removeUser(String userId) {
+        jdbcTemplate.update("DELETE FROM search_documents WHERE owner_id = ?", userId);
+    }
+
+    /** 검색 기능 도입 전 데이터 색인 (색인이 비어 있을 때만, id 순으로 나눠서) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Boolean empty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM search_documents)", Boolean.class);
+        if (!Boolean.TRUE.equals(empty)) {
+            return;
+        }
+
+        int tickets = 0;
+        long lastId = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList(
+                    "SELECT id, user_id, performance_title, theater, review_text, is_public, created_at " +
+                            "FROM tickets WHERE id > ? ORDER BY id LIMIT ?", lastId, BACKFILL_BATCH);
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("id")).longValue();
+                String title = (String) row.get("performance_title");
+                String reviewText = (String) row.get("review_text");
+                upsert(TICKET, lastId, lastId, (String) row.get("user_id"),
+                        Boolean.TRUE.equals(row.get("is_public")), title, reviewText, toLocalDateTime(row.get("created_at")),
+                        SearchTokenizer.documentTokens(title, (String) row.get("theater"), reviewText));
+                tickets++;
+            }
+        } while (rows.size() == BACKFILL_BATCH);
+
+        int reviews = 0;
+        lastId = 0;
+        do {
+            rows = jdbcTemplate.queryForList(
+                    "SELECT r.id, r.ticket_id, r.summary, r.keywords, r.created_at, " +
+                            "t.user_id, t.performance_title, t.is_public " +
+                            "FROM reviews r JOIN tickets t ON t.id = r.ticket_id " +
+                            "WHERE r.id > ? ORDER BY r.id LIMIT ?", lastId, BACKFILL_BATCH);
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("id")).longValue();
+                String title = (String) row.get("performance_title");
+                String summary = (String) row.get("summary");
+                upsert(REVIEW, lastId, ((Number) row.get("ticket_id")).longValue(), (String) row.get("user_id"),
+                        Boolean.TRUE.equals(row.get("is_public")), title, summary, toLocalDateTime(row.get("created_at")),
+                        SearchTokenizer.documentTokens(title, summary, (String) row.get("keywords")));
+                reviews++;
+            }
+        } while (rows.size() == BACKFILL_BATCH);
+
+        if (tickets + reviews > 0) {
+            log.info("검색 색인 초기화: 티켓 {}건, 리뷰 {}건", tickets, reviews);
+        }
+    }
+
+    private void upsert(String docType, Long sourceId, Long ticketId, String ownerId, boolean isPublic,
+                        String title, String body, LocalDateTime createdAt, String tokens) {
+        jdbcTemplate.update(UPSERT_SQL, docType, sourceId, ticketId, ownerId, isPublic,
+                truncate(title, 100), truncate(body, SNIPPET_LENGTH), tokens,
+                createdAt != null ? Timestamp.valueOf(createdAt) : null);
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp ts ? ts.toLocalDateTime() : null;
+    }
+
+    private static String truncate(String text, int max) {
+        if (text == null) {
+            return null;
+        }
+        return text.length() <= max ? text : text.substring(0, max);
+    }
+}
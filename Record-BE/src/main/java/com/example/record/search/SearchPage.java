@@ -0,0 +1,15 @@
+package com.example.record.search;
+
+import java.util.List;
+
+/**
+ * 검색 결과 한 페이지 (관련도순이라 커서 대신 page 번호를 사용)
+ *
+ * @param hasNext 다음 페이지가 있으면 true
+ */
+public record SearchPage(List<SearchHitResponse> items, int page, int size, boolean hasNext) {
+
+    public static SearchPage empty(int page, int size) {
+        return new SearchPage(List.of(), page, size, false);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.record.search;
+
+import com.example.record.user.FriendGraphService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 티켓/리뷰 검색
+ *
+ * 검색어를 SearchTokenizer로 tsquery로 만들고 GIN 인덱스로 후보를 찾은 뒤 ts_rank로 정렬합니다.
+ * (LIKE '%검색어%'처럼 테이블 전체를 훑지 않음)
+ *
+ * 검색 범위(scope):
+ * - me: 내 티켓/리뷰
+ * - friends: 친구의 공개 티켓/리뷰
+ * - public: 전체 공개 티켓/리뷰
+ * - all(기본): 내 것 + 공개된 것
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final int MAX_SIZE = 50;
+    private static final int MAX_PAGE = 100;
+
+    private static final String SEARCH_SQL = """
+            SELECT d.doc_type, d.source_id, d.ticket_id, d.owner_id, d.title, d.snippet, d.created_at,
+                   ts_rank(to_tsvector('simple', d.tokens), q.query) AS score
+              FROM search_documents d, to_tsquery('simple', :query) AS q(query)
+             WHERE to_tsvector('simple', d.tokens) @@ q.query
+               AND %s
+             ORDER BY score DESC, d.created_at DESC, d.source_id DESC
+             LIMIT :limit OFFSET :offset
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final FriendGraphService friendGraphService;
+
+    public SearchPage search(String userId, String keyword, String scope, int page, int size) {
+        int safeSize = Math.max(1, Math.min(size, MAX_SIZE));
+        int safePage = Math.max(0, Math.min(page, MAX_PAGE));
+
+        String query = SearchTokenizer.query(keyword);
+        if (query == null) {
+            return SearchPage.empty(safePage, safeSize);
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("userId", userId)
+                .addValue("limit", safeSize + 1)
+                .addValue("offset", safePage * safeSize);
+
+        String condition;
+        switch (scope == null ? "all" : scope.toLowerCase(Locale.ROOT)) {
+            case "me" -> condition = "d.owner_id = :userId";
+            case "friends" -> {
+                Set<String> friendIds = friendGraphService.friendIds(userId);
+                if (friendIds.isEmpty()) {
+                    return SearchPage.empty(safePage, safeSize);
+                }
+                params.addValue("friendIds", friendIds);
+                condition = "d.owner_id IN (:friendIds) AND d.is_public = true";
+            }
+            case "public" -> condition = "d.is_public = true";
+            case "all" -> condition = "(d.owner_id = :userId OR d.is_public = true)";
+            default -> throw new IllegalArgumentException("scope는 me, friends, public, all 중 하나여야 합니다.");
+        }
+
+        List<SearchHitResponse> hits = jdbcTemplate.query(SEARCH_SQL.formatted(condition), params,
+                (rs, rowNum) -> {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    return new SearchHitResponse(
+                            rs.getString("doc_type"),
+                            rs.getLong("source_id"),
+                            rs.getLong("ticket_id"),
+                            rs.getString("owner_id"),
+                            rs.getString("title"),
+                            rs.getString("snippet"),
+                            rs.getDouble("score"),
+                            createdAt != null ? createdAt.toLocalDateTime() : null);
+                });
+
+        boolean hasNext = hits.size() > safeSize;
+        return new SearchPage(hasNext ? hits.subList(0, safeSize) : hits, safePage, safeSize, hasNext);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.record.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 검색용 토큰 생성
+ *
+ * 한국어는 띄어쓰기/조사 때문에 단어 단위로 색인하면 "연출이"로 "연출"을 찾을 수 없습니다.
+ * 그래서 한글이 들어간 단어는 글자 2-gram으로 나눠 색인합니다. ("무대연출" → 무대 대연 연출)
+ * 영문/숫자 단어는 그대로 색인하고, 검색 시 접두어 일치(:*)로 찾습니다.
+ *
+ * 만든 토큰은 공백으로 이어 search_documents.tokens에 저장하고
+ * to_tsvector('simple', tokens)의 GIN 인덱스로 검색합니다.
+ */
+final class SearchTokenizer {
+
+    /** tokens 컬럼 최대 길이 (긴 후기도 앞부분만 색인) */
+    private static final int MAX_TOKENS_LENGTH = 20_000;
+
+    private SearchTokenizer() {
+    }
+
+    /** 색인할 문서 텍스트 → 토큰 문자열 */
+    static String documentTokens(String... texts) {
+        StringBuilder sb = new StringBuilder();
+        for (String text : texts) {
+            for (String word : words(text)) {
+                for (String token : tokens(word)) {
+                    if (sb.length() + token.length() + 1 > MAX_TOKENS_LENGTH) {
+                        return sb.toString();
+                    }
+                    if (!sb.isEmpty()) {
+                        sb.append(' ');
+                    }
+                    sb.append(token);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 검색어 → to_tsquery('simple', ...) 식 (모든 토큰이 들어간 문서만)
+     *
+     * 토큰은 글자/숫자로만 이루어지므로 tsquery 특수문자가 섞이지 않습니다.
+     *
+     * @return 검색할 토큰이 없으면 null
+     */
+    static String query(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : words(text)) {
+            boolean prefix = word.codePointCount(0, word.length()) == 1 || !containsHangul(word);
+            for (String token : tokens(word)) {
+                terms.add(prefix ? token + ":*" : token);
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return words;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static List<String> tokens(String word) {
+        if (!containsHangul(word)) {
+            return List.of(word);
+        }
+        int[] cps = word.codePoints().toArray();
+        if (cps.length == 1) {
+            return List.of(word);
+        }
+        List<String> bigrams = new ArrayList<>(cps.length - 1);
+        for (int i = 0; i + 1 < cps.length; i++) {
+            bigrams.add(new String(cps, i, 2));
+        }
+        return bigrams;
+    }
+
+    private static boolean containsHangul(String word) {
+        return word.codePoints().anyMatch(c -> Character.UnicodeScript.of(c) == Character.UnicodeScript.HANGUL);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.record.storage;
+
+/**
+ * blob의 마지막 참조가 해제됨 (ContentAddressedBlobStore.release가 발행)
+ *
+ * 트랜잭션 커밋 후 저장소 객체와 파생 이미지를 삭제하는 데 사용합니다.
+ *
+ * @param hash       내용의 SHA-256
+ * @param storageKey 저장소 key
+ */
+public record BlobReleasedEvent(String hash, String storageKey) {
+}
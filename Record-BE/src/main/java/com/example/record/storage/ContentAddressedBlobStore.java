@@ -0,0 +1,246 @@
+package com.example.record.storage;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 내용 주소 기반 blob 저장소 (SHA-256 + 참조 카운트)
+ *
+ * 왜 필요한가요?
+ * - 기존에는 업로드마다 UUID/타임스탬프로 key를 만들어, 같은 사진을 여러 번 올리면 그만큼 중복 저장되었습니다.
+ * - 이제 내용의 해시로 key(blobs/ab/cd/{hash}.{ext})를 정하므로 같은 바이트는 객체 하나로 합쳐지고,
+ *   media_blobs.ref_count로 참조 수를 관리하여 마지막 참조가 해제될 때 객체를 삭제(GC)합니다.
+ *
+ * 파일은 임시 파일로 받으면서 해시를 함께 계산하므로(DigestInputStream) 전체를 힙에 올리지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentAddressedBlobStore {
+
+    /** 새 행이면 inserted = true (xmax = 0), 이미 있으면 참조 수만 올리고 기존 key를 돌려줌 */
+    private static final String UPSERT_SQL = """
+            INSERT INTO media_blobs (hash, storage_key, size_bytes, content_type, ref_count, created_at)
+            VALUES (?, ?, ?, ?, 1, now())
+            ON CONFLICT (hash) DO UPDATE SET ref_count = media_blobs.ref_count + 1
+            RETURNING storage_key, (xmax = 0) AS inserted
+            """;
+
+    private static final String INCREMENT_SQL =
+            "UPDATE media_blobs SET ref_count = ref_count + 1 WHERE hash = ? RETURNING storage_key";
+    private static final String DECREMENT_SQL =
+            "UPDATE media_blobs SET ref_count = ref_count - 1 WHERE hash = ?";
+    private static final String DELETE_UNREFERENCED_SQL =
+            "DELETE FROM media_blobs WHERE hash = ? AND ref_count <= 0";
+
+    /** 새 내용을 올려 두는 임시 key prefix (행을 만든 뒤 blobs/... 로 옮김) */
+    private static final String TEMP_PREFIX = "blobs/tmp/";
+
+    private final MediaStorage mediaStorage;
+    private final MediaBlobRepository mediaBlobRepository;
+    private final ImageVariantService imageVariantService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private TransactionTemplate newTransaction;
+
+    @PostConstruct
+    void initTransactionTemplates() {
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 스트림을 blob으로 저장합니다. (같은 내용이 이미 있으면 참조 수만 올림)
+     *
+     * @param in          저장할 데이터 (호출자가 닫습니다)
+     * @param contentType MIME 타입
+     * @param extension   파일 확장자 (점 제외, 예: "png")
+     */
+    public StoredBlob store(InputStream in, String contentType, String extension) throws IOException {
+        Path temp = Files.createTempFile("blob_", ".tmp");
+        try {
+            DigestInputStream digestIn = new DigestInputStream(in, sha256());
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                digestIn.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digestIn.getMessageDigest().digest());
+            return storeHashed(temp, hash, contentType, extension);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 이미 디스크에 있는 파일을 blob으로 저장합니다. (생성 이미지 ingest 등)
+     */
+    public StoredBlob store(Path file, String contentType, String extension) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return storeHashed(file, HexFormat.of().formatHex(digest.digest()), contentType, extension);
+    }
+
+    /**
+     * URL이 가리키는 blob의 참조를 하나 해제하고, 마지막 참조였으면 행을 지웁니다.
+     *
+     * 저장소 객체는 트랜잭션이 커밋된 뒤에 삭제합니다. (onBlobReleased)
+     * 호출한 쪽이 롤백하면 media_blobs 행이 되살아나므로, 커밋 전에 바이트를 지우면 안 됩니다.
+     *
+     * @return blob 저장소가 관리하는 URL이었으면 true (아니면 호출자가 직접 처리)
+     */
+    @Transactional
+    public boolean release(String url) {
+        Optional<String> key = mediaStorage.keyOf(url);
+        if (key.isEmpty()) {
+            return false;
+        }
+        Optional<String> hash = mediaBlobRepository.findByStorageKey(key.get()).map(MediaBlob::getHash);
+        if (hash.isEmpty()) {
+            return false;
+        }
+        // 같은 내용을 동시에 저장하는 요청(storeHashed)과 순서를 맞춤 (항상 해시 잠금 → 행 잠금 순서)
+        lockHash(hash.get());
+        Optional<MediaBlob> found = mediaBlobRepository.findByStorageKeyForUpdate(key.get());
+        if (found.isEmpty()) {
+            return false;
+        }
+
+        MediaBlob blob = found.get();
+        if (blob.getRefCount() > 1) {
+            blob.setRefCount(blob.getRefCount() - 1);
+            return true;
+        }
+
+        mediaBlobRepository.delete(blob);
+        imageVariantService.forget(blob.getStorageKey());
+        eventPublisher.publishEvent(new BlobReleasedEvent(blob.getHash(), blob.getStorageKey()));
+        return true;
+    }
+
+    /**
+     * 마지막 참조가 해제된 blob의 저장소 객체 삭제 (커밋 후)
+     *
+     * 커밋과 삭제 사이에 같은 내용이 다시 저장되었으면(행이 다시 생김) 지우지 않습니다.
+     * 커밋된 트랜잭션과 분리된 새 트랜잭션에서 해시 잠금을 잡고 확인합니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlobReleased(BlobReleasedEvent event) {
+        newTransaction.executeWithoutResult(status -> {
+            lockHash(event.hash());
+            if (mediaBlobRepository.findByHash(event.hash()).isPresent()) {
+                return;
+            }
+            mediaStorage.delete(event.storageKey());
+            // 썸네일/중간 크기 파생 이미지도 함께 정리 (없으면 아무 일도 하지 않음)
+            for (ImageVariant variant : ImageVariant.values()) {
+                mediaStorage.delete(variant.keyFor(event.storageKey()));
+            }
+            log.info("참조가 없는 blob 삭제: hash={}, key={}", event.hash(), event.storageKey());
+        });
+    }
+
+    /**
+     * 이미 있는 내용이면 참조 수만 올리고, 새 내용이면 임시 key에 올린 뒤 행을 만들고 제자리로 옮깁니다.
+     *
+     * 업로드(최대 수백 MB)는 트랜잭션 밖에서 하므로 DB 커넥션과 해시 잠금은 행을 INSERT/UPDATE하는 동안만 잡습니다.
+     * 최종 key에 바로 올리지 않는 이유: 행이 없는 동안 onBlobReleased가 같은 key를 지울 수 있기 때문입니다.
+     * 같은 내용을 동시에 올리면 둘 다 임시 key에 올리고, UPSERT에서 진 쪽은 참조 수만 올린 뒤 자기 임시 객체를 지웁니다.
+     *
+     * 두 단계 모두 REQUIRES_NEW 트랜잭션이라, 반환하기 전에 커밋이 끝나 있습니다. (호출자의 트랜잭션과 무관)
+     */
+    private StoredBlob storeHashed(Path file, String hash, String contentType, String extension) throws IOException {
+        Optional<String> existing = newTransaction.execute(status -> {
+            lockHash(hash);
+            return jdbcTemplate.query(INCREMENT_SQL, (rs, rowNum) -> rs.getString("storage_key"), hash)
+                    .stream().findFirst();
+        });
+        if (existing.isPresent()) {
+            return new StoredBlob(hash, existing.get(), mediaStorage.publicUrl(existing.get()), false);
+        }
+
+        String key = keyFor(hash, extension);
+        String tempKey = TEMP_PREFIX + UUID.randomUUID();
+        long size = Files.size(file);
+        try (InputStream in = Files.newInputStream(file)) {
+            mediaStorage.put(tempKey, in, size, contentType);
+        } catch (IOException | RuntimeException e) {
+            mediaStorage.delete(tempKey);
+            throw e;
+        }
+
+        Map<String, Object> row;
+        try {
+            row = newTransaction.execute(status -> {
+                lockHash(hash);
+                return jdbcTemplate.queryForMap(UPSERT_SQL, hash, key, size, contentType);
+            });
+        } catch (RuntimeException e) {
+            mediaStorage.delete(tempKey);
+            throw e;
+        }
+        String storedKey = (String) row.get("storage_key");
+        boolean created = Boolean.TRUE.equals(row.get("inserted"));
+
+        if (!created) {
+            mediaStorage.delete(tempKey);
+            return new StoredBlob(hash, storedKey, mediaStorage.publicUrl(storedKey), false);
+        }
+        try {
+            mediaStorage.move(tempKey, storedKey);
+        } catch (IOException | RuntimeException e) {
+            // 객체가 없는 행을 남기지 않도록 방금 올린 참조를 되돌림
+            mediaStorage.delete(tempKey);
+            newTransaction.executeWithoutResult(status -> {
+                lockHash(hash);
+                jdbcTemplate.update(DECREMENT_SQL, hash);
+                jdbcTemplate.update(DELETE_UNREFERENCED_SQL, hash);
+            });
+            throw e;
+        }
+        log.info("새 blob 저장: hash={}, key={}, size={}bytes", hash, storedKey, size);
+        return new StoredBlob(hash, storedKey, mediaStorage.publicUrl(storedKey), true);
+    }
+
+    private void lockHash(String hash) {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtextextended(?, 0))", Object.class, hash);
+    }
+
+    /** blobs/{해시 앞 2자}/{다음 2자}/{해시}.{확장자} (한 폴더에 파일이 몰리지 않도록 분산) */
+    private static String keyFor(String hash, String extension) {
+        String ext = extension != null && extension.matches("[A-Za-z0-9]{1,8}") ? extension.toLowerCase() : "bin";
+        return "blobs/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + ext;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
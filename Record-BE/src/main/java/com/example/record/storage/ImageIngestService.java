@@ -0,0 +1,120 @@
+package com.example.record.storage;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 생성 이미지 수집(ingest) 서비스
+ *
+ * 역할: OpenAI 이미지 생성 결과를 우리 저장소(S3 또는 로컬)로 옮기고 고정 URL을 반환합니다.
+ *
+ * 왜 필요한가요?
+ * - OpenAI가 돌려주는 url은 약 1시간 뒤 만료되는 임시 주소입니다.
+ *   그대로 Ticket.imageUrl / GeneratedImageUrl.imageUrl에 저장하면 나중에 이미지가 깨지고,
+ *   클라이언트는 이미지를 다시 생성해야 했습니다.
+ * - b64_json 응답은 수 MB 크기이므로, 문자열 → byte[]로 한 번에 디코딩하지 않고
+ *   Jackson 스트리밍 파서로 임시 파일에 바로 디코딩합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageIngestService {
+
+    private static final int DOWNLOAD_TIMEOUT_MS = 30_000;
+
+    private final ContentAddressedBlobStore blobStore;
+    private final ImageVariantService imageVariantService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * OpenAI 이미지 생성 응답(JSON 파일)에서 첫 번째 이미지를 꺼내 저장합니다.
+     *
+     * - b64_json이 있으면 스트리밍 디코딩 후 업로드
+     * - url만 있으면 해당 URL에서 내려받아 업로드 (구버전 응답 대비)
+     *
+     * @param responseJson OpenAI 응답 본문이 저장된 임시 파일
+     * @return 우리 저장소의 고정 URL
+     */
+    public String ingestOpenAiImageResponse(Path responseJson) throws IOException {
+        String providerUrl = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(responseJson.toFile())) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.FIELD_NAME) continue;
+
+                String field = parser.getCurrentName();
+                if ("b64_json".equals(field) && parser.nextToken() == JsonToken.VALUE_STRING) {
+                    Path decoded = Files.createTempFile("generated_", ".img");
+                    try {
+                        try (OutputStream out = Files.newOutputStream(decoded)) {
+                            // 이유: base64 문자열을 청크 단위로 디코딩해 바로 파일에 씀 (디코딩된 byte[]를 힙에 만들지 않음)
+                            parser.readBinaryValue(Base64Variants.MIME_NO_LINEFEEDS, out);
+                        }
+                        return storeGenerated(decoded);
+                    } finally {
+                        Files.deleteIfExists(decoded);
+                    }
+                }
+                if ("url".equals(field) && providerUrl == null && parser.nextToken() == JsonToken.VALUE_STRING) {
+                    providerUrl = parser.getText();
+                }
+            }
+        }
+
+        if (providerUrl != null && !providerUrl.isBlank()) {
+            log.info("b64_json 없이 url 응답을 받음 → 내려받아 저장합니다.");
+            return ingestFromUrl(providerUrl);
+        }
+        throw new RuntimeException("Image generation failed: missing url/b64_json");
+    }
+
+    /**
+     * 외부(임시) URL의 이미지를 내려받아 우리 저장소에 저장합니다.
+     */
+    public String ingestFromUrl(String url) throws IOException {
+        Path downloaded = Files.createTempFile("generated_", ".img");
+        try {
+            URLConnection conn = URI.create(url).toURL().openConnection();
+            conn.setConnectTimeout(DOWNLOAD_TIMEOUT_MS);
+            conn.setReadTimeout(DOWNLOAD_TIMEOUT_MS);
+            try (InputStream in = conn.getInputStream()) {
+                Files.copy(in, downloaded, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return storeGenerated(downloaded);
+        } finally {
+            Files.deleteIfExists(downloaded);
+        }
+    }
+
+    /** 디코딩/다운로드가 끝난 임시 파일을 blob 저장소에 올리고 파생 이미지 생성 */
+    private String storeGenerated(Path file) throws IOException {
+        ImageType type = ImageType.detect(file);
+        StoredBlob blob = blobStore.store(file, type.contentType(), type.extension());
+        log.info("생성 이미지 저장 완료: key={}, url={}, reused={}", blob.key(), blob.url(), !blob.created());
+
+        // 원본이 아직 로컬 임시 파일로 남아 있을 때 썸네일/중간 크기도 함께 생성 (기존 blob이면 이미 생성됨)
+        if (blob.created()) {
+            try {
+                imageVariantService.generateVariants(blob.key(), file);
+            } catch (Exception e) {
+                log.warn("파생 이미지 생성 실패 (원본은 저장됨): key={}, {}", blob.key(), e.getMessage());
+            }
+        }
+        return blob.url();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.record.storage;
+
+/**
+ * 원본 이미지에서 파생되는 리사이즈 버전 종류
+ *
+ * - THUMB: 목록/그리드 화면용 (긴 변 320px)
+ * - MEDIUM: 상세 화면/공유 카드용 (긴 변 800px)
+ *
+ * 파생 이미지는 원본과 같은 폴더에 "{원본이름}_{suffix}.jpg" 로 저장됩니다.
+ * 예) generated/2025/11/abc.png → generated/2025/11/abc_thumb.jpg
+ */
+public enum ImageVariant {
+
+    THUMB("thumb", 320),
+    MEDIUM("medium", 800);
+
+    private final String suffix;
+    private final int maxSize;
+
+    ImageVariant(String suffix, int maxSize) {
+        this.suffix = suffix;
+        this.maxSize = maxSize;
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    /** 긴 변 기준 최대 픽셀 수 (원본이 더 작으면 확대하지 않음) */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /** 원본 key → 파생 이미지 key */
+    public String keyFor(String originalKey) {
+        int slash = originalKey.lastIndexOf('/');
+        int dot = originalKey.lastIndexOf('.');
+        String base = dot > slash ? originalKey.substring(0, dot) : originalKey;
+        return base + "_" + suffix + ".jpg";
+    }
+}
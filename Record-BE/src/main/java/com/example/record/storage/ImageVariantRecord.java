@@ -0,0 +1,31 @@
+package com.example.record.storage;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파생 이미지(THUMB/MEDIUM) 생성이 끝난 원본 key
+ *
+ * 행이 있을 때만 응답에 파생 이미지 URL을 내려줍니다. (없으면 원본 URL - ImageVariantService.variantUrls)
+ * 모든 파생 이미지를 저장한 뒤에만 기록하므로, 읽을 수 없는 포맷(WebP 등)이나 실패한 이미지는 행이 없습니다.
+ */
+@Entity
+@Table(name = "image_variant_records")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageVariantRecord {
+
+    @Id
+    @Column(name = "original_key", length = 500)
+    private String originalKey;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
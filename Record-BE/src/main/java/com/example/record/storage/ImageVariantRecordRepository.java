@@ -0,0 +1,17 @@
+package com.example.record.storage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ImageVariantRecordRepository extends JpaRepository<ImageVariantRecord, String> {
+
+    /** 이미 기록되어 있으면 아무것도 하지 않음 (여러 서버가 같은 이미지를 처리해도 예외 없음) */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO image_variant_records (original_key, created_at) VALUES (:key, now()) " +
+            "ON CONFLICT (original_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("key") String originalKey);
+}
@@ -0,0 +1,324 @@
+package com.example.record.storage;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 썸네일/중간 크기 이미지(파생 이미지) 생성 서비스
+ *
+ * 왜 필요한가요?
+ * - 티켓 목록(/tickets/me)이 1024x1024 DALL-E 원본이나 원본 업로드 사진 URL을 그대로 내려줘서
+ *   모바일 앱이 그리드 하나를 그리는 데 수 MB를 내려받았습니다.
+ * - 원본 저장 시점(ingest)에 THUMB/MEDIUM JPEG를 원본 옆에 만들어 두고,
+ *   응답에는 파생 이미지 URL을 함께 내려 목록 화면은 썸네일만 받도록 합니다.
+ *
+ * 참고: JDK 기본 ImageIO에는 WebP 인코더가 없어 파생 이미지는 JPEG로 만듭니다.
+ *
+ * 생성이 끝난 원본은 image_variant_records에 기록하고, 기록된 이미지만 파생 이미지 URL을 내려줍니다.
+ * (생성 전/실패/지원하지 않는 포맷이면 원본 URL → 목록에서 404가 나지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageVariantService {
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    /** 이 크기를 넘으면 확인 캐시를 비움 (메모리 무한 증가 방지) */
+    private static final int READY_CACHE_LIMIT = 10_000;
+
+    /** 생성 대기열 최대 길이 (가득 차면 예약을 건너뜀 → 원본 URL로 보이고, 일괄 생성으로 다시 만들 수 있음) */
+    private static final int QUEUE_CAPACITY = 1_000;
+
+    private final MediaStorage mediaStorage;
+    private final ImageVariantRecordRepository imageVariantRecordRepository;
+
+    /** 생성 기록을 다시 확인하기 전까지 "아직 없음"으로 기억하는 시간 (다른 서버가 생성한 경우 반영 지연) */
+    @Value("${app.image-variants.missing-ttl-ms:60000}")
+    private long missingTtlMs;
+
+    /** 파생 이미지 생성이 기록된 원본 key (중복 조회/재생성 방지) */
+    private final Set<String> readyKeys = ConcurrentHashMap.newKeySet();
+
+    /** 기록이 없다고 확인된 원본 key → 확인 시각 */
+    private final Map<String, Long> missingKeys = new ConcurrentHashMap<>();
+
+    /** 생성을 기다리거나 생성 중인 원본 key (같은 이미지를 두 번 예약하지 않음) */
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    /** 요청 스레드와 분리된 생성 스레드 (디코딩/축소가 무거우므로 하나만 사용) */
+    private final ExecutorService variantExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "image-variants");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * 원본 파일(로컬 임시 파일)로부터 모든 파생 이미지를 만들어 저장합니다.
+     * ingest 시점에 이미 원본이 디스크에 있으므로 다시 내려받지 않습니다.
+     */
+    public void generateVariants(String originalKey, Path originalFile) throws IOException {
+        BufferedImage original = ImageIO.read(originalFile.toFile());
+        if (original == null) {
+            // ImageIO가 읽을 수 없는 포맷(WebP 등)은 원본만 사용
+            log.warn("파생 이미지 생성 불가(지원하지 않는 포맷): key={}", originalKey);
+            return;
+        }
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            BufferedImage resized = resize(original, variant.maxSize());
+            Path out = Files.createTempFile("variant_", ".jpg");
+            try {
+                writeJpeg(resized, out);
+                try (InputStream in = Files.newInputStream(out)) {
+                    mediaStorage.put(variant.keyFor(originalKey), in, Files.size(out), "image/jpeg");
+                }
+            } finally {
+                Files.deleteIfExists(out);
+            }
+        }
+
+        markReady(originalKey);
+        log.info("파생 이미지 생성 완료: key={}, {}x{}", originalKey, original.getWidth(), original.getHeight());
+    }
+
+    /**
+     * 파생 이미지 생성을 백그라운드 스레드에 예약합니다. (요청 스레드에서 이미지를 디코딩하지 않음)
+     *
+     * 생성 전에는 variantUrls가 원본 URL을 돌려주므로, 서버 재시작으로 대기열이 사라져도 목록이 깨지지 않습니다.
+     */
+    public void requestVariants(String url) {
+        String key = url == null ? null : mediaStorage.keyOf(url).orElse(null);
+        if (key == null || isReady(key) || !pendingKeys.add(key)) {
+            return;
+        }
+        try {
+            variantExecutor.execute(() -> {
+                try {
+                    ensureVariants(url);
+                } finally {
+                    pendingKeys.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingKeys.remove(key);
+            log.warn("파생 이미지 생성 대기열이 가득 차 건너뜁니다: key={}", key);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        variantExecutor.shutdownNow();
+    }
+
+    /**
+     * 우리 저장소의 이미지 URL이면 파생 이미지가 있는지 확인하고, 없으면 생성합니다.
+     * (생성 스레드, 관리자 일괄 생성에서 호출 - 요청 처리 중에는 requestVariants 사용)
+     */
+    public void ensureVariants(String url) {
+        String key = url == null ? null : mediaStorage.keyOf(url).orElse(null);
+        if (key == null || isReady(key)) {
+            return;
+        }
+
+        try {
+            boolean allExist = true;
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (!mediaStorage.exists(variant.keyFor(key))) {
+                    allExist = false;
+                    break;
+                }
+            }
+            if (allExist) {
+                markReady(key);
+                return;
+            }
+
+            Path original = Files.createTempFile("original_", ".img");
+            try {
+                try (InputStream in = mediaStorage.open(key)) {
+                    Files.copy(in, original, StandardCopyOption.REPLACE_EXISTING);
+                }
+                generateVariants(key, original);
+            } finally {
+                Files.deleteIfExists(original);
+            }
+        } catch (Exception e) {
+            // 파생 이미지는 부가 기능이므로 실패해도 원본 저장 흐름은 계속 진행
+            log.warn("파생 이미지 생성 실패: url={}, {}", url, e.getMessage());
+        }
+    }
+
+    /**
+     * 원본 URL → 파생 이미지 URL
+     *
+     * 생성이 기록된 이미지만 파생 이미지 URL을 돌려주고, 그 외(생성 전, 실패, 다른 저장소 이미지)에는 원본 URL을 돌려줍니다.
+     * 기록 여부는 메모리에 기억하므로 대부분 DB 조회가 없습니다. 목록은 prefetch로 한 번에 확인하세요.
+     */
+    public ImageVariantUrls variantUrls(String url) {
+        if (url == null) {
+            return ImageVariantUrls.NONE;
+        }
+        String key = mediaStorage.keyOf(url).orElse(null);
+        if (key == null || !isReady(key)) {
+            return new ImageVariantUrls(url, url);
+        }
+        return new ImageVariantUrls(
+                mediaStorage.publicUrl(ImageVariant.THUMB.keyFor(key)),
+                mediaStorage.publicUrl(ImageVariant.MEDIUM.keyFor(key)));
+    }
+
+    /** 목록 응답 전에 호출: 기억하지 못한 이미지들의 생성 기록을 IN 쿼리 한 번으로 확인 */
+    public void prefetch(Collection<String> urls) {
+        long now = System.currentTimeMillis();
+        List<String> unknown = new ArrayList<>();
+        for (String url : urls) {
+            String key = url == null ? null : mediaStorage.keyOf(url).orElse(null);
+            if (key != null && !readyKeys.contains(key) && !recentlyMissing(key, now)) {
+                unknown.add(key);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+        Set<String> found = new HashSet<>();
+        imageVariantRecordRepository.findAllById(unknown).forEach(r -> found.add(r.getOriginalKey()));
+        for (String key : unknown) {
+            if (found.contains(key)) {
+                remember(key);
+            } else {
+                rememberMissing(key, now);
+            }
+        }
+    }
+
+    /** 원본과 파생 이미지를 지웠을 때 호출 (ContentAddressedBlobStore.release) */
+    public void forget(String key) {
+        readyKeys.remove(key);
+        missingKeys.remove(key);
+        imageVariantRecordRepository.deleteById(key);
+    }
+
+    private boolean isReady(String key) {
+        if (readyKeys.contains(key)) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (recentlyMissing(key, now)) {
+            return false;
+        }
+        if (imageVariantRecordRepository.existsById(key)) {
+            remember(key);
+            return true;
+        }
+        rememberMissing(key, now);
+        return false;
+    }
+
+    private boolean recentlyMissing(String key, long now) {
+        Long checkedAt = missingKeys.get(key);
+        return checkedAt != null && now - checkedAt < missingTtlMs;
+    }
+
+    private void markReady(String key) {
+        imageVariantRecordRepository.insertIfAbsent(key);
+        remember(key);
+    }
+
+    private void remember(String key) {
+        if (readyKeys.size() > READY_CACHE_LIMIT) {
+            readyKeys.clear();
+        }
+        readyKeys.add(key);
+        missingKeys.remove(key);
+    }
+
+    private void rememberMissing(String key, long now) {
+        if (missingKeys.size() > READY_CACHE_LIMIT) {
+            missingKeys.clear();
+        }
+        missingKeys.put(key, now);
+    }
+
+    /**
+     * 긴 변이 maxSize 이하가 되도록 비율 유지 축소 (확대는 하지 않음)
+     *
+     * 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 단계적으로 줄입니다.
+     */
+    static BufferedImage resize(BufferedImage src, int maxSize) {
+        int width = src.getWidth();
+        int height = src.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = src;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                // JPEG는 투명도를 지원하지 않으므로 투명 PNG는 흰 배경 위에 그림
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, currentWidth, currentHeight);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
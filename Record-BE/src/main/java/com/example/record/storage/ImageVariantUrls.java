@@ -0,0 +1,12 @@
+package com.example.record.storage;
+
+/**
+ * 파생 이미지 URL 묶음
+ *
+ * 파생 이미지가 없으면(외부 URL, 아직 생성 전이거나 실패한 이미지) 두 값 모두 원본 URL이므로
+ * 클라이언트는 받은 값을 그대로 사용하면 됩니다. 원본 URL 자체가 없을 때만 두 값 모두 null(NONE)입니다.
+ */
+public record ImageVariantUrls(String thumbnailUrl, String mediumUrl) {
+
+    public static final ImageVariantUrls NONE = new ImageVariantUrls(null, null);
+}
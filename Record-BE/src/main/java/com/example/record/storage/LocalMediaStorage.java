@@ -0,0 +1,114 @@
+package com.example.record.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * 로컬 디스크 기반 MediaStorage (S3 대체 구현)
+ *
+ * 이유: 개발/테스트 환경에서는 AWS 자격 증명이 없으므로,
+ *       uploads/media 폴더에 저장하고 /uploads/media/** 로 정적 서빙합니다.
+ *       (config/WebConfig에서 리소스 핸들러 등록)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalMediaStorage implements MediaStorage {
+
+    private final Path rootDir;
+    private final String urlPrefix;
+
+    public LocalMediaStorage(
+            @Value("${app.storage.local-dir:uploads/media}") String localDir,
+            @Value("${app.storage.local-url-prefix:/uploads/media}") String urlPrefix
+    ) {
+        this.rootDir = Paths.get(localDir).toAbsolutePath().normalize();
+        this.urlPrefix = urlPrefix.endsWith("/") ? urlPrefix.substring(0, urlPrefix.length() - 1) : urlPrefix;
+    }
+
+    @Override
+    public String put(String key, InputStream in, long contentLength, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+
+        // 임시 파일에 먼저 쓰고 이동 → 쓰는 도중에 다른 요청이 반쯤 쓰인 파일을 읽지 않도록 함
+        Path tmp = Files.createTempFile(target.getParent(), ".upload_", ".part");
+        try {
+            Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        log.info("로컬 저장소에 저장 완료: key={}, size={}bytes", key, contentLength);
+        return publicUrl(key);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public long sizeOf(String key) {
+        try {
+            Path path = resolve(key);
+            return Files.exists(path) ? Files.size(path) : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void move(String fromKey, String toKey) throws IOException {
+        Path target = resolve(toKey);
+        Files.createDirectories(target.getParent());
+        Files.move(resolve(fromKey), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            log.warn("로컬 저장소 파일 삭제 실패: key={}, {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return urlPrefix + "/" + key;
+    }
+
+    @Override
+    public Optional<String> keyOf(String url) {
+        if (url == null || !url.startsWith(urlPrefix + "/")) {
+            return Optional.empty();
+        }
+        return Optional.of(url.substring(urlPrefix.length() + 1));
+    }
+
+    /** key → 실제 파일 경로 (루트 밖으로 벗어나는 key는 거부) */
+    private Path resolve(String key) {
+        Path path = rootDir.resolve(key).normalize();
+        if (!path.startsWith(rootDir)) {
+            throw new IllegalArgumentException("잘못된 저장소 key입니다: " + key);
+        }
+        return path;
+    }
+}
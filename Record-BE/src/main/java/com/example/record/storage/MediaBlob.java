@@ -0,0 +1,52 @@
+package com.example.record.storage;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 기반(content-addressed) 미디어 blob
+ *
+ * 같은 바이트의 파일은 SHA-256 해시가 같으므로 저장소에 한 번만 저장하고,
+ * 몇 곳에서 참조하는지(refCount)만 세어 둡니다.
+ * 참조가 0이 되면 ContentAddressedBlobStore가 행과 저장소 객체를 함께 삭제합니다.
+ */
+@Entity
+@Table(name = "media_blobs", indexes = {
+        @Index(name = "idx_media_blobs_storage_key", columnList = "storage_key")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MediaBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 내용의 SHA-256 (hex 64자) */
+    @Column(name = "hash", length = 64, nullable = false, unique = true)
+    private String hash;
+
+    /** 저장소 key (예: blobs/ab/cd/abcd....png) */
+    @Column(name = "storage_key", length = 500, nullable = false)
+    private String storageKey;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long size;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    /** 이 blob을 참조하는 곳의 수 (프로필 이미지, 업로드 파일 등) */
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package com.example.record.storage;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, Long> {
+
+    Optional<MediaBlob> findByHash(String hash);
+
+    Optional<MediaBlob> findByStorageKey(String storageKey);
+
+    /** 참조 해제 시 사용 (행 잠금으로 동시에 들어온 증가/감소와 순서를 맞춤) */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM MediaBlob b WHERE b.storageKey = :storageKey")
+    Optional<MediaBlob> findByStorageKeyForUpdate(@Param("storageKey") String storageKey);
+}
@@ -0,0 +1,57 @@
+package com.example.record.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * 미디어 파일 저장소 추상화
+ *
+ * 역할: 생성 이미지, 업로드 파일 등을 "키(key)" 단위로 저장하고,
+ *       클라이언트에 내려줄 수 있는 고정(만료되지 않는) URL을 돌려줍니다.
+ *
+ * 구현체:
+ * - S3MediaStorage: 운영 환경 (app.storage.type=s3, 기본값)
+ * - LocalMediaStorage: 로컬 개발/테스트용 디스크 저장소 (dev 프로필, app.storage.type=local)
+ *
+ * 왜 인터페이스로 분리했나요?
+ * - OpenAI 임시 URL은 일정 시간이 지나면 만료되므로, 생성 즉시 우리 저장소로 옮겨야 합니다.
+ * - 로컬에서는 AWS 자격 증명 없이도 같은 흐름을 테스트할 수 있어야 합니다.
+ */
+public interface MediaStorage {
+
+    /**
+     * 스트림을 읽어 key 위치에 저장하고 공개 URL을 반환합니다.
+     *
+     * @param key           저장 경로 (예: "generated/2025/11/uuid.png")
+     * @param in            저장할 데이터 스트림 (호출자가 닫습니다)
+     * @param contentLength 데이터 길이 (bytes)
+     * @param contentType   MIME 타입 (예: "image/png")
+     * @return 클라이언트에 내려줄 고정 URL
+     */
+    String put(String key, InputStream in, long contentLength, String contentType) throws IOException;
+
+    /** key에 저장된 객체를 읽기 위한 스트림을 엽니다. (호출자가 닫아야 함) */
+    InputStream open(String key) throws IOException;
+
+    /** key에 객체가 존재하는지 확인합니다. */
+    boolean exists(String key);
+
+    /** key에 저장된 객체의 크기 (bytes). 없으면 -1 */
+    long sizeOf(String key);
+
+    /** fromKey의 객체를 toKey로 옮깁니다. (toKey에 이미 있으면 덮어씀) */
+    void move(String fromKey, String toKey) throws IOException;
+
+    /** key에 저장된 객체를 삭제합니다. 없으면 아무 일도 하지 않습니다. */
+    void delete(String key);
+
+    /** key에 해당하는 공개 URL */
+    String publicUrl(String key);
+
+    /**
+     * 우리 저장소가 발급한 URL이면 key를 돌려줍니다.
+     * 외부 URL(OpenAI 임시 URL 등)이면 Optional.empty()
+     */
+    Optional<String> keyOf(String url);
+}
@@ -0,0 +1,78 @@
+package com.example.record.storage;
+
+import com.example.record.AWS.S3Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * S3 기반 MediaStorage (운영 환경)
+ *
+ * 실제 S3 호출은 S3Service에 위임하고, 여기서는 MediaStorage 계약만 맞춥니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3MediaStorage implements MediaStorage {
+
+    private final S3Service s3Service;
+
+    @Override
+    public String put(String key, InputStream in, long contentLength, String contentType) throws IOException {
+        String url = s3Service.putObject(key, in, contentLength, contentType);
+        log.info("S3 업로드 완료: key={}, size={}bytes", key, contentLength);
+        return url;
+    }
+
+    @Override
+    public InputStream open(String key) {
+        return s3Service.getObject(key);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return s3Service.exists(key);
+    }
+
+    @Override
+    public long sizeOf(String key) {
+        return s3Service.contentLength(key);
+    }
+
+    @Override
+    public void move(String fromKey, String toKey) {
+        // S3에는 이동이 없으므로 서버 측 복사 후 원본 삭제 (바이트가 API 서버를 거치지 않음)
+        s3Service.copyObject(fromKey, toKey);
+        delete(fromKey);
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            s3Service.deleteObject(key);
+        } catch (S3Exception e) {
+            log.warn("S3 객체 삭제 실패: key={}, {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return s3Service.publicUrl(key);
+    }
+
+    @Override
+    public Optional<String> keyOf(String url) {
+        String base = s3Service.baseUrl();
+        if (url == null || !url.startsWith(base)) {
+            return Optional.empty();
+        }
+        return Optional.of(url.substring(base.length()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.record.storage;
+
+/**
+ * blob 저장 결과
+ *
+ * @param hash    내용의 SHA-256 (hex)
+ * @param key     저장소 key
+ * @param url     클라이언트에 내려줄 고정 URL
+ * @param created 이번 호출에서 새로 저장했는지 (false면 기존 blob 재사용)
+ */
+public record StoredBlob(String hash, String key, String url, boolean created) {
+}
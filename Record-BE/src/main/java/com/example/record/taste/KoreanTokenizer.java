@@ -0,0 +1,69 @@
+package com.example.record.taste;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 간단한 한국어 토크나이저 (형태소 분석기 없이 로컬에서만 동작)
+ *
+ * 1. 글자/숫자가 아닌 문자로 나눕니다.
+ * 2. 한글 단어 끝의 조사/어미를 하나 떼어냅니다. ("배우들의" → "배우", "연출이" → "연출")
+ * 3. 한 글자 단어와 불용어("정말", "공연" 등 취향과 상관없이 자주 나오는 말)는 버립니다.
+ *
+ * 정확한 품사 분석이 목적이 아니라, 같은 주제를 같은 단어로 모으는 것이 목적입니다.
+ */
+final class KoreanTokenizer {
+
+    /** 긴 것부터 확인해야 "에서"보다 "에서는"이 먼저 떨어짐 */
+    private static final List<String> SUFFIXES = Arrays.stream(new String[]{
+            "이었습니다", "였습니다", "했습니다", "습니다", "합니다", "이었다", "했어요", "였어요", "이에요",
+            "에서는", "으로는", "에게서", "이라서", "해서", "해요", "했다", "하다", "한다", "였다", "이다",
+            "에서", "으로", "에게", "까지", "부터", "처럼", "보다", "이랑", "하고", "라서", "들이", "들은", "들을",
+            "은", "는", "이", "가", "을", "를", "의", "에", "로", "와", "과", "도", "만", "랑", "들"
+    }).sorted(Comparator.comparingInt(String::length).reversed()).toList();
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "정말", "너무", "진짜", "그리고", "그런데", "하지만", "그래서", "아주", "매우", "조금", "많이", "가장",
+            "공연", "이번", "오늘", "그냥", "있는", "없는", "했던", "같은", "같다", "있었", "없었", "생각", "느낌",
+            "것이", "것은", "그것", "이것", "저것", "우리", "나는", "내가", "저는", "제가", "다시", "계속", "모두"
+    );
+
+    private KoreanTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String raw : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            String token = stripSuffix(raw);
+            if (token.length() >= 2 && !STOPWORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String stripSuffix(String word) {
+        if (word.isEmpty() || !isHangul(word.charAt(word.length() - 1))) {
+            return word;
+        }
+        for (String suffix : SUFFIXES) {
+            if (word.length() - suffix.length() >= 2 && word.endsWith(suffix)) {
+                String stem = word.substring(0, word.length() - suffix.length());
+                // 복수 "들" + 조사 ("배우들의" → "배우들" → "배우")
+                return stem.length() > 2 && stem.endsWith("들") ? stem.substring(0, stem.length() - 1) : stem;
+            }
+        }
+        return word;
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
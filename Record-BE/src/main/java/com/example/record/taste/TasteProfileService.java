@@ -0,0 +1,225 @@
+package com.example.record.taste;
+
+import com.example.record.review.repository.ReviewRepository;
+import com.example.record.review.repository.ReviewRepository.TasteSeedRow;
+import com.example.record.user.User;
+import com.example.record.user.UserCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자 취향 프로필 갱신/조회
+ *
+ * 왜 필요한가요?
+ * - 예전에는 후기 3개마다 그 3개 원문만 OpenAI에 보내 키워드를 뽑고 users.favorite을 덮어써서,
+ *   이전 취향이 사라지고 매번 LLM 호출 비용이 들었습니다.
+ * - 이제 후기를 저장할 때마다 로컬 토크나이저(KoreanTokenizer)로 단어/장르 빈도를 누적하고
+ *   (예전 가중치 × app.taste.decay), 상위 키워드를 미리 계산해 둡니다.
+ * - 상위 키워드 조회는 프로필 한 행(또는 users.favorite)만 읽으면 됩니다.
+ * - 후기를 수정/삭제하면 그 후기의 기여(감쇠된 가중치)를 빼서 반영합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TasteProfileService {
+
+    private static final TypeReference<Map<String, Double>> WEIGHTS = new TypeReference<>() {};
+
+    private final UserTasteProfileRepository userTasteProfileRepository;
+    private final ReviewRepository reviewRepository;
+    private final UserCache userCache;
+    private final ObjectMapper objectMapper;
+
+    /** 후기 하나가 추가될 때 예전 가중치에 곱하는 값 (작을수록 최근 취향 위주) */
+    @Value("${app.taste.decay:0.9}")
+    private double decay;
+
+    @Value("${app.taste.max-terms:200}")
+    private int maxTerms;
+
+    @Value("${app.taste.top-k:5}")
+    private int topK;
+
+    /** 프로필을 처음 만들 때 반영할 과거 후기 수 */
+    @Value("${app.taste.seed-reviews:50}")
+    private int seedReviews;
+
+    /** 후기 요약보다 사용자가 직접 고른 키워드를 더 크게 반영 */
+    private static final double KEYWORD_FIELD_WEIGHT = 2.0;
+
+    /**
+     * 새 후기를 취향 프로필에 반영합니다. (후기 저장과 같은 트랜잭션에서 호출)
+     *
+     * 프로필이 없던 사용자는 이번 후기를 포함한 최근 후기들로 프로필을 새로 만듭니다.
+     */
+    @Transactional
+    public void recordReview(User user, String genre, String summary, String keywords) {
+        String userId = user.getId();
+        boolean created = userTasteProfileRepository.insertIfAbsent(userId) == 1;
+        UserTasteProfile profile = userTasteProfileRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("취향 프로필을 만들 수 없습니다: " + userId));
+
+        Map<String, Double> terms = read(profile.getTermWeights());
+        Map<String, Double> genres = read(profile.getGenreWeights());
+        long count = profile.getReviewCount();
+
+        if (created) {
+            // 이미 저장된 이번 후기도 포함됨 (오래된 것부터 반영)
+            List<TasteSeedRow> rows = new ArrayList<>(
+                    reviewRepository.findTasteSeedRows(userId, PageRequest.of(0, seedReviews)));
+            Collections.reverse(rows);
+            for (TasteSeedRow row : rows) {
+                apply(terms, genres, row.getGenre(), row.getSummary(), row.getKeywords());
+            }
+            count += rows.size();
+        } else {
+            apply(terms, genres, genre, summary, keywords);
+            count++;
+        }
+
+        save(user, profile, terms, genres, count);
+    }
+
+    /**
+     * 후기 수정 시 이전 내용의 기여를 빼고 새 내용을 더합니다. (후기 저장과 같은 트랜잭션에서 호출)
+     *
+     * 후기의 기여에는 이후 후기가 하나 추가될 때마다 decay가 곱해졌으므로,
+     * 나중에 작성된 후기 수(newerReviews)만큼 decay를 곱한 가중치로 빼고 더합니다.
+     * (장르는 티켓 기준이라 수정으로 바뀌지 않음)
+     */
+    @Transactional
+    public void updateReview(User user, String oldSummary, String oldKeywords,
+                             String newSummary, String newKeywords, long newerReviews) {
+        userTasteProfileRepository.findByIdForUpdate(user.getId()).ifPresent(profile -> {
+            Map<String, Double> terms = read(profile.getTermWeights());
+            Map<String, Double> genres = read(profile.getGenreWeights());
+            double weight = Math.pow(decay, newerReviews);
+            contribute(terms, genres, null, oldSummary, oldKeywords, -weight);
+            contribute(terms, genres, null, newSummary, newKeywords, weight);
+            save(user, profile, terms, genres, profile.getReviewCount());
+        });
+    }
+
+    /** 후기 삭제 시 그 후기의 기여를 뺍니다. (updateReview와 같은 방식, 후기 삭제와 같은 트랜잭션에서 호출) */
+    @Transactional
+    public void removeReview(User user, String genre, String summary, String keywords, long newerReviews) {
+        userTasteProfileRepository.findByIdForUpdate(user.getId()).ifPresent(profile -> {
+            Map<String, Double> terms = read(profile.getTermWeights());
+            Map<String, Double> genres = read(profile.getGenreWeights());
+            contribute(terms, genres, genre, summary, keywords, -Math.pow(decay, newerReviews));
+            genres.values().removeIf(v -> v < 0.01);
+            save(user, profile, terms, genres, Math.max(0, profile.getReviewCount() - 1));
+        });
+    }
+
+    /** 가중치가 높은 단어 n개 (LLM 라벨링 입력용) */
+    @Transactional(readOnly = true)
+    public List<String> topTerms(String userId, int n) {
+        return userTasteProfileRepository.findById(userId)
+                .map(p -> top(read(p.getTermWeights()), n))
+                .orElseGet(ArrayList::new);
+    }
+
+    @Transactional
+    public void delete(String userId) {
+        userTasteProfileRepository.deleteById(userId);
+    }
+
+    private void save(User user, UserTasteProfile profile,
+                      Map<String, Double> terms, Map<String, Double> genres, long count) {
+        prune(terms);
+        List<String> top = top(terms, topK);
+        List<String> topGenre = top(genres, 1);
+
+        profile.setTermWeights(write(terms));
+        profile.setGenreWeights(write(genres));
+        profile.setTopKeywords(String.join(",", top));
+        profile.setTopGenre(topGenre.isEmpty() ? null : topGenre.get(0));
+        profile.setReviewCount(count);
+
+        // 기존 화면/코드에서 읽던 users.favorite도 같은 값으로 유지 (캐시는 커밋 후에도 한 번 더 비워짐)
+        user.setFavorite(profile.getTopKeywords());
+        userCache.evict(user.getId());
+    }
+
+    private void apply(Map<String, Double> terms, Map<String, Double> genres,
+                       String genre, String summary, String keywords) {
+        terms.replaceAll((k, v) -> v * decay);
+        genres.replaceAll((k, v) -> v * decay);
+        contribute(terms, genres, genre, summary, keywords, 1.0);
+    }
+
+    /** 후기 하나의 단어/장르 가중치를 weight배로 더합니다. (음수면 빼기) */
+    private static void contribute(Map<String, Double> terms, Map<String, Double> genres,
+                                   String genre, String summary, String keywords, double weight) {
+        // 같은 후기에서 여러 번 나온 단어는 1 + ln(tf)로 완만하게 반영
+        Map<String, Integer> tf = new HashMap<>();
+        KoreanTokenizer.tokenize(summary).forEach(t -> tf.merge(t, 1, Integer::sum));
+        tf.forEach((term, n) -> terms.merge(term, weight * (1 + Math.log(n)), Double::sum));
+        KoreanTokenizer.tokenize(keywords).stream().distinct()
+                .forEach(term -> terms.merge(term, weight * KEYWORD_FIELD_WEIGHT, Double::sum));
+
+        if (genre != null && !genre.isBlank()) {
+            genres.merge(genre.trim().toLowerCase(Locale.ROOT), weight, Double::sum);
+        }
+    }
+
+    /** 너무 작아진 가중치와 상위 maxTerms개 밖의 단어 제거 */
+    private void prune(Map<String, Double> terms) {
+        terms.values().removeIf(v -> v < 0.01);
+        if (terms.size() > maxTerms) {
+            Map<String, Double> kept = terms.entrySet().stream()
+                    .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                    .limit(maxTerms)
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            terms.clear();
+            terms.putAll(kept);
+        }
+    }
+
+    private static List<String> top(Map<String, Double> weights, int n) {
+        return weights.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(n)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Double> read(String json) {
+        if (json == null || json.isBlank()) {
+            return new HashMap<>();
+        }
+        try {
+            return new HashMap<>(objectMapper.readValue(json, WEIGHTS));
+        } catch (JsonProcessingException e) {
+            log.warn("취향 프로필 가중치 파싱 실패, 새로 시작합니다: {}", e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private String write(Map<String, Double> weights) {
+        Map<String, Double> rounded = new HashMap<>();
+        weights.forEach((k, v) -> rounded.put(k, Math.round(v * 10000) / 10000.0));
+        try {
+            return objectMapper.writeValueAsString(rounded);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("취향 프로필 저장 실패", e);
+        }
+    }
+}
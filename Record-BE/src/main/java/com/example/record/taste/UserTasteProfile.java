@@ -0,0 +1,51 @@
+package com.example.record.taste;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자 취향 프로필
+ *
+ * 후기를 쓸 때마다 단어/장르 빈도를 누적합니다. 예전 가중치에는 감쇠(decay)를 곱하므로
+ * 최근 취향이 더 크게 반영되지만, 오래된 취향도 한 번에 사라지지 않습니다.
+ *
+ * - termWeights/genreWeights: 단어 → 가중치 JSON (상위 app.taste.max-terms개만 유지)
+ * - topKeywords: 미리 계산해 둔 상위 키워드 (쉼표 구분, users.favorite에도 같은 값을 저장)
+ * - user_id는 외래 키 없이 보관하여 회원탈퇴 시 users 삭제를 막지 않습니다.
+ */
+@Entity
+@Table(name = "user_taste_profiles")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserTasteProfile {
+
+    @Id
+    @Column(name = "user_id", length = 15)
+    private String userId;
+
+    @Column(name = "term_weights", columnDefinition = "TEXT", nullable = false)
+    private String termWeights;
+
+    @Column(name = "genre_weights", columnDefinition = "TEXT", nullable = false)
+    private String genreWeights;
+
+    @Column(name = "top_keywords", length = 500)
+    private String topKeywords;
+
+    @Column(name = "top_genre", length = 50)
+    private String topGenre;
+
+    /** 지금까지 반영한 후기 수 */
+    @Column(name = "review_count", nullable = false)
+    private Long reviewCount;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
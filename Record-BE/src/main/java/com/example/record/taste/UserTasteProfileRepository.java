@@ -0,0 +1,24 @@
+package com.example.record.taste;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface UserTasteProfileRepository extends JpaRepository<UserTasteProfile, String> {
+
+    /** 같은 사용자의 후기가 동시에 저장되어도 가중치 갱신이 유실되지 않도록 행 잠금 */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM UserTasteProfile p WHERE p.userId = :userId")
+    Optional<UserTasteProfile> findByIdForUpdate(@Param("userId") String userId);
+
+    /** 프로필이 없으면 빈 프로필 생성 (동시에 호출되어도 한 번만 생성, 생성했으면 1) */
+    @Modifying
+    @Query(value = "INSERT INTO user_taste_profiles (user_id, term_weights, genre_weights, review_count, updated_at) " +
+            "VALUES (:userId, '{}', '{}', 0, now()) ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") String userId);
+}
@@ -0,0 +1,108 @@
+package com.example.record.upload;
+
+import com.example.record.common.ApiResponse;
+import com.example.record.storage.MediaStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 로컬 저장소용 직접 업로드 엔드포인트 (S3 presigned PUT의 대체 구현)
+ *
+ * LocalUploadUrlSigner가 발급한 URL로만 호출할 수 있으며, JWT 대신 URL 서명으로 인가합니다.
+ * 요청 본문을 multipart 파싱 없이 그대로 저장소에 스트리밍합니다.
+ *
+ * 서명에 파일 크기가 들어 있으므로 Content-Length가 다르면(없는 chunked 요청 포함) 본문을 읽기 전에 거절하고,
+ * 본문도 그 크기까지만 읽습니다. (넘치면 저장하지 않고 실패)
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalDirectUploadController {
+
+    static final String PATH = "/uploads/direct";
+
+    private final LocalUploadUrlSigner signer;
+    private final MediaStorage mediaStorage;
+
+    // PUT /uploads/direct?key=...&expires=...&signature=... (본문: 파일 바이트)
+    @PutMapping(PATH)
+    public ResponseEntity<ApiResponse<?>> put(
+            @RequestParam("key") String key,
+            @RequestParam("expires") long expires,
+            @RequestParam("signature") String signature,
+            HttpServletRequest request
+    ) {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength < 0 || !signer.verify(key, expires, request.getContentType(), contentLength, signature)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ApiResponse<>(false, null, "업로드 URL이 유효하지 않거나 만료되었습니다."));
+        }
+
+        try (InputStream in = new LimitedInputStream(request.getInputStream(), contentLength)) {
+            mediaStorage.put(key, in, contentLength, request.getContentType());
+            return ResponseEntity.ok(new ApiResponse<>(true, null, "업로드가 완료되었습니다."));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("로컬 직접 업로드 실패: key={}, {}", key, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, null, "업로드 실패: " + e.getMessage()));
+        }
+    }
+
+    /** 최대 limit 바이트까지만 읽는 스트림 (넘는 바이트가 있으면 IOException) */
+    static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining == 0) {
+                return checkEnd();
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining == 0) {
+                return checkEnd();
+            }
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        /** 한도까지 읽은 뒤에는 본문이 정말 끝났는지 확인 */
+        private int checkEnd() throws IOException {
+            if (super.read() >= 0) {
+                throw new IOException("업로드 본문이 서명된 크기를 초과했습니다.");
+            }
+            return -1;
+        }
+    }
+}
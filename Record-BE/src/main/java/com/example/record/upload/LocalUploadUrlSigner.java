@@ -0,0 +1,81 @@
+package com.example.record.upload;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * 로컬 저장소용 업로드 URL 서명기 (S3 presigned URL의 대체 구현)
+ *
+ * 이유: 개발/테스트 환경에는 S3가 없으므로, 같은 흐름(서명 URL 발급 → 직접 PUT → 완료 콜백)을
+ *       HMAC 서명된 로컬 엔드포인트(PUT /uploads/direct)로 재현합니다.
+ *       서명에는 key, 만료 시각, Content-Type, 파일 크기가 포함되어 URL을 다른 파일/다른 타입/다른 크기에 재사용할 수 없습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalUploadUrlSigner implements UploadUrlSigner {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final byte[] secret;
+    private final String publicBaseUrl;
+
+    public LocalUploadUrlSigner(
+            @Value("${app.upload.signing-secret:${jwt.secret}}") String secret,
+            @Value("${app.upload.public-base-url:}") String publicBaseUrl
+    ) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1)
+                : publicBaseUrl;
+    }
+
+    @Override
+    public PresignedUpload presignPut(String key, String contentType, long contentLength, Duration ttl) {
+        Instant expiresAt = Instant.now().plus(ttl);
+        long expires = expiresAt.getEpochSecond();
+
+        String url = UriComponentsBuilder.fromUriString(publicBaseUrl + LocalDirectUploadController.PATH)
+                .queryParam("key", key)
+                .queryParam("expires", expires)
+                .queryParam("signature", sign(key, expires, contentType, contentLength))
+                .encode()
+                .toUriString();
+
+        return new PresignedUpload(url, Map.of("Content-Type", contentType), expiresAt);
+    }
+
+    /** 서명과 만료 시각이 유효한지 확인 (LocalDirectUploadController에서 사용) */
+    public boolean verify(String key, long expires, String contentType, long contentLength, String signature) {
+        if (key == null || signature == null || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        byte[] expected = sign(key, expires, contentType, contentLength).getBytes(StandardCharsets.UTF_8);
+        // 이유: 일반 equals는 앞에서부터 비교하다 멈추므로 응답 시간으로 서명을 추측할 수 있음
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String sign(String key, long expires, String contentType, long contentLength) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+            String payload = key + "\n" + expires + "\n" + (contentType == null ? "" : contentType)
+                    + "\n" + contentLength;
+            byte[] digest = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("업로드 URL 서명 실패", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.record.upload;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 발급된 업로드 URL
+ *
+ * @param url       PUT 요청을 보낼 주소
+ * @param headers   PUT 요청에 반드시 포함해야 하는 헤더 (서명에 포함된 Content-Type 등)
+ * @param expiresAt URL 만료 시각
+ */
+public record PresignedUpload(String url, Map<String, String> headers, Instant expiresAt) {
+}
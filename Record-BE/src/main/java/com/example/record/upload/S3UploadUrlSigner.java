@@ -0,0 +1,61 @@
+package com.example.record.upload;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * S3 presigned PUT URL 발급 (운영 환경)
+ *
+ * 클라이언트는 이 URL로 S3에 바로 업로드하므로 파일 바이트가 API 서버를 지나가지 않습니다.
+ * Content-Length를 서명에 포함하므로, 세션 생성 때 신고한 크기와 다른 본문은 S3가 저장하지 않고 거절합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3UploadUrlSigner implements UploadUrlSigner {
+
+    // 공유 presigner (S3Config에서 지연 생성되는 싱글톤)
+    private final ObjectProvider<S3Presigner> s3PresignerProvider;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    @Override
+    public PresignedUpload presignPut(String key, String contentType, long contentLength, Duration ttl) {
+        PutObjectRequest objectRequest = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .acl("public-read") // 기존 업로드와 동일하게 공개 URL로 접근 가능하도록 설정
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build();
+
+        PresignedPutObjectRequest presigned = s3PresignerProvider.getObject().presignPutObject(
+                PutObjectPresignRequest.builder()
+                        .signatureDuration(ttl)
+                        .putObjectRequest(objectRequest)
+                        .build());
+
+        // 서명에 포함된 헤더(Content-Type, x-amz-acl)는 클라이언트가 그대로 보내야 서명이 맞음
+        // (Host, Content-Length는 HTTP 클라이언트가 직접 채우므로 내려주지 않음)
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!"host".equalsIgnoreCase(name) && !"content-length".equalsIgnoreCase(name) && !values.isEmpty()) {
+                headers.put(name, values.get(0));
+            }
+        });
+
+        return new PresignedUpload(presigned.url().toString(), headers, presigned.expiration());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.record.upload;
+
+/**
+ * 업로드 세션의 용도
+ *
+ * 용도마다 저장 위치(key prefix), 허용 콘텐츠 타입, 최대 크기가 다르고
+ * 업로드 완료 콜백에서 수행할 후처리(OCR, STT, 프로필 반영)도 달라집니다.
+ */
+public enum UploadPurpose {
+
+    /** 티켓 사진 → 완료 시 OCR 수행 (기존 POST /ocr 대응) */
+    OCR("uploads/ocr", "image/", 20L * 1024 * 1024),
+
+    /**
+     * 공연 후기 음성 → 완료 시 STT 후 Transcription 저장 (기존 POST /stt/transcribe-and-save 대응)
+     * Whisper API가 25MB를 넘는 파일을 거절하므로 업로드 단계에서 같은 한도로 막습니다. (완료 처리 시 메모리로 읽음)
+     */
+    STT("uploads/stt", "audio/", 25L * 1024 * 1024),
+
+    /** 프로필 이미지 → 완료 시 User.profileImage 반영 (기존 PUT /users/me/profile-image 대응) */
+    PROFILE_IMAGE("uploads/profile", "image/", 5L * 1024 * 1024),
+
+    /** 일반 파일 → 후처리 없이 URL만 반환 (기존 POST /upload 대응) */
+    FILE("uploads/files", "", 200L * 1024 * 1024);
+
+    private final String keyPrefix;
+    private final String contentTypePrefix;
+    private final long maxBytes;
+
+    UploadPurpose(String keyPrefix, String contentTypePrefix, long maxBytes) {
+        this.keyPrefix = keyPrefix;
+        this.contentTypePrefix = contentTypePrefix;
+        this.maxBytes = maxBytes;
+    }
+
+    public String keyPrefix() {
+        return keyPrefix;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    /** 허용되는 콘텐츠 타입인지 (application/octet-stream은 모바일 앱 호환을 위해 항상 허용) */
+    public boolean accepts(String contentType) {
+        if (contentType == null) return false;
+        return contentType.startsWith(contentTypePrefix) || contentType.equals("application/octet-stream");
+    }
+}
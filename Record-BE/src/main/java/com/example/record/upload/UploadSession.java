@@ -0,0 +1,78 @@
+package com.example.record.upload;
+
+import com.example.record.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 직접 업로드 세션
+ *
+ * 흐름:
+ * 1) 클라이언트가 세션 생성 → 서버는 저장소 key를 정하고 presigned PUT URL을 발급
+ * 2) 클라이언트가 파일을 저장소(S3 또는 로컬 서명 엔드포인트)에 직접 PUT
+ * 3) 클라이언트가 완료 콜백 호출 → 서버는 저장소에서 파일을 읽어 OCR/STT 등 후처리
+ *
+ * 파일 바이트는 API 서버의 multipart 요청을 거치지 않습니다.
+ */
+@Entity
+@Table(name = "upload_sessions",
+        indexes = @Index(name = "idx_upload_sessions_user_id", columnList = "user_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+    /** PROCESSING: 완료 콜백이 세션을 선점하고 후처리 중 (중복 콜백 방지) */
+    public enum Status { PENDING, PROCESSING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 클라이언트에 노출하는 세션 식별자 (연속된 PK를 노출하지 않기 위해 UUID 사용) */
+    @Column(name = "session_id", length = 36, nullable = false, unique = true)
+    private String sessionId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private UploadPurpose purpose;
+
+    /** 저장소 key (예: uploads/stt/2025/11/uuid.m4a) */
+    @Column(name = "object_key", length = 500, nullable = false)
+    private String objectKey;
+
+    @Column(name = "original_filename", length = 255)
+    private String originalFilename;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    /** 클라이언트가 신고한 파일 크기 (바이트) */
+    @Column(name = "content_length")
+    private Long contentLength;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    /** presigned URL 만료 시각 (이후에는 완료 처리 불가) */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
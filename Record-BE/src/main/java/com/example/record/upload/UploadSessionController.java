@@ -0,0 +1,67 @@
+package com.example.record.upload;
+
+import com.example.record.auth.security.AuthUser;
+import com.example.record.common.ApiResponse;
+import com.example.record.upload.dto.CreateUploadSessionRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 직접 업로드 세션 API
+ *
+ * 1) POST /upload-sessions                     → 업로드 URL 발급
+ * 2) (클라이언트) uploadUrl 로 파일 PUT          → 저장소에 직접 업로드
+ * 3) POST /upload-sessions/{sessionId}/complete → OCR/STT/프로필 반영 등 후처리
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/upload-sessions")
+public class UploadSessionController {
+
+    private final UploadSessionService uploadSessionService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<?>> create(
+            @AuthenticationPrincipal AuthUser authUser,
+            @RequestBody CreateUploadSessionRequest req
+    ) {
+        if (authUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>(false, null, "로그인이 필요합니다."));
+        }
+
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true,
+                    uploadSessionService.create(authUser.getUser(), req), "업로드 URL이 발급되었습니다."));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{sessionId}/complete")
+    public ResponseEntity<ApiResponse<?>> complete(
+            @AuthenticationPrincipal AuthUser authUser,
+            @PathVariable String sessionId
+    ) {
+        if (authUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>(false, null, "로그인이 필요합니다."));
+        }
+
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true,
+                    uploadSessionService.complete(authUser.getUser(), sessionId), "업로드 처리가 완료되었습니다."));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, null, e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(false, null, e.getMessage()));
+        } catch (Exception e) {
+            // 이유: OCR/STT 실패도 ApiResponse 형식으로 내려야 프론트에서 메시지를 안내할 수 있다.
+            return ResponseEntity.status(422)
+                    .body(new ApiResponse<>(false, null, "업로드 후처리 실패: " + e.getMessage()));
+        }
+    }
+}
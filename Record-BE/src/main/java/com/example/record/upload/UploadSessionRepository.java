@@ -0,0 +1,30 @@
+package com.example.record.upload;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+    Optional<UploadSession> findBySessionId(String sessionId);
+
+    /**
+     * 완료 처리할 세션을 선점합니다. (PENDING이고 만료 전일 때만 PROCESSING으로)
+     *
+     * 조회 후 상태 확인만 하면 같은 세션의 완료 콜백이 동시에 두 번 들어왔을 때 둘 다 OCR/STT를 수행하므로,
+     * 조건부 UPDATE 한 번으로 한 요청만 통과시킵니다.
+     *
+     * @return 1이면 선점 성공, 0이면 다른 요청이 이미 처리 중/처리 완료했거나 만료됨
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.status = com.example.record.upload.UploadSession.Status.PROCESSING " +
+            "WHERE s.id = :id AND s.status = com.example.record.upload.UploadSession.Status.PENDING " +
+            "AND s.expiresAt > :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,243 @@
+package com.example.record.upload;
+
+import com.example.record.STTorText.entity.Transcription;
+import com.example.record.STTorText.entity.TranscriptionRepository;
+import com.example.record.STTorText.stt.SttService;
+import com.example.record.STTorText.stt.WhisperService;
+import com.example.record.ocr.OcrService;
+import com.example.record.storage.ContentAddressedBlobStore;
+import com.example.record.storage.MediaStorage;
+import com.example.record.storage.StoredBlob;
+import com.example.record.upload.dto.CreateUploadSessionRequest;
+import com.example.record.upload.dto.UploadCompleteResponse;
+import com.example.record.upload.dto.UploadSessionResponse;
+import com.example.record.user.User;
+import com.example.record.user.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 업로드 세션 서비스
+ *
+ * 역할: 직접 업로드 URL 발급(세션 생성)과 업로드 완료 후 후처리(OCR/STT/프로필 반영)를 담당합니다.
+ *
+ * 왜 필요한가요?
+ * - 기존에는 음성(/stt), 티켓 사진(/ocr), 프로필 이미지, 일반 파일(/upload)이 모두
+ *   multipart 요청으로 API 서버를 통과하여 Tomcat 스레드와 대역폭을 오래 점유했습니다.
+ * - 이제 파일은 저장소에 직접 올라가고, 서버는 완료 콜백에서 저장소에서 읽어 처리만 합니다.
+ *
+ * 참고: 완료 처리(OCR/STT)는 외부 API 호출이 길어 DB 트랜잭션으로 감싸지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadSessionService {
+
+    /** 발급한 업로드 URL의 유효 시간 */
+    private static final Duration UPLOAD_URL_TTL = Duration.ofMinutes(15);
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadUrlSigner uploadUrlSigner;
+    private final MediaStorage mediaStorage;
+    private final ContentAddressedBlobStore blobStore;
+    private final OcrService ocrService;
+    private final SttService sttService;
+    private final WhisperService whisperService;
+    private final TranscriptionRepository transcriptionRepository;
+    private final UserService userService;
+
+    /**
+     * 업로드 세션을 만들고 직접 업로드용 URL을 발급합니다.
+     */
+    public UploadSessionResponse create(User user, CreateUploadSessionRequest req) {
+        UploadPurpose purpose = req.getPurpose();
+        if (purpose == null) {
+            throw new IllegalArgumentException("업로드 용도(purpose)를 지정해야 합니다.");
+        }
+        String contentType = req.getContentType();
+        if (!purpose.accepts(contentType)) {
+            throw new IllegalArgumentException("허용되지 않는 파일 형식입니다: " + contentType);
+        }
+        Long contentLength = req.getContentLength();
+        if (contentLength == null || contentLength <= 0) {
+            throw new IllegalArgumentException("파일 크기(contentLength)를 지정해야 합니다.");
+        }
+        if (contentLength > purpose.maxBytes()) {
+            throw new IllegalArgumentException("파일 용량은 " + purpose.maxBytes() / (1024 * 1024) + "MB 이하여야 합니다.");
+        }
+
+        String key = buildKey(purpose, req.getFilename());
+        PresignedUpload upload = uploadUrlSigner.presignPut(key, contentType, contentLength, UPLOAD_URL_TTL);
+
+        UploadSession session = uploadSessionRepository.save(UploadSession.builder()
+                .sessionId(UUID.randomUUID().toString())
+                .user(user)
+                .purpose(purpose)
+                .objectKey(key)
+                .originalFilename(req.getFilename())
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .expiresAt(LocalDateTime.now().plus(UPLOAD_URL_TTL))
+                .build());
+
+        return UploadSessionResponse.of(session, upload);
+    }
+
+    /**
+     * 업로드 완료 콜백: 저장소에 파일이 올라왔는지 확인하고 용도별 후처리를 수행합니다.
+     */
+    public UploadCompleteResponse complete(User user, String sessionId) throws Exception {
+        UploadSession session = uploadSessionRepository.findBySessionId(sessionId)
+                .filter(s -> s.getUser().getId().equals(user.getId()))
+                .orElseThrow(() -> new IllegalArgumentException("업로드 세션을 찾을 수 없습니다."));
+
+        if (session.getStatus() != UploadSession.Status.PENDING) {
+            throw new IllegalStateException("이미 처리된 업로드 세션입니다.");
+        }
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("업로드 세션이 만료되었습니다.");
+        }
+        // 아직 업로드되지 않았으면 세션을 선점하지 않음 (PENDING 그대로 두어 업로드 후 다시 호출 가능)
+        String key = session.getObjectKey();
+        long size = mediaStorage.sizeOf(key);
+        if (size < 0) {
+            throw new IllegalStateException("저장소에서 업로드된 파일을 찾을 수 없습니다.");
+        }
+        // 동시에 들어온 완료 콜백 중 하나만 후처리 (나머지는 여기서 거절)
+        if (uploadSessionRepository.claim(session.getId(), LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("이미 처리 중이거나 처리된 업로드 세션입니다.");
+        }
+        session.setStatus(UploadSession.Status.PROCESSING);
+
+        if (size > session.getPurpose().maxBytes()) {
+            // 신고한 크기보다 큰 파일을 올린 경우 → 저장소에서 제거
+            mediaStorage.delete(key);
+            markFailed(session);
+            throw new IllegalArgumentException("파일 용량이 허용 범위를 초과했습니다.");
+        }
+
+        String url = mediaStorage.publicUrl(key);
+        String adoptedUrl = null;
+        Map<String, Object> result;
+        try {
+            if (session.getPurpose() == UploadPurpose.PROFILE_IMAGE || session.getPurpose() == UploadPurpose.FILE) {
+                // 오래 보관되는 파일은 내용 주소 기반 blob으로 옮겨 같은 파일의 중복 저장을 막음
+                adoptedUrl = adoptAsBlob(session);
+                url = adoptedUrl;
+            }
+            result = process(user, session, url);
+        } catch (Exception e) {
+            log.warn("업로드 후처리 실패: sessionId={}, purpose={}, {}", sessionId, session.getPurpose(), e.getMessage());
+            if (adoptedUrl != null) {
+                // 방금 올린 참조를 되돌림 (그대로 두면 ref_count가 남아 blob이 지워지지 않음)
+                blobStore.release(adoptedUrl);
+            }
+            markFailed(session);
+            throw e;
+        }
+
+        session.setStatus(UploadSession.Status.COMPLETED);
+        session.setCompletedAt(LocalDateTime.now());
+        uploadSessionRepository.save(session);
+
+        return UploadCompleteResponse.builder()
+                .sessionId(sessionId)
+                .purpose(session.getPurpose())
+                .url(url)
+                .result(result)
+                .build();
+    }
+
+    private Map<String, Object> process(User user, UploadSession session, String url) throws Exception {
+        Map<String, Object> result = new LinkedHashMap<>();
+        switch (session.getPurpose()) {
+            case OCR -> {
+                Path image = copyToTemp(session.getObjectKey(), ".img");
+                try {
+                    String text = ocrService.extractTextFromImage(image.toFile());
+                    result.put("text", text == null ? "" : text);
+                } finally {
+                    Files.deleteIfExists(image);
+                }
+            }
+            case STT -> {
+                String filename = session.getOriginalFilename();
+                byte[] bytes;
+                try (InputStream in = mediaStorage.open(session.getObjectKey())) {
+                    bytes = in.readAllBytes();
+                }
+                bytes = sttService.maybeReencodeToM4a(bytes, filename);
+                String transcript = whisperService.transcribe(bytes, filename, "ko");
+
+                Transcription t = transcriptionRepository.save(Transcription.builder()
+                        .user(user)
+                        .fileName(filename)
+                        .resultText(transcript)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+                result.put("transcriptionId", t.getId());
+                result.put("text", transcript);
+            }
+            case PROFILE_IMAGE -> userService.updateProfileImageUrl(user, url);
+            case FILE -> { /* 후처리 없음 */ }
+        }
+        return result;
+    }
+
+    /** 세션 key로 올라온 객체를 blob 저장소로 옮기고(중복이면 기존 blob 참조) 원래 객체는 삭제 */
+    private String adoptAsBlob(UploadSession session) throws Exception {
+        String key = session.getObjectKey();
+        int dot = key.lastIndexOf('.');
+        String ext = dot > key.lastIndexOf('/') ? key.substring(dot + 1) : "";
+
+        StoredBlob blob;
+        try (InputStream in = mediaStorage.open(key)) {
+            blob = blobStore.store(in, session.getContentType(), ext);
+        }
+        mediaStorage.delete(key);
+        return blob.url();
+    }
+
+    private Path copyToTemp(String key, String suffix) throws Exception {
+        Path temp = Files.createTempFile("upload_", suffix);
+        try (InputStream in = mediaStorage.open(key)) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    private void markFailed(UploadSession session) {
+        session.setStatus(UploadSession.Status.FAILED);
+        uploadSessionRepository.save(session);
+    }
+
+    /** {purpose prefix}/yyyy/MM/uuid.ext (원래 파일명은 경로에 쓰지 않음) */
+    private static String buildKey(UploadPurpose purpose, String filename) {
+        String ext = "";
+        if (filename != null) {
+            int dot = filename.lastIndexOf('.');
+            String candidate = dot >= 0 ? filename.substring(dot + 1).toLowerCase() : "";
+            if (candidate.matches("[a-z0-9]{1,8}")) {
+                ext = "." + candidate;
+            }
+        }
+        LocalDate today = LocalDate.now();
+        return String.format("%s/%d/%02d/%s%s",
+                purpose.keyPrefix(), today.getYear(), today.getMonthValue(), UUID.randomUUID(), ext);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.record.upload;
+
+import java.time.Duration;
+
+/**
+ * 저장소 직접 업로드용 URL 서명기
+ *
+ * - S3UploadUrlSigner: S3 presigned PUT URL (app.storage.type=s3, 기본값)
+ * - LocalUploadUrlSigner: HMAC 서명된 로컬 PUT 엔드포인트 (dev 프로필, app.storage.type=local)
+ *
+ * 두 구현 모두 신고한 파일 크기(contentLength)를 서명에 넣으므로, 다른 크기의 본문은 저장되기 전에 거절됩니다.
+ */
+public interface UploadUrlSigner {
+
+    PresignedUpload presignPut(String key, String contentType, long contentLength, Duration ttl);
+}
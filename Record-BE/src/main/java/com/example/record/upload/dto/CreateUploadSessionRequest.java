@@ -0,0 +1,17 @@
+package com.example.record.upload.dto;
+
+import com.example.record.upload.UploadPurpose;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateUploadSessionRequest {
+    private UploadPurpose purpose;
+    private String filename;
+    private String contentType;
+    /** 업로드할 파일 크기 (bytes) */
+    private Long contentLength;
+}
@@ -0,0 +1,29 @@
+package com.example.record.upload.dto;
+
+import com.example.record.upload.UploadPurpose;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 업로드 완료 콜백 응답
+ *
+ * result 내용은 용도별로 다릅니다.
+ * - OCR: { text }
+ * - STT: { transcriptionId, text }
+ * - PROFILE_IMAGE / FILE: 비어 있음 (url만 사용)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadCompleteResponse {
+
+    private String sessionId;
+    private UploadPurpose purpose;
+    private String url;
+    private Map<String, Object> result;
+}
@@ -0,0 +1,43 @@
+package com.example.record.upload.dto;
+
+import com.example.record.upload.PresignedUpload;
+import com.example.record.upload.UploadPurpose;
+import com.example.record.upload.UploadSession;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 업로드 세션 생성 응답
+ *
+ * 클라이언트는 uploadUrl로 파일을 PUT(headers 포함)한 뒤
+ * POST /upload-sessions/{sessionId}/complete 를 호출합니다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponse {
+
+    private String sessionId;
+    private UploadPurpose purpose;
+    private String uploadUrl;
+    private String uploadMethod;
+    private Map<String, String> uploadHeaders;
+    private Instant expiresAt;
+
+    public static UploadSessionResponse of(UploadSession session, PresignedUpload upload) {
+        return UploadSessionResponse.builder()
+                .sessionId(session.getSessionId())
+                .purpose(session.getPurpose())
+                .uploadUrl(upload.url())
+                .uploadMethod("PUT")
+                .uploadHeaders(upload.headers())
+                .expiresAt(upload.expiresAt())
+                .build();
+    }
+}
@@ -1,16 +1,96 @@
 package com.example.record.user;
 
+import com.example.record.ApiKeyService;
+import com.example.record.common.ApiResponse;
+import com.example.record.review.entity.Ticket;
+import com.example.record.review.repository.TicketRepository;
+import com.example.record.review.service.QuestionStatsService;
+import com.example.record.storage.ImageVariantService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/admin")
+@RequiredArgsConstructor
 public class AdminController {
 
+    private final TicketRepository ticketRepository;
+    private final ImageVariantService imageVariantService;
+    private final ApiKeyService apiKeyService;
+    private final QuestionStatsService questionStatsService;
+
     // GET /admin/dashboard 요청 시 관리자용 메시지 반환
     @GetMapping("/dashboard")
     public String adminDashboard() {
         return "관리자 전용 페이지입니다.";
     }
+
+    // POST /admin/media/variants/backfill : 파생 이미지 도입 이전에 저장된 티켓 이미지의 썸네일/중간 크기 일괄 생성
+    @PostMapping("/media/variants/backfill")
+    public ResponseEntity<ApiResponse<?>> backfillImageVariants() {
+        int processed = 0;
+        int pageNumber = 0;
+        Page<Ticket> page;
+        do {
+            // 100건씩 나눠서 처리 (전체 티켓을 한 번에 메모리에 올리지 않음)
+            page = ticketRepository.findAll(PageRequest.of(pageNumber++, 100));
+            for (Ticket ticket : page) {
+                imageVariantService.ensureVariants(ticket.getImageUrl());
+                processed++;
+            }
+        } while (page.hasNext());
+
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, Map.of("processed", processed), "파생 이미지 생성이 완료되었습니다.")
+        );
+    }
+
+    // GET /admin/api-keys : 발급된 API 키 목록 (원본 키 대신 앞부분과 오늘 사용량)
+    @GetMapping("/api-keys")
+    public ResponseEntity<ApiResponse<?>> listApiKeys() {
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, apiKeyService.list(), "API 키 목록 조회 성공")
+        );
+    }
+
+    // POST /admin/api-keys?userId=...&dailyQuota=... : API 키 발급 (원본 키는 이 응답에서 한 번만 확인 가능)
+    @PostMapping("/api-keys")
+    public ResponseEntity<ApiResponse<?>> issueApiKey(@RequestParam String userId,
+                                                      @RequestParam(required = false) Long dailyQuota) {
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, apiKeyService.issue(userId, dailyQuota), "API 키가 발급되었습니다.")
+        );
+    }
+
+    // DELETE /admin/api-keys/{id} : API 키 삭제 (즉시 검증 캐시에서도 제거)
+    @DeleteMapping("/api-keys/{id}")
+    public ResponseEntity<ApiResponse<?>> deleteApiKey(@PathVariable Long id) {
+        if (!apiKeyService.delete(id)) {
+            return ResponseEntity.badRequest().body(
+                    new ApiResponse<>(false, null, "API 키를 찾을 수 없습니다.")
+            );
+        }
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, null, "API 키가 삭제되었습니다.")
+        );
+    }
+
+    // GET /admin/question-stats : 장르/카테고리별 질문 템플릿·맞춤 질문 개수 (주기적으로 집계한 값)
+    @GetMapping("/question-stats")
+    public ResponseEntity<ApiResponse<?>> questionStats() {
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, questionStatsService.get(), "질문 통계 조회 성공")
+        );
+    }
 }
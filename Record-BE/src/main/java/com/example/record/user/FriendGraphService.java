@@ -0,0 +1,102 @@
+package com.example.record.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 친구 그래프 (사용자별 친구 ID 집합 캐시)
+ *
+ * 왜 필요한가요?
+ * - 예전 친구 수 조회는 ACCEPTED 친구 관계 행을 전부 불러와 size()를 세었습니다.
+ *   (친구가 많을수록 프로필 화면이 느려짐)
+ * - 이제 친구 ID 집합을 한 번만 불러와 캐시하고, 친구 수/친구 여부/함께 아는 친구를 메모리에서 계산합니다.
+ *
+ * 무효화: 친구 요청 수락/거절/삭제 시 FriendshipChangedEvent를 받아 두 사용자의 캐시를 지웁니다.
+ * TTL은 다른 서버 인스턴스에서 변경된 내용이 늦게 반영되는 최대 시간입니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class FriendGraphService {
+
+    private final FriendshipRepository friendshipRepository;
+
+    @Value("${app.friend-graph.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${app.friend-graph.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, Entry> adjacency = new ConcurrentHashMap<>();
+
+    private record Entry(Set<String> friendIds, long loadedAt) {}
+
+    /** 친구 ID 집합 (읽기 전용) */
+    public Set<String> friendIds(String userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = adjacency.get(userId);
+        if (entry != null && now - entry.loadedAt() < ttlMs) {
+            return entry.friendIds();
+        }
+
+        Set<String> loaded = Set.copyOf(friendshipRepository.findFriendIds(userId));
+        if (adjacency.size() >= maxEntries) {
+            adjacency.values().removeIf(e -> now - e.loadedAt() >= ttlMs);
+            if (adjacency.size() >= maxEntries) {
+                adjacency.clear();
+            }
+        }
+        adjacency.put(userId, new Entry(loaded, now));
+        return loaded;
+    }
+
+    /** 친구 수 */
+    public long friendCount(String userId) {
+        return friendIds(userId).size();
+    }
+
+    /** 두 사용자가 친구인지 */
+    public boolean areFriends(String userId, String otherId) {
+        return friendIds(userId).contains(otherId);
+    }
+
+    /** 함께 아는 친구 (작은 집합을 돌면서 큰 집합에서 찾음) */
+    public Set<String> mutualFriends(String userId, String otherId) {
+        Set<String> mine = friendIds(userId);
+        Set<String> theirs = friendIds(otherId);
+        Set<String> smaller = mine.size() <= theirs.size() ? mine : theirs;
+        Set<String> larger = smaller == mine ? theirs : mine;
+
+        Set<String> mutual = new HashSet<>();
+        for (String id : smaller) {
+            if (larger.contains(id)) {
+                mutual.add(id);
+            }
+        }
+        return mutual;
+    }
+
+    /** 받은 대기 중인 친구 요청 수 (COUNT 쿼리) */
+    public long pendingRequestCount(String userId) {
+        return friendshipRepository.countByFriend_IdAndStatus(userId, "PENDING");
+    }
+
+    public void evict(String userId) {
+        if (userId != null) {
+            adjacency.remove(userId);
+        }
+    }
+
+    /** 커밋된 변경만 반영 (롤백된 수락/삭제로 캐시가 바뀌지 않도록) */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFriendshipChanged(FriendshipChangedEvent event) {
+        evict(event.userId());
+        evict(event.friendId());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.record.user;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 압축 친구 인접 리스트
+ *
+ * 사용자 ID(문자열)를 0부터 시작하는 정수 인덱스로 바꾸고, 사용자마다 친구 인덱스를 정렬된 int[]로 보관합니다.
+ * (Set<String>보다 메모리가 훨씬 작고, 친구 여부는 이진 탐색으로 확인)
+ *
+ * 동기화는 FriendSuggestionService의 읽기/쓰기 잠금으로 처리합니다.
+ */
+class FriendIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<String, Integer> indexOf = new HashMap<>();
+    private final List<String> userIds = new ArrayList<>();
+    private final List<int[]> neighbors = new ArrayList<>();
+
+    /** 없으면 -1 */
+    int indexOf(String userId) {
+        Integer index = indexOf.get(userId);
+        return index != null ? index : -1;
+    }
+
+    String userIdAt(int index) {
+        return userIds.get(index);
+    }
+
+    int[] neighbors(int index) {
+        return neighbors.get(index);
+    }
+
+    static boolean contains(int[] sorted, int index) {
+        return Arrays.binarySearch(sorted, index) >= 0;
+    }
+
+    void link(String a, String b) {
+        int ia = indexFor(a);
+        int ib = indexFor(b);
+        neighbors.set(ia, insert(neighbors.get(ia), ib));
+        neighbors.set(ib, insert(neighbors.get(ib), ia));
+    }
+
+    void unlink(String a, String b) {
+        int ia = indexOf(a);
+        int ib = indexOf(b);
+        if (ia < 0 || ib < 0) {
+            return;
+        }
+        neighbors.set(ia, remove(neighbors.get(ia), ib));
+        neighbors.set(ib, remove(neighbors.get(ib), ia));
+    }
+
+    private int indexFor(String userId) {
+        return indexOf.computeIfAbsent(userId, id -> {
+            userIds.add(id);
+            neighbors.add(EMPTY);
+            return userIds.size() - 1;
+        });
+    }
+
+    private static int[] insert(int[] sorted, int value) {
+        int pos = Arrays.binarySearch(sorted, value);
+        if (pos >= 0) {
+            return sorted;
+        }
+        int at = -pos - 1;
+        int[] next = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, next, 0, at);
+        next[at] = value;
+        System.arraycopy(sorted, at, next, at + 1, sorted.length - at);
+        return next;
+    }
+
+    private static int[] remove(int[] sorted, int value) {
+        int pos = Arrays.binarySearch(sorted, value);
+        if (pos < 0) {
+            return sorted;
+        }
+        int[] next = new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, next, 0, pos);
+        System.arraycopy(sorted, pos + 1, next, pos, sorted.length - pos - 1);
+        return next;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.record.user;
+
+import java.util.List;
+
+/**
+ * 친구 추천 항목
+ *
+ * @param userId            추천 사용자 ID
+ * @param nickname          닉네임
+ * @param profileImage      프로필 이미지 URL
+ * @param mutualFriendCount 함께 아는 친구 수
+ * @param sharedGenres      함께 본 장르
+ * @param sharedTitles      함께 본 공연 제목
+ * @param score             정렬 점수 (높을수록 먼저)
+ */
+public record FriendSuggestion(
+        String userId,
+        String nickname,
+        String profileImage,
+        int mutualFriendCount,
+        List<String> sharedGenres,
+        List<String> sharedTitles,
+        double score
+) {}
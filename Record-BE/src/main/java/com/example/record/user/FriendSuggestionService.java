@@ -0,0 +1,242 @@
+package com.example.record.user;
+
+import com.example.record.review.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 친구 추천 (친구의 친구)
+ *
+ * 1. 메모리의 압축 인접 리스트(FriendIndex)에서 친구의 친구를 세어 함께 아는 친구 수를 구합니다.
+ *    (JPA로 친구 → 친구 목록을 따라가는 N+1 조회 없음)
+ * 2. 함께 아는 친구가 많은 후보 일부만 골라, 티켓 장르/공연 제목이 겹치는 정도를 한 번의 쿼리로 더해 정렬합니다.
+ *
+ * 인덱스는 처음 사용할 때 수락된 친구 관계 전체로 만들고,
+ * 이후에는 FriendshipChangedEvent(수락/삭제)로 해당 두 사용자만 갱신합니다.
+ * 다른 서버 인스턴스의 변경은 rebuild-ms마다 백그라운드에서 전체를 다시 만들어 반영합니다.
+ * (요청은 재생성을 기다리지 않고 기존 인덱스를 사용합니다)
+ *
+ * 재생성은 rebuildLock으로 한 번에 하나만 실행합니다.
+ * DB를 읽는 동안 들어온 이벤트는 replay에 모아 두었다가 새 인덱스에 다시 적용하므로,
+ * 읽은 시점 이후의 변경이 교체와 함께 사라지지 않습니다. (link/unlink는 여러 번 적용해도 결과가 같음)
+ */
+@Service
+@RequiredArgsConstructor
+public class FriendSuggestionService {
+
+    // 점수 가중치: 함께 아는 친구 1명 = 1, 겹치는 장르 1개 = 0.5, 같은 공연 1편 = 1.5
+    private static final double GENRE_WEIGHT = 0.5;
+    private static final double TITLE_WEIGHT = 1.5;
+    // 취향 점수를 계산할 후보 수 (limit의 몇 배까지 볼지)
+    private static final int CANDIDATE_FACTOR = 5;
+
+    private final FriendshipRepository friendshipRepository;
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private FriendIndex index;
+    /** 재생성 중에 받은 이벤트 (재생성 중이 아니면 null) */
+    private List<FriendshipChangedEvent> replay;
+
+    private record Candidate(String userId, int mutual) {}
+
+    @Transactional(readOnly = true)
+    public List<FriendSuggestion> suggest(String userId, int limit) {
+        ensureIndex();
+
+        List<Candidate> candidates = mutualCandidates(userId, limit * CANDIDATE_FACTOR);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        // 이미 요청을 주고받은 사용자는 제외
+        Set<String> pending = new HashSet<>(friendshipRepository.findPendingCounterpartIds(userId));
+        candidates.removeIf(c -> pending.contains(c.userId()));
+
+        List<String> ids = new ArrayList<>(candidates.size() + 1);
+        ids.add(userId);
+        candidates.forEach(c -> ids.add(c.userId()));
+
+        Map<String, Set<String>> genres = new HashMap<>();
+        Map<String, Set<String>> titles = new HashMap<>();
+        for (TicketRepository.TasteRow row : ticketRepository.findTasteRows(ids)) {
+            if (row.getGenre() != null) {
+                genres.computeIfAbsent(row.getUserId(), k -> new HashSet<>()).add(row.getGenre());
+            }
+            if (row.getPerformanceTitle() != null) {
+                titles.computeIfAbsent(row.getUserId(), k -> new HashSet<>()).add(row.getPerformanceTitle());
+            }
+        }
+        Set<String> myGenres = genres.getOrDefault(userId, Set.of());
+        Set<String> myTitles = titles.getOrDefault(userId, Set.of());
+
+        Map<String, User> users = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<FriendSuggestion> suggestions = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            User user = users.get(candidate.userId());
+            if (user == null) {
+                continue; // 탈퇴한 사용자
+            }
+            List<String> sharedGenres = intersect(myGenres, genres.getOrDefault(candidate.userId(), Set.of()));
+            List<String> sharedTitles = intersect(myTitles, titles.getOrDefault(candidate.userId(), Set.of()));
+            double score = candidate.mutual()
+                    + GENRE_WEIGHT * sharedGenres.size()
+                    + TITLE_WEIGHT * sharedTitles.size();
+            suggestions.add(new FriendSuggestion(
+                    user.getId(), user.getNickname(), user.getProfileImage(),
+                    candidate.mutual(), sharedGenres, sharedTitles, score));
+        }
+
+        suggestions.sort(Comparator.comparingDouble(FriendSuggestion::score).reversed()
+                .thenComparing(FriendSuggestion::userId));
+        return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+    }
+
+    /** 수락/삭제된 친구 관계만 인덱스에 반영 (인덱스가 아직 없으면 다음 생성 때 DB에서 읽음) */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFriendshipChanged(FriendshipChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (replay != null) {
+                replay.add(event);
+            }
+            if (index != null) {
+                apply(index, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 다른 서버 인스턴스의 변경 반영 (아직 한 번도 사용하지 않았으면 건너뜀) */
+    @Scheduled(fixedDelayString = "${app.friend-suggestion.rebuild-ms:3600000}",
+            initialDelayString = "${app.friend-suggestion.rebuild-ms:3600000}")
+    public void refresh() {
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        rebuild(false);
+    }
+
+    /** 함께 아는 친구 수가 많은 순으로 친구가 아닌 후보를 고릅니다. */
+    private List<Candidate> mutualCandidates(String userId, int max) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        List<Candidate> candidates = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            int me = index.indexOf(userId);
+            if (me < 0) {
+                return candidates;
+            }
+            int[] myFriends = index.neighbors(me);
+            for (int friend : myFriends) {
+                for (int fof : index.neighbors(friend)) {
+                    if (fof != me && !FriendIndex.contains(myFriends, fof)) {
+                        counts.merge(fof, 1, Integer::sum);
+                    }
+                }
+            }
+            counts.forEach((i, mutual) -> candidates.add(new Candidate(index.userIdAt(i), mutual)));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        candidates.sort(Comparator.comparingInt(Candidate::mutual).reversed()
+                .thenComparing(Candidate::userId));
+        return candidates.size() > max ? new ArrayList<>(candidates.subList(0, max)) : candidates;
+    }
+
+    /** 첫 사용이면 인덱스를 만듭니다. (동시에 들어온 요청은 같은 생성을 기다림) */
+    private void ensureIndex() {
+        lock.readLock().lock();
+        try {
+            if (index != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        rebuild(true);
+    }
+
+    /** @param onlyIfMissing true면 잠금을 기다리는 동안 다른 요청이 이미 만들었을 때 건너뜀 */
+    private void rebuild(boolean onlyIfMissing) {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                if (onlyIfMissing && index != null) {
+                    return;
+                }
+                replay = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            FriendIndex fresh = new FriendIndex();
+            for (Object[] pair : friendshipRepository.findAcceptedPairs()) {
+                fresh.link((String) pair[0], (String) pair[1]);
+            }
+
+            lock.writeLock().lock();
+            try {
+                replay.forEach(event -> apply(fresh, event));
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    private static void apply(FriendIndex target, FriendshipChangedEvent event) {
+        switch (event.type()) {
+            case ACCEPTED -> target.link(event.userId(), event.friendId());
+            case DELETED -> target.unlink(event.userId(), event.friendId());
+            default -> { }
+        }
+    }
+
+    private static List<String> intersect(Set<String> mine, Set<String> theirs) {
+        List<String> shared = new ArrayList<>();
+        for (String value : theirs) {
+            if (mine.contains(value)) {
+                shared.add(value);
+            }
+        }
+        shared.sort(null);
+        return shared;
+    }
+}
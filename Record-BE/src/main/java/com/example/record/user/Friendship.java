@@ -19,7 +19,10 @@ import java.time.LocalDateTime;
  * 5. 친구 관계 상태 관리
  */
 @Entity
-@Table(name = "friendships")
+@Table(name = "friendships", indexes = {
+        @Index(name = "idx_friendships_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_friendships_friend_status", columnList = "friend_id, status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,19 @@
+package com.example.record.user;
+
+/**
+ * 친구 관계 변경 이벤트 (수락/거절/삭제 시 FriendshipService가 발행)
+ *
+ * 친구 그래프 캐시(FriendGraphService)가 트랜잭션 커밋 후 이 이벤트를 받아 두 사용자의 캐시를 갱신합니다.
+ *
+ * @param userId   요청을 보낸 사용자 ID
+ * @param friendId 요청을 받은 사용자 ID
+ * @param type     변경 종류
+ */
+public record FriendshipChangedEvent(String userId, String friendId, Type type) {
+
+    public enum Type {
+        ACCEPTED,   // 친구가 됨
+        REJECTED,   // 요청 거절 (친구 목록 변화 없음)
+        DELETED     // 친구 관계/요청 삭제
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 친구 관계 컨트롤러
@@ -25,6 +26,7 @@ import java.util.Map;
 public class FriendshipController {
 
     private final FriendshipService friendshipService;
+    private final FriendSuggestionService friendSuggestionService;
 
     /**
      * 친구 요청을 보냅니다.
@@ -115,7 +117,7 @@ public class FriendshipController {
     @GetMapping("/{userId}/friends")
     public ResponseEntity<?> getFriends(@PathVariable String userId) {
         try {
-            List<Friendship> friends = friendshipService.getFriends(userId);
+            List<FriendshipView> friends = friendshipService.getFriends(userId);
             return ResponseEntity.ok(friends);
         } catch (Exception e) {
             return ResponseEntity.status(500).body("서버 오류가 발생했습니다.");
@@ -131,7 +133,7 @@ public class FriendshipController {
     @GetMapping("/{userId}/sent-requests")
     public ResponseEntity<?> getSentFriendRequests(@PathVariable String userId) {
         try {
-            List<Friendship> sentRequests = friendshipService.getSentFriendRequests(userId);
+            List<FriendshipView> sentRequests = friendshipService.getSentFriendRequests(userId);
             return ResponseEntity.ok(sentRequests);
         } catch (Exception e) {
             return ResponseEntity.status(500).body("서버 오류가 발생했습니다.");
@@ -147,7 +149,7 @@ public class FriendshipController {
     @GetMapping("/{userId}/received-requests")
     public ResponseEntity<?> getReceivedFriendRequests(@PathVariable String userId) {
         try {
-            List<Friendship> receivedRequests = friendshipService.getReceivedFriendRequests(userId);
+            List<FriendshipView> receivedRequests = friendshipService.getReceivedFriendRequests(userId);
             return ResponseEntity.ok(receivedRequests);
         } catch (Exception e) {
             return ResponseEntity.status(500).body("서버 오류가 발생했습니다.");
@@ -210,5 +212,40 @@ public class FriendshipController {
             return ResponseEntity.status(500).body("서버 오류가 발생했습니다.");
         }
     }
-}
 
+    /**
+     * 함께 아는 친구를 조회합니다.
+     *
+     * @param userId 사용자 ID
+     * @param otherId 상대 사용자 ID
+     * @return 함께 아는 친구 수와 ID 목록
+     */
+    @GetMapping("/{userId}/mutual/{otherId}")
+    public ResponseEntity<?> getMutualFriends(@PathVariable String userId, @PathVariable String otherId) {
+        try {
+            Set<String> mutual = friendshipService.getMutualFriendIds(userId, otherId);
+            return ResponseEntity.ok(Map.of("mutualCount", mutual.size(), "userIds", mutual));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("서버 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 친구 추천 목록을 조회합니다. (함께 아는 친구 수 + 관람 취향 유사도 순)
+     *
+     * @param userId 사용자 ID
+     * @param limit 최대 개수 (기본 10, 최대 50)
+     * @return 추천 사용자 목록
+     */
+    @GetMapping("/{userId}/suggestions")
+    public ResponseEntity<?> getFriendSuggestions(@PathVariable String userId,
+                                                  @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<FriendSuggestion> suggestions =
+                    friendSuggestionService.suggest(userId, Math.max(1, Math.min(limit, 50)));
+            return ResponseEntity.ok(suggestions);
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("서버 오류가 발생했습니다.");
+        }
+    }
+}
@@ -27,20 +27,28 @@ import java.util.Optional;
 public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
 
     /**
-     * 특정 사용자가 보낸 친구 요청을 조회합니다.
+     * 특정 사용자가 보낸 친구 요청을 조회합니다. (상대방 = 받은 사용자)
      *
      * @param userId 요청을 보낸 사용자 ID
      * @return 해당 사용자가 보낸 친구 요청 목록
      */
-    List<Friendship> findByUser_Id(String userId);
+    @Query("SELECT new com.example.record.user.FriendshipView(" +
+            "f.id, f.status, fr.id, fr.nickname, fr.profileImage, f.createdAt) " +
+            "FROM Friendship f JOIN f.friend fr " +
+            "WHERE f.user.id = :userId ORDER BY f.createdAt DESC")
+    List<FriendshipView> findSentViews(@Param("userId") String userId);
 
     /**
-     * 특정 사용자에게 온 친구 요청을 조회합니다.
+     * 특정 사용자에게 온 친구 요청을 조회합니다. (상대방 = 보낸 사용자)
      *
      * @param friendId 요청을 받은 사용자 ID
      * @return 해당 사용자에게 온 친구 요청 목록
      */
-    List<Friendship> findByFriend_Id(String friendId);
+    @Query("SELECT new com.example.record.user.FriendshipView(" +
+            "f.id, f.status, u.id, u.nickname, u.profileImage, f.createdAt) " +
+            "FROM Friendship f JOIN f.user u " +
+            "WHERE f.friend.id = :friendId ORDER BY f.createdAt DESC")
+    List<FriendshipView> findReceivedViews(@Param("friendId") String friendId);
 
     /**
      * 특정 사용자 간의 친구 관계를 조회합니다.
@@ -55,24 +63,53 @@ public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
     Optional<Friendship> findByUser_IdAndFriend_IdOrUser_IdAndFriend_Id(String userId1, String friendId1, String userId2, String friendId2);
 
     /**
-     * 특정 사용자 간의 친구 요청이 존재하는지 확인합니다.
-     * (user-friend 또는 friend-user 관계 모두 포함)
+     * 특정 사용자의 친구 목록을 조회합니다. (상태가 ACCEPTED인 경우, 상대방 정보만)
      *
      * @param userId 사용자 ID
-     * @param friendId 친구 ID
-     * @return 친구 요청이 존재하면 true, 아니면 false
+     * @return 해당 사용자의 친구 목록
      */
-    boolean existsByUser_IdAndFriend_Id(String userId, String friendId);
+    @Query("SELECT new com.example.record.user.FriendshipView(f.id, f.status, " +
+            "CASE WHEN u.id = :userId THEN fr.id ELSE u.id END, " +
+            "CASE WHEN u.id = :userId THEN fr.nickname ELSE u.nickname END, " +
+            "CASE WHEN u.id = :userId THEN fr.profileImage ELSE u.profileImage END, " +
+            "f.createdAt) " +
+            "FROM Friendship f JOIN f.user u JOIN f.friend fr " +
+            "WHERE f.status = 'ACCEPTED' AND (u.id = :userId OR fr.id = :userId) " +
+            "ORDER BY f.createdAt DESC")
+    List<FriendshipView> findFriendViews(@Param("userId") String userId);
 
     /**
-     * 특정 사용자의 친구 목록을 조회합니다. (상태가 ACCEPTED인 경우)
-     *
-     * @param userId1 첫 번째 사용자 ID
-     * @param status1 첫 번째 상태
-     * @param userId2 두 번째 사용자 ID
-     * @param status2 두 번째 상태
-     * @return 해당 사용자의 친구 목록
+     * 두 사용자 사이에 친구 관계(요청 포함)가 있는지 한 번의 쿼리로 확인합니다. (방향 무관)
      */
-    List<Friendship> findByUser_IdAndStatusOrFriend_IdAndStatus(String userId1, String status1, String userId2, String status2);
-}
+    @Query("SELECT COUNT(f) > 0 FROM Friendship f " +
+            "WHERE (f.user.id = :userId AND f.friend.id = :otherId) " +
+            "   OR (f.user.id = :otherId AND f.friend.id = :userId)")
+    boolean existsBetween(@Param("userId") String userId, @Param("otherId") String otherId);
+
+    /**
+     * 특정 사용자의 친구 ID 목록 (상태가 ACCEPTED인 경우, 상대방 ID만 조회)
+     */
+    @Query("SELECT CASE WHEN f.user.id = :userId THEN f.friend.id ELSE f.user.id END " +
+            "FROM Friendship f " +
+            "WHERE f.status = 'ACCEPTED' AND (f.user.id = :userId OR f.friend.id = :userId)")
+    List<String> findFriendIds(@Param("userId") String userId);
 
+    /**
+     * 특정 사용자가 받은 특정 상태의 요청 수 (행을 불러오지 않고 COUNT만)
+     */
+    long countByFriend_IdAndStatus(String friendId, String status);
+
+    /**
+     * 수락된 친구 관계 전체를 (요청자 ID, 수신자 ID) 쌍으로 조회합니다. (친구 추천 인덱스 생성용)
+     */
+    @Query("SELECT f.user.id, f.friend.id FROM Friendship f WHERE f.status = 'ACCEPTED'")
+    List<Object[]> findAcceptedPairs();
+
+    /**
+     * 특정 사용자와 대기 중인 요청이 있는 상대방 ID 목록 (보낸/받은 요청 모두)
+     */
+    @Query("SELECT CASE WHEN f.user.id = :userId THEN f.friend.id ELSE f.user.id END " +
+            "FROM Friendship f " +
+            "WHERE f.status = 'PENDING' AND (f.user.id = :userId OR f.friend.id = :userId)")
+    List<String> findPendingCounterpartIds(@Param("userId") String userId);
+}
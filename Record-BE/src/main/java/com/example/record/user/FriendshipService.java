@@ -1,11 +1,13 @@
 package com.example.record.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * 친구 관계 서비스
@@ -27,6 +29,8 @@ public class FriendshipService {
 
     private final FriendshipRepository friendshipRepository;
     private final UserRepository userRepository;
+    private final FriendGraphService friendGraphService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 친구 요청을 보냅니다.
@@ -53,8 +57,7 @@ public class FriendshipService {
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
 
         // 이미 친구 요청이 있는지 확인
-        if (friendshipRepository.existsByUser_IdAndFriend_Id(requesterId, targetId) ||
-                friendshipRepository.existsByUser_IdAndFriend_Id(targetId, requesterId)) {
+        if (friendshipRepository.existsBetween(requesterId, targetId)) {
             throw new IllegalArgumentException("이미 친구 요청이 있거나 친구 관계가 존재합니다.");
         }
 
@@ -103,6 +106,7 @@ public class FriendshipService {
         // 친구 요청 수락
         friendship.accept();
         friendshipRepository.save(friendship);
+        publishChanged(friendship, FriendshipChangedEvent.Type.ACCEPTED);
         return true;
     }
 
@@ -137,6 +141,7 @@ public class FriendshipService {
         // 친구 요청 거절
         friendship.reject();
         friendshipRepository.save(friendship);
+        publishChanged(friendship, FriendshipChangedEvent.Type.REJECTED);
         return true;
     }
 
@@ -146,8 +151,8 @@ public class FriendshipService {
      * @param userId 사용자 ID
      * @return 해당 사용자의 친구 목록
      */
-    public List<Friendship> getFriends(String userId) {
-        return friendshipRepository.findByUser_IdAndStatusOrFriend_IdAndStatus(userId, "ACCEPTED", userId, "ACCEPTED");
+    public List<FriendshipView> getFriends(String userId) {
+        return friendshipRepository.findFriendViews(userId);
     }
 
     /**
@@ -156,8 +161,8 @@ public class FriendshipService {
      * @param userId 사용자 ID
      * @return 해당 사용자가 보낸 친구 요청 목록
      */
-    public List<Friendship> getSentFriendRequests(String userId) {
-        return friendshipRepository.findByUser_Id(userId);
+    public List<FriendshipView> getSentFriendRequests(String userId) {
+        return friendshipRepository.findSentViews(userId);
     }
 
     /**
@@ -166,8 +171,8 @@ public class FriendshipService {
      * @param userId 사용자 ID
      * @return 해당 사용자가 받은 친구 요청 목록
      */
-    public List<Friendship> getReceivedFriendRequests(String userId) {
-        return friendshipRepository.findByFriend_Id(userId);
+    public List<FriendshipView> getReceivedFriendRequests(String userId) {
+        return friendshipRepository.findReceivedViews(userId);
     }
 
     /**
@@ -207,6 +212,7 @@ public class FriendshipService {
 
         // 친구 관계 삭제
         friendshipRepository.delete(friendship);
+        publishChanged(friendship, FriendshipChangedEvent.Type.DELETED);
         return true;
     }
 
@@ -217,7 +223,7 @@ public class FriendshipService {
      * @return 해당 사용자의 친구 수
      */
     public long getFriendCount(String userId) {
-        return friendshipRepository.findByUser_IdAndStatusOrFriend_IdAndStatus(userId, "ACCEPTED", userId, "ACCEPTED").size();
+        return friendGraphService.friendCount(userId);
     }
 
     /**
@@ -227,9 +233,23 @@ public class FriendshipService {
      * @return 해당 사용자가 받은 대기 중인 친구 요청 수
      */
     public long getPendingFriendRequestCount(String userId) {
-        return friendshipRepository.findByFriend_Id(userId).stream()
-                .filter(friendship -> "PENDING".equals(friendship.getStatus()))
-                .count();
+        return friendGraphService.pendingRequestCount(userId);
+    }
+
+    /**
+     * 두 사용자가 함께 아는 친구 ID 목록을 조회합니다.
+     *
+     * @param userId 사용자 ID
+     * @param otherId 상대 사용자 ID
+     * @return 함께 아는 친구 ID 집합
+     */
+    public Set<String> getMutualFriendIds(String userId, String otherId) {
+        return friendGraphService.mutualFriends(userId, otherId);
+    }
+
+    private void publishChanged(Friendship friendship, FriendshipChangedEvent.Type type) {
+        eventPublisher.publishEvent(new FriendshipChangedEvent(
+                friendship.getUser().getId(), friendship.getFriend().getId(), type));
     }
 }
 
@@ -0,0 +1,25 @@
+package com.example.record.user;
+
+import java.time.LocalDateTime;
+
+/**
+ * 친구 목록/보낸 요청/받은 요청 응답용 읽기 모델
+ *
+ * Friendship 엔티티(LAZY user/friend 프록시)를 그대로 직렬화하면 행마다 users 조회가 추가로 발생하므로,
+ * 상대방의 id/닉네임/프로필 이미지만 조인 한 번으로 조회하여 이 레코드에 담습니다.
+ *
+ * @param friendshipId 친구 관계 ID (수락/거절/삭제 요청에 사용)
+ * @param status       PENDING / ACCEPTED / REJECTED
+ * @param userId       상대방 사용자 ID
+ * @param nickname     상대방 닉네임
+ * @param profileImage 상대방 프로필 이미지 URL
+ * @param createdAt    요청 시각
+ */
+public record FriendshipView(
+        Long friendshipId,
+        String status,
+        String userId,
+        String nickname,
+        String profileImage,
+        LocalDateTime createdAt
+) {}
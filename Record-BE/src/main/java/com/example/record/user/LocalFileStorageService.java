@@ -1,65 +1,45 @@
 package com.example.record.user;
 
+import com.example.record.storage.ContentAddressedBlobStore;
+import com.example.record.storage.StoredBlob;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.Instant;
-import java.util.UUID;
+import java.io.InputStream;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class LocalFileStorageService {
 
     /**
-     * 실제 파일이 저장될 루트 디렉토리
-     * 예) ./uploads/profile-images
+     * 내용 주소 기반 blob 저장소
+     *
+     * 이유: 예전에는 userId_타임스탬프_UUID 파일명으로 uploads/profile-images에 저장하여
+     *       같은 사진을 다시 올릴 때마다 파일이 늘어났습니다.
+     *       이제 같은 내용은 하나의 blob을 공유하고, 기존 이미지는 UserService.deleteOldImage에서 참조 해제합니다.
+     *       (예전 /uploads/profile-images/** URL은 WebConfig에서 계속 서빙)
      */
-    private final String profileImageDir;
-
-    /**
-     * 클라이언트에 내려줄 때 사용할 URL prefix
-     * 예) /uploads/profile-images
-     */
-    private final String profileImageUrlPrefix;
-
-    public LocalFileStorageService(
-            @Value("${app.upload.profile-image-dir:uploads/profile-images}") String profileImageDir,
-            @Value("${app.upload.profile-image-url-prefix:/uploads/profile-images}") String profileImageUrlPrefix
-    ) {
-        this.profileImageDir = profileImageDir;
-        this.profileImageUrlPrefix = profileImageUrlPrefix;
-    }
+    private final ContentAddressedBlobStore blobStore;
 
     public String saveProfileImage(String userId, MultipartFile file) {
         try {
-            // 디렉토리 생성
-            Path uploadDir = Paths.get(profileImageDir).toAbsolutePath().normalize();
-            Files.createDirectories(uploadDir);
-
             // 파일 확장자 추출
             String originalFilename = file.getOriginalFilename();
             String ext = "";
             if (originalFilename != null && originalFilename.contains(".")) {
-                ext = originalFilename.substring(originalFilename.lastIndexOf("."));
+                ext = originalFilename.substring(originalFilename.lastIndexOf(".") + 1);
             }
 
-            // 파일명: userId_타임스탬프_UUID.ext
-            String filename = userId + "_" + Instant.now().toEpochMilli() + "_" + UUID.randomUUID() + ext;
-
-            // 타겟 경로
-            Path target = uploadDir.resolve(filename);
-            file.transferTo(target.toFile());
-
-            // 클라이언트에 내려줄 URL (예: /uploads/profile-images/xxx.png)
-            String url = profileImageUrlPrefix + "/" + filename;
+            StoredBlob blob;
+            try (InputStream in = file.getInputStream()) {
+                blob = blobStore.store(in, file.getContentType(), ext);
+            }
 
-            log.info("Saved profile image for user {} at {}", userId, target);
-            return url;
+            log.info("Saved profile image for user {} at {} (reused={})", userId, blob.key(), !blob.created());
+            return blob.url();
         } catch (Exception e) {
             log.error("Failed to save profile image for user {}", userId, e);
             throw new RuntimeException("프로필 이미지를 저장할 수 없습니다.", e);
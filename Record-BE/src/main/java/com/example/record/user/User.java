@@ -44,6 +44,17 @@ public class User {
     @Column(name = "profile_image", length = 500)
     private String profileImage;
 
+    /**
+     * 토큰 버전 (JWT의 "ver" claim과 비교)
+     *
+     * 비밀번호 변경/임시 비밀번호 발급 시 1 증가시키면, 그 전에 발급된 액세스/리프레시 토큰이 모두 무효가 됩니다.
+     * updatable = false: 오래된 User 객체를 save(merge)해도 값이 되돌아가지 않도록,
+     * 증가는 UserRepository.incrementTokenVersion(UPDATE 쿼리)로만 합니다.
+     */
+    @Column(name = "token_version", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer tokenVersion = 0;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
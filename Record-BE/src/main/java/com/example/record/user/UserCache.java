@@ -0,0 +1,102 @@
+package com.example.record.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자 엔티티 캐시
+ *
+ * 왜 필요한가요?
+ * - 예전 JwtAuthenticationFilter는 모든 요청마다 userRepository.findById로 User를 조회했습니다.
+ * - 이제 인증 주체(AuthUser)는 토큰 claims(id, role)만으로 만들고,
+ *   User 엔티티가 꼭 필요한 컨트롤러만 이 캐시를 통해 조회합니다.
+ *
+ * 무효화: 프로필/프로필 이미지 수정, 비밀번호 변경, 임시 비밀번호 발급, 회원탈퇴 시 evict(id)를 호출합니다.
+ * 트랜잭션 안에서 호출하면 커밋 후에 한 번 더 지웁니다. (onUserChanged)
+ * 커밋 전에 다른 요청이 옛 값을 다시 읽어 캐시에 넣으면 TTL 동안 옛 값이 남기 때문입니다.
+ * TTL은 다른 서버 인스턴스에서 변경된 내용이 늦게 반영되는 최대 시간입니다.
+ *
+ * 참고: 여러 요청이 같은 객체를 동시에 수정하지 않도록 캐시된 엔티티의 복사본을 돌려줍니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.user-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${app.user-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    private record Entry(User user, long loadedAt) {}
+
+    /** id로 사용자 조회 (캐시에 없거나 TTL이 지났으면 DB 조회) */
+    public Optional<User> get(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+
+        Entry entry = cache.get(id);
+        if (entry != null && now - entry.loadedAt() < ttlMs) {
+            return Optional.of(copyOf(entry.user()));
+        }
+
+        Optional<User> loaded = userRepository.findById(id);
+        if (loaded.isEmpty()) {
+            cache.remove(id);
+            return Optional.empty();
+        }
+
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(e -> now - e.loadedAt() >= ttlMs);
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(id, new Entry(copyOf(loaded.get()), now));
+        // 캐시에 있을 때와 같이 복사본을 반환 (관리 중인 엔티티를 넘기면 호출자의 수정이 영속성 컨텍스트에 반영됨)
+        return Optional.of(copyOf(loaded.get()));
+    }
+
+    /** 사용자 정보가 바뀌었거나 삭제되었을 때 호출 */
+    public void evict(String id) {
+        if (id != null) {
+            cache.remove(id);
+            eventPublisher.publishEvent(new UserChangedEvent(id));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.remove(event.userId());
+    }
+
+    private static User copyOf(User u) {
+        return User.builder()
+                .id(u.getId())
+                .email(u.getEmail())
+                .password(u.getPassword())
+                .nickname(u.getNickname())
+                .role(u.getRole())
+                .favorite(u.getFavorite())
+                .isAccountPrivate(u.getIsAccountPrivate())
+                .profileImage(u.getProfileImage())
+                .tokenVersion(u.getTokenVersion())
+                .createdAt(u.getCreatedAt())
+                .updatedAt(u.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.record.user;
+
+/**
+ * 사용자 정보 변경 이벤트 (UserCache.evict가 발행)
+ *
+ * 사용자 캐시(UserCache)가 트랜잭션 커밋 후 이 이벤트를 받아 해당 사용자를 한 번 더 지웁니다.
+ *
+ * @param userId 정보가 바뀌었거나 삭제된 사용자 ID
+ */
+public record UserChangedEvent(String userId) {
+}
@@ -18,7 +18,6 @@ import org.springframework.web.multipart.MultipartFile;
 @RequiredArgsConstructor
 public class UserController {
 
-    private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserService userService;
 
@@ -130,7 +129,7 @@ public class UserController {
             }
         }
 
-        userRepository.delete(user);
+        userService.deleteAccount(user);
         return ResponseEntity.ok(
                 new ApiResponse<>(true, null, "회원탈퇴가 완료되었습니다.")
         );
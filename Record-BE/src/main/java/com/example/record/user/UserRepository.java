@@ -1,6 +1,11 @@
 package com.example.record.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, String> {
@@ -12,4 +17,14 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     // 비밀번호 재설정 (id + email 일치 검증)
     Optional<User> findByIdAndEmail(String id, String email);
+
+    // 토큰 버전만 조회 (TokenVersionCache에서 사용, 엔티티 전체를 읽지 않음)
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") String id);
+
+    // 토큰 버전 1 증가 → 이전에 발급된 토큰 모두 무효화
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") String id);
 }
@@ -1,5 +1,10 @@
 package com.example.record.user;
 
+import com.example.record.auth.jwt.RefreshTokenService;
+import com.example.record.search.SearchIndexService;
+import com.example.record.storage.ContentAddressedBlobStore;
+import com.example.record.storage.MediaStorage;
+import com.example.record.taste.TasteProfileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -8,6 +13,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +21,12 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final LocalFileStorageService localFileStorageService;
+    private final MediaStorage mediaStorage;
+    private final ContentAddressedBlobStore blobStore;
+    private final UserCache userCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TasteProfileService tasteProfileService;
+    private final SearchIndexService searchIndexService;
 
     @Transactional
     public User updateProfile(User user, UserController.UpdateProfileRequest req) {
@@ -29,7 +41,9 @@ public class UserService {
             user.setIsAccountPrivate(req.getIsAccountPrivate());
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.evict(user.getId());
+        return saved;
     }
 
     // ────────────────────────────────────────────
@@ -49,7 +63,33 @@ public class UserService {
         user.setProfileImage(imageUrl);
 
         // 4) DB 저장
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.evict(user.getId());
+        return saved;
+    }
+
+    // ────────────────────────────────────────────
+    //  직접 업로드(업로드 세션)로 저장소에 올라간 이미지를 프로필로 반영
+    // ────────────────────────────────────────────
+    @Transactional
+    public User updateProfileImageUrl(User user, String imageUrl) {
+        deleteOldImage(user.getProfileImage());
+        user.setProfileImage(imageUrl);
+        User saved = userRepository.save(user);
+        userCache.evict(user.getId());
+        return saved;
+    }
+
+    // ────────────────────────────────────────────
+    //  회원탈퇴 (토큰 무효화, 취향 프로필/검색 문서 삭제를 한 트랜잭션에서)
+    // ────────────────────────────────────────────
+    @Transactional
+    public void deleteAccount(User user) {
+        refreshTokenService.revokeAll(user.getId());
+        tasteProfileService.delete(user.getId());
+        searchIndexService.removeUser(user.getId());
+        userRepository.delete(user);
+        userCache.evict(user.getId());
     }
 
     // ────────────────────────────────────────────
@@ -58,6 +98,16 @@ public class UserService {
     private void deleteOldImage(String imageUrl) {
         if (imageUrl == null || imageUrl.isBlank()) return;
 
+        // 저장소(S3/로컬 media)에 올라간 이미지: blob이면 참조 해제(마지막 참조일 때만 실제 삭제)
+        Optional<String> mediaKey = mediaStorage.keyOf(imageUrl);
+        if (mediaKey.isPresent()) {
+            if (!blobStore.release(imageUrl)) {
+                mediaStorage.delete(mediaKey.get());
+            }
+            return;
+        }
+        if (!imageUrl.startsWith("/uploads/profile-images/")) return;
+
         try {
             // URL → 파일 이름만 추출
             String filename = imageUrl.replace("/uploads/profile-images/", "");
@@ -0,0 +1,18 @@
+-- IDENTITY → SEQUENCE로 바꾼 테이블의 시퀀스 맞추기 (시퀀스 자체는 엔티티의 @SequenceGenerator로 Hibernate가 생성)
+-- 새 시퀀스는 1부터 시작하므로, IDENTITY 시절에 쓰인 최대 id가 시퀀스보다 크면 시퀀스를 최대 id로 올립니다.
+-- 다음 nextval은 max_id + 50 → Hibernate는 max_id+1 ~ max_id+50 구간을 사용합니다.
+--
+-- 한 번 맞춘 뒤에는 id가 시퀀스 값을 넘지 않으므로 조건이 다시 참이 되지 않습니다.
+-- (max_id = last_value는 정상 운영 중에도 생기므로 아직 nextval을 부르지 않은 새 시퀀스에서만 맞춤)
+-- 그래서 여러 인스턴스가 동시에 시작해도 이미 쓰고 있는 시퀀스를 되돌리지 않습니다.
+SELECT setval('reviews_seq', t.max_id)
+  FROM (SELECT MAX(id) AS max_id FROM reviews) t, reviews_seq s
+ WHERE t.max_id > s.last_value OR (NOT s.is_called AND t.max_id >= s.last_value);
+
+SELECT setval('review_questions_seq', t.max_id)
+  FROM (SELECT MAX(id) AS max_id FROM review_questions) t, review_questions_seq s
+ WHERE t.max_id > s.last_value OR (NOT s.is_called AND t.max_id >= s.last_value);
+
+SELECT setval('generated_image_url_seq', t.max_id)
+  FROM (SELECT MAX(id) AS max_id FROM generated_image_url) t, generated_image_url_seq s
+ WHERE t.max_id > s.last_value OR (NOT s.is_called AND t.max_id >= s.last_value);
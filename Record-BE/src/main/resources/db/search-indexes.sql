@@ -0,0 +1,4 @@
+-- 검색 문서 전문 검색용 GIN 인덱스 (search_documents 테이블은 SearchDocument 엔티티로 생성)
+-- 식 인덱스는 JPA @Index로 만들 수 없어 Hibernate 스키마 생성 뒤에 실행합니다.
+CREATE INDEX IF NOT EXISTS idx_search_documents_tokens
+    ON search_documents USING gin (to_tsvector('simple', tokens));
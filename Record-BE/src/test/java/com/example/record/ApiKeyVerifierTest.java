@@ -0,0 +1,121 @@
+package com.example.record;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyVerifierTest {
+
+    @Mock
+    private ApiKeyRepository apiKeyRepository;
+
+    @Mock
+    private ApiKeyUsageRepository apiKeyUsageRepository;
+
+    @InjectMocks
+    private ApiKeyVerifier apiKeyVerifier;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(apiKeyVerifier, "maxCached", 100);
+        ReflectionTestUtils.setField(apiKeyVerifier, "negativeMaxEntries", 100);
+        ReflectionTestUtils.setField(apiKeyVerifier, "negativeTtlMs", 60_000L);
+        ReflectionTestUtils.setField(apiKeyVerifier, "refreshMs", 60_000L);
+    }
+
+    @Test
+    void keyWithinQuotaIsCountedInDatabase() {
+        givenKeys(key("raw-1", 2L));
+        when(apiKeyUsageRepository.tryIncrement(ApiKeyVerifier.hash("raw-1"), 2L)).thenReturn(1);
+
+        assertThat(apiKeyVerifier.verifyAndCount("raw-1")).isEqualTo(ApiKeyVerifier.Result.VALID);
+    }
+
+    @Test
+    void keyIsRejectedWhenDatabaseRefusesIncrement() {
+        givenKeys(key("raw-1", 2L));
+        when(apiKeyUsageRepository.tryIncrement(ApiKeyVerifier.hash("raw-1"), 2L)).thenReturn(0);
+
+        assertThat(apiKeyVerifier.verifyAndCount("raw-1")).isEqualTo(ApiKeyVerifier.Result.QUOTA_EXCEEDED);
+    }
+
+    @Test
+    void unlimitedKeyIsNotCounted() {
+        givenKeys(key("raw-1", null));
+
+        assertThat(apiKeyVerifier.verifyAndCount("raw-1")).isEqualTo(ApiKeyVerifier.Result.VALID);
+        verifyNoInteractions(apiKeyUsageRepository);
+    }
+
+    @Test
+    void zeroQuotaIsRejectedWithoutWriting() {
+        givenKeys(key("raw-1", 0L));
+
+        assertThat(apiKeyVerifier.verifyAndCount("raw-1")).isEqualTo(ApiKeyVerifier.Result.QUOTA_EXCEEDED);
+        verifyNoInteractions(apiKeyUsageRepository);
+    }
+
+    @Test
+    void unknownKeyIsRejectedWithoutLookupWhenAllKeysAreCached() {
+        givenKeys(key("raw-1", null));
+
+        assertThat(apiKeyVerifier.verifyAndCount("other")).isEqualTo(ApiKeyVerifier.Result.INVALID);
+        verify(apiKeyRepository, never()).findByKeyHash(any());
+    }
+
+    @Test
+    void unknownKeyIsLookedUpOnceWhenCacheIsPartial() {
+        when(apiKeyRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(key("raw-1", null)), PageRequest.of(0, 1), 5));
+        when(apiKeyRepository.findByKeyHash(ApiKeyVerifier.hash("other"))).thenReturn(Optional.empty());
+
+        assertThat(apiKeyVerifier.verifyAndCount("other")).isEqualTo(ApiKeyVerifier.Result.INVALID);
+        assertThat(apiKeyVerifier.verifyAndCount("other")).isEqualTo(ApiKeyVerifier.Result.INVALID);
+        verify(apiKeyRepository, times(1)).findByKeyHash(ApiKeyVerifier.hash("other"));
+    }
+
+    @Test
+    void keysAreReloadedAfterCommittedChange() {
+        when(apiKeyRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()), new PageImpl<>(List.of(key("raw-1", null))));
+
+        assertThat(apiKeyVerifier.verifyAndCount("raw-1")).isEqualTo(ApiKeyVerifier.Result.INVALID);
+
+        apiKeyVerifier.onApiKeysChanged(new ApiKeysChangedEvent());
+
+        assertThat(apiKeyVerifier.verifyAndCount("raw-1")).isEqualTo(ApiKeyVerifier.Result.VALID);
+    }
+
+    @Test
+    void blankKeyIsRejectedWithoutLoading() {
+        assertThat(apiKeyVerifier.verifyAndCount(" ")).isEqualTo(ApiKeyVerifier.Result.INVALID);
+        verifyNoInteractions(apiKeyRepository, apiKeyUsageRepository);
+    }
+
+    private void givenKeys(ApiKey... keys) {
+        when(apiKeyRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(keys)));
+    }
+
+    private static ApiKey key(String rawKey, Long dailyQuota) {
+        return new ApiKey("user1", ApiKeyVerifier.hash(rawKey), rawKey.substring(0, 3), dailyQuota);
+    }
+}
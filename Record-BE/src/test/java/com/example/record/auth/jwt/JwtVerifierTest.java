@@ -0,0 +1,104 @@
+package com.example.record.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtVerifierTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @InjectMocks
+    private JwtVerifier jwtVerifier;
+
+    private final long oneHourLater = System.currentTimeMillis() + 3_600_000;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtVerifier, "maxEntries", 2);
+    }
+
+    @Test
+    void sameTokenIsParsedOnlyOnce() {
+        when(jwtUtil.parseClaims("t1")).thenReturn(claims("user1", "USER", oneHourLater));
+
+        Optional<VerifiedToken> first = jwtVerifier.verify("t1");
+        Optional<VerifiedToken> second = jwtVerifier.verify("t1");
+
+        assertThat(first).isPresent();
+        assertThat(first.get().userId()).isEqualTo("user1");
+        assertThat(first.get().role()).isEqualTo("USER");
+        assertThat(second).isEqualTo(first);
+        verify(jwtUtil, times(1)).parseClaims("t1");
+    }
+
+    @Test
+    void invalidTokenIsRejectedAndNotCached() {
+        when(jwtUtil.parseClaims("bad")).thenThrow(new MalformedJwtException("malformed"));
+
+        assertThat(jwtVerifier.verify("bad")).isEmpty();
+        assertThat(jwtVerifier.verify("bad")).isEmpty();
+        verify(jwtUtil, times(2)).parseClaims("bad");
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceExpired() throws InterruptedException {
+        when(jwtUtil.parseClaims("t1")).thenReturn(claims("user1", "USER", System.currentTimeMillis() + 50));
+
+        assertThat(jwtVerifier.verify("t1")).isPresent();
+        Thread.sleep(80);
+
+        assertThat(jwtVerifier.verify("t1")).isEmpty();
+    }
+
+    @Test
+    void invalidateDropsCachedToken() {
+        when(jwtUtil.parseClaims("t1")).thenReturn(claims("user1", "USER", oneHourLater));
+
+        jwtVerifier.verify("t1");
+        jwtVerifier.invalidate("t1");
+        jwtVerifier.verify("t1");
+
+        verify(jwtUtil, times(2)).parseClaims("t1");
+    }
+
+    @Test
+    void fullCacheIsClearedInsteadOfGrowing() {
+        when(jwtUtil.parseClaims("t1")).thenReturn(claims("user1", "USER", oneHourLater));
+        when(jwtUtil.parseClaims("t2")).thenReturn(claims("user2", "USER", oneHourLater));
+        when(jwtUtil.parseClaims("t3")).thenReturn(claims("user3", "USER", oneHourLater));
+
+        jwtVerifier.verify("t1");
+        jwtVerifier.verify("t2");
+        jwtVerifier.verify("t3"); // 최대 2개 → 만료 항목이 없으므로 비우고 t3만 보관
+        jwtVerifier.verify("t3");
+        jwtVerifier.verify("t1");
+
+        verify(jwtUtil, times(1)).parseClaims("t3");
+        verify(jwtUtil, times(2)).parseClaims("t1");
+    }
+
+    private static Claims claims(String userId, String role, long expiresAtMillis) {
+        Claims claims = Jwts.claims().setSubject(userId);
+        claims.put("role", role);
+        claims.setExpiration(new Date(expiresAtMillis));
+        return claims;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.record.auth.jwt;
+
+import com.example.record.user.User;
+import com.example.record.user.UserCache;
+import com.example.record.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final User user = User.builder().id("user1").tokenVersion(3).build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationMs", 60_000L);
+    }
+
+    @Test
+    void issueStoresOnlyTheHashOfTheToken() {
+        String raw = refreshTokenService.issue(user);
+
+        RefreshToken saved = savedToken();
+        assertThat(saved.getTokenHash()).isEqualTo(sha256(raw)).isNotEqualTo(raw);
+        assertThat(saved.getUserId()).isEqualTo("user1");
+        assertThat(saved.getTokenVersion()).isEqualTo(3);
+        assertThat(saved.getRevoked()).isFalse();
+        assertThat(saved.getExpiresAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    void rotateRevokesUsedTokenAndIssuesNextOneInSameFamily() {
+        RefreshToken current = token(3, false, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHashForUpdate(sha256("raw"))).thenReturn(Optional.of(current));
+        when(userRepository.findById("user1")).thenReturn(Optional.of(user));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw");
+
+        assertThat(rotation.user()).isSameAs(user);
+        assertThat(rotation.refreshToken()).isNotEqualTo("raw");
+        assertThat(current.getRevoked()).isTrue();
+        RefreshToken next = savedToken();
+        assertThat(next.getFamilyId()).isEqualTo("family1");
+        assertThat(next.getTokenHash()).isEqualTo(sha256(rotation.refreshToken()));
+    }
+
+    @Test
+    void reusedTokenRevokesWholeFamily() {
+        RefreshToken current = token(3, true, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHashForUpdate(sha256("raw"))).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(refreshTokenRepository).revokeFamily("family1");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        RefreshToken current = token(3, false, LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHashForUpdate(sha256("raw"))).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        assertThat(current.getRevoked()).isTrue();
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void tokenIssuedBeforeVersionBumpIsRejected() {
+        RefreshToken current = token(2, false, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHashForUpdate(sha256("raw"))).thenReturn(Optional.of(current));
+        when(userRepository.findById("user1")).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        assertThat(current.getRevoked()).isTrue();
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        when(refreshTokenRepository.findByTokenHashForUpdate(sha256("raw"))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void revokeAllRevokesRefreshTokensAndAccessTokenVersion() {
+        refreshTokenService.revokeAll("user1");
+
+        verify(refreshTokenRepository).revokeAllByUserId("user1");
+        verify(tokenVersionCache).revoke("user1");
+        verify(userCache).evict("user1");
+    }
+
+    private RefreshToken savedToken() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private static RefreshToken token(int tokenVersion, boolean revoked, LocalDateTime expiresAt) {
+        return RefreshToken.builder()
+                .tokenHash(sha256("raw"))
+                .userId("user1")
+                .familyId("family1")
+                .tokenVersion(tokenVersion)
+                .expiresAt(expiresAt)
+                .revoked(revoked)
+                .build();
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.record.auth.jwt;
+
+import com.example.record.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TokenVersionCache tokenVersionCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenVersionCache, "refreshMs", 60_000L);
+    }
+
+    @Test
+    void versionIsLoadedOnceAndComparedInMemory() {
+        when(userRepository.findTokenVersionById("user1")).thenReturn(Optional.of(2));
+
+        assertThat(tokenVersionCache.isCurrent("user1", 2)).isTrue();
+        assertThat(tokenVersionCache.isCurrent("user1", 1)).isFalse();
+        verify(userRepository, times(1)).findTokenVersionById("user1");
+    }
+
+    @Test
+    void deletedUserIsNeverCurrent() {
+        when(userRepository.findTokenVersionById("user1")).thenReturn(Optional.empty());
+
+        assertThat(tokenVersionCache.isCurrent("user1", 0)).isFalse();
+    }
+
+    @Test
+    void revokedVersionIsCachedOnlyAfterCommit() {
+        when(userRepository.findTokenVersionById("user1")).thenReturn(Optional.of(2), Optional.of(3));
+        assertThat(tokenVersionCache.isCurrent("user1", 2)).isTrue();
+
+        tokenVersionCache.revoke("user1");
+
+        verify(userRepository).incrementTokenVersion("user1");
+        verify(eventPublisher).publishEvent(new TokenVersionRevokedEvent("user1"));
+        assertThat(tokenVersionCache.isCurrent("user1", 2)).isTrue(); // 커밋 전에는 그대로
+
+        tokenVersionCache.onRevoked(new TokenVersionRevokedEvent("user1"));
+
+        assertThat(tokenVersionCache.isCurrent("user1", 2)).isFalse();
+        assertThat(tokenVersionCache.isCurrent("user1", 3)).isTrue();
+    }
+
+    @Test
+    void olderReadDoesNotOverwriteNewerVersion() {
+        ReflectionTestUtils.setField(tokenVersionCache, "refreshMs", 0L);
+        // 폐기 전에 시작된 조회가 늦게 끝나 옛 버전(2)을 가져온 경우
+        when(userRepository.findTokenVersionById("user1")).thenReturn(Optional.of(3), Optional.of(2));
+
+        tokenVersionCache.onRevoked(new TokenVersionRevokedEvent("user1"));
+
+        assertThat(tokenVersionCache.isCurrent("user1", 2)).isFalse();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.record.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        KeysetCursor cursor = KeysetCursor.of(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000), 42L);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void keepsMicrosecondPrecision() {
+        // PostgreSQL timestamp는 마이크로초까지 저장하므로 그 이하는 버림
+        KeysetCursor cursor = KeysetCursor.of(LocalDateTime.of(2024, 5, 1, 0, 0, 0, 123_456_789), 1L);
+
+        assertThat(KeysetCursor.decode(cursor.encode()).createdAt())
+                .isEqualTo(LocalDateTime.of(2024, 5, 1, 0, 0, 0, 123_456_000));
+    }
+
+    @Test
+    void roundTripsTimesBeforeEpoch() {
+        KeysetCursor cursor = KeysetCursor.of(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000), 7L);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = KeysetCursor.of(LocalDateTime.of(2024, 1, 1, 0, 0), Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("%%%"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
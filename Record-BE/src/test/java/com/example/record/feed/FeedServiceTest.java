@@ -0,0 +1,157 @@
+package com.example.record.feed;
+
+import com.example.record.common.KeysetCursor;
+import com.example.record.review.entity.Ticket;
+import com.example.record.review.entity.TicketChangedEvent;
+import com.example.record.review.repository.TicketRepository;
+import com.example.record.storage.ImageVariantService;
+import com.example.record.storage.ImageVariantUrls;
+import com.example.record.user.FriendGraphService;
+import com.example.record.user.FriendshipChangedEvent;
+import com.example.record.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FeedServiceTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private FriendGraphService friendGraphService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @InjectMocks
+    private FeedService feedService;
+
+    private final User friend = User.builder().id("friend1").nickname("친구").build();
+    private final LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(feedService, "cacheTtlMs", 60_000L);
+        ReflectionTestUtils.setField(feedService, "cacheMaxEntries", 100);
+        lenient().when(imageVariantService.variantUrls(any())).thenReturn(ImageVariantUrls.NONE);
+    }
+
+    @Test
+    void firstPageReadsOneExtraRowToFindNextCursor() {
+        when(friendGraphService.friendIds("me")).thenReturn(Set.of("friend1"));
+        when(ticketRepository.findPublicFeed(Set.of("friend1"), PageRequest.of(0, 3)))
+                .thenReturn(List.of(ticket(30L, 3), ticket(20L, 2), ticket(10L, 1)));
+
+        var page = feedService.getFeed("me", null, 2);
+
+        assertThat(page.items()).extracting(FeedItemResponse::getTicketId).containsExactly(30L, 20L);
+        assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(KeysetCursor.of(now.minusHours(2), 20L));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(friendGraphService.friendIds("me")).thenReturn(Set.of("friend1"));
+        when(ticketRepository.findPublicFeed(Set.of("friend1"), PageRequest.of(0, 3)))
+                .thenReturn(List.of(ticket(30L, 3), ticket(20L, 2)));
+
+        var page = feedService.getFeed("me", null, 2);
+
+        assertThat(page.items()).hasSize(2);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void cursorPageContinuesAfterCursorPosition() {
+        when(friendGraphService.friendIds("me")).thenReturn(Set.of("friend1"));
+        when(ticketRepository.findPublicFeedAfter(Set.of("friend1"), now.minusHours(2), 20L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(ticket(10L, 1)));
+
+        var page = feedService.getFeed("me", KeysetCursor.of(now.minusHours(2), 20L).encode(), 2);
+
+        assertThat(page.items()).extracting(FeedItemResponse::getTicketId).containsExactly(10L);
+        assertThat(page.nextCursor()).isNull();
+        verify(ticketRepository, never()).findPublicFeed(any(), any());
+    }
+
+    @Test
+    void userWithoutFriendsGetsEmptyFeedWithoutQuery() {
+        when(friendGraphService.friendIds("me")).thenReturn(Set.of());
+
+        var page = feedService.getFeed("me", null, 20);
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        when(friendGraphService.friendIds("me")).thenReturn(Set.of("friend1"));
+
+        assertThatThrownBy(() -> feedService.getFeed("me", "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void firstPageIsCachedUntilFriendChangesTicket() {
+        when(friendGraphService.friendIds("me")).thenReturn(Set.of("friend1"));
+        when(friendGraphService.friendIds("friend1")).thenReturn(Set.of("me"));
+        when(ticketRepository.findPublicFeed(Set.of("friend1"), PageRequest.of(0, 3)))
+                .thenReturn(List.of(ticket(30L, 3)));
+
+        feedService.getFeed("me", null, 2);
+        feedService.getFeed("me", null, 2);
+        verify(ticketRepository, times(1)).findPublicFeed(any(), any());
+
+        feedService.onTicketChanged(new TicketChangedEvent("friend1"));
+        feedService.getFeed("me", null, 2);
+
+        verify(ticketRepository, times(2)).findPublicFeed(any(), any());
+    }
+
+    @Test
+    void friendshipChangeDropsCachedFirstPage() {
+        when(friendGraphService.friendIds("me")).thenReturn(Set.of("friend1"));
+        when(ticketRepository.findPublicFeed(Set.of("friend1"), PageRequest.of(0, 3)))
+                .thenReturn(List.of(ticket(30L, 3)));
+
+        feedService.getFeed("me", null, 2);
+        feedService.onFriendshipChanged(
+                new FriendshipChangedEvent("me", "friend2", FriendshipChangedEvent.Type.ACCEPTED));
+        feedService.getFeed("me", null, 2);
+
+        verify(ticketRepository, times(2)).findPublicFeed(any(), any());
+    }
+
+    /** hoursAgo가 클수록 오래된 티켓 */
+    private Ticket ticket(Long id, int hoursAgo) {
+        return Ticket.builder()
+                .id(id)
+                .user(friend)
+                .performanceTitle("공연 " + id)
+                .isPublic(true)
+                .createdAt(now.minusHours(hoursAgo))
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.record.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxWorkerTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final TestHandler handler = new TestHandler();
+
+    private OutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        worker = new OutboxWorker(outboxEventRepository, transactionTemplate, List.of(handler),
+                2, 3, 1000, 60_000, 600_000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        handler.release.countDown();
+        worker.shutdown();
+    }
+
+    @Test
+    void claimedEventIsMarkedProcessingThenDone() {
+        OutboxEvent event = event(1L, "TEST", 0);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event));
+        handler.release.countDown();
+
+        worker.poll();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.Status.PROCESSING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getLockedAt()).isNotNull();
+        verify(outboxEventRepository, timeout(1000)).markDone(eq(1L), eq(OutboxEvent.Status.DONE), any());
+    }
+
+    @Test
+    void failedEventIsRescheduledWithBackoff() {
+        OutboxEvent event = event(1L, "TEST", 0);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event));
+        handler.fail = true;
+        handler.release.countDown();
+
+        worker.poll();
+
+        verify(outboxEventRepository, timeout(1000)).markFailed(eq(1L), eq(OutboxEvent.Status.PENDING),
+                contains("boom"), notNull(), any());
+        verify(outboxEventRepository, never()).markDone(any(), any(), any());
+    }
+
+    @Test
+    void eventIsDeadAfterMaxAttempts() {
+        OutboxEvent event = event(1L, "TEST", 2);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event));
+        handler.fail = true;
+        handler.release.countDown();
+
+        worker.poll();
+
+        verify(outboxEventRepository, timeout(1000)).markFailed(eq(1L), eq(OutboxEvent.Status.DEAD),
+                anyString(), isNull(), any());
+    }
+
+    @Test
+    void eventWithoutHandlerIsDeadImmediately() {
+        OutboxEvent event = event(1L, "UNKNOWN", 0);
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event));
+
+        worker.poll();
+
+        verify(outboxEventRepository, timeout(1000)).markFailed(eq(1L), eq(OutboxEvent.Status.DEAD),
+                anyString(), isNull(), any());
+    }
+
+    @Test
+    void pollClaimsOnlyAsManyAsFreeWorkers() {
+        when(outboxEventRepository.lockNextBatch(any(), eq(2))).thenReturn(List.of(event(1L, "TEST", 0)));
+        when(outboxEventRepository.lockNextBatch(any(), eq(1))).thenReturn(List.of(event(2L, "TEST", 0)));
+
+        worker.poll(); // 1건 처리 중 → 빈 자리 1
+        worker.poll(); // 2건 처리 중 → 빈 자리 없음
+        worker.poll();
+
+        verify(outboxEventRepository).lockNextBatch(any(), eq(2));
+        verify(outboxEventRepository).lockNextBatch(any(), eq(1));
+        verify(outboxEventRepository, never()).lockNextBatch(any(), eq(0));
+    }
+
+    private static OutboxEvent event(Long id, String eventType, int attempts) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(eventType)
+                .aggregateId("user1")
+                .attempts(attempts)
+                .build();
+    }
+
+    /** release가 열릴 때까지 처리를 붙잡아 두는 처리기 */
+    private static class TestHandler implements OutboxHandler {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean fail;
+
+        @Override
+        public String eventType() {
+            return "TEST";
+        }
+
+        @Override
+        public void handle(OutboxEvent event) throws Exception {
+            release.await(1, TimeUnit.SECONDS);
+            if (fail) {
+                throw new IllegalStateException("boom");
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.record.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsUpToCapacityThenReportsWait() {
+        TokenBucket bucket = new TokenBucket(3, 0);
+
+        assertThat(bucket.tryConsume(1, 3, 1.0, 0)).isZero();
+        assertThat(bucket.tryConsume(1, 3, 1.0, 0)).isZero();
+        assertThat(bucket.tryConsume(1, 3, 1.0, 0)).isZero();
+        assertThat(bucket.tryConsume(1, 3, 1.0, 0)).isEqualTo(1000);
+    }
+
+    @Test
+    void refillsOverTimeUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 0);
+        bucket.tryConsume(2, 2, 2.0, 0);
+
+        assertThat(bucket.tryConsume(1, 2, 2.0, SECOND / 4)).isEqualTo(250);
+        assertThat(bucket.tryConsume(1, 2, 2.0, SECOND / 2)).isZero();
+
+        // 오래 지나도 capacity 이상 쌓이지 않음
+        assertThat(bucket.tryConsume(2, 2, 2.0, 100 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(1, 2, 2.0, 100 * SECOND)).isEqualTo(500);
+    }
+
+    @Test
+    void costLargerThanAvailableIsRejectedWithoutConsuming() {
+        TokenBucket bucket = new TokenBucket(5, 0);
+
+        assertThat(bucket.tryConsume(6, 5, 1.0, 0)).isEqualTo(1000);
+        assertThat(bucket.tryConsume(5, 5, 1.0, 0)).isZero();
+    }
+
+    @Test
+    void idleOnlyAfterRefillingToCapacity() {
+        TokenBucket bucket = new TokenBucket(4, 0);
+        assertThat(bucket.isIdle(4, 1.0, 0)).isTrue();
+
+        bucket.tryConsume(2, 4, 1.0, 0);
+        assertThat(bucket.isIdle(4, 1.0, SECOND)).isFalse();
+        assertThat(bucket.isIdle(4, 1.0, 2 * SECOND)).isTrue();
+    }
+
+    @Test
+    void concurrentConsumersNeverExceedCapacity() throws InterruptedException {
+        int capacity = 1000;
+        TokenBucket bucket = new TokenBucket(capacity, 0);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    // 시간이 흐르지 않으므로 보충 없음
+                    if (bucket.tryConsume(1, capacity, 1.0, 0) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed.get()).isEqualTo(capacity);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.record.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    @Test
+    void searchRecallMatchesBruteForce() {
+        Random random = new Random(42);
+        int n = 2000;
+        float[][] vectors = new float[n][];
+        HnswIndex index = new HnswIndex(16, 100);
+        for (int i = 0; i < n; i++) {
+            vectors[i] = randomVector(random);
+            index.add(i, vectors[i]);
+        }
+
+        int k = 10;
+        int queries = 50;
+        int hits = 0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector(random);
+            Set<Long> expected = bruteForce(vectors, query, k);
+            for (HnswIndex.Neighbor neighbor : index.search(query, k, 64, -1)) {
+                if (expected.contains(neighbor.id())) {
+                    hits++;
+                }
+            }
+        }
+        double recall = (double) hits / (queries * k);
+        assertThat(recall).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void addedVectorIsFoundAndExcludedById() {
+        Random random = new Random(1);
+        HnswIndex index = new HnswIndex(8, 50);
+        for (int i = 0; i < 100; i++) {
+            index.add(i, randomVector(random));
+        }
+
+        float[] vector = index.vector(7);
+        assertThat(index.size()).isEqualTo(100);
+        assertThat(index.search(vector, 1, 32, -1).get(0).id()).isEqualTo(7);
+        assertThat(index.search(vector, 5, 32, 7)).extracting(HnswIndex.Neighbor::id).doesNotContain(7L);
+    }
+
+    @Test
+    void addingSameIdReplacesVector() {
+        Random random = new Random(2);
+        HnswIndex index = new HnswIndex(8, 50);
+        for (int i = 0; i < 50; i++) {
+            index.add(i, randomVector(random));
+        }
+        float[] replacement = randomVector(random);
+        index.add(3, replacement);
+
+        assertThat(index.size()).isEqualTo(50);
+        assertThat(index.vector(3)).containsExactly(replacement);
+        assertThat(index.search(replacement, 1, 32, -1).get(0).id()).isEqualTo(3);
+    }
+
+    @Test
+    void removedVectorIsNotReturned() {
+        Random random = new Random(3);
+        HnswIndex index = new HnswIndex(8, 50);
+        for (int i = 0; i < 100; i++) {
+            index.add(i, randomVector(random));
+        }
+        float[] removed = index.vector(10);
+        index.remove(10);
+
+        assertThat(index.vector(10)).isNull();
+        assertThat(index.size()).isEqualTo(99);
+        assertThat(index.search(removed, 20, 64, -1)).extracting(HnswIndex.Neighbor::id).doesNotContain(10L);
+    }
+
+    @Test
+    void compactKeepsLiveVectors() {
+        Random random = new Random(4);
+        HnswIndex index = new HnswIndex(8, 50);
+        for (int i = 0; i < 100; i++) {
+            index.add(i, randomVector(random));
+        }
+        for (int i = 0; i < 50; i++) {
+            index.remove(i);
+        }
+        index.compactIfNeeded();
+
+        assertThat(index.size()).isEqualTo(50);
+        for (int i = 50; i < 100; i++) {
+            assertThat(index.search(index.vector(i), 1, 32, -1).get(0).id()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void emptyIndexReturnsNothing() {
+        HnswIndex index = new HnswIndex(8, 50);
+        assertThat(index.search(randomVector(new Random(5)), 5, 32, -1)).isEmpty();
+    }
+
+    private static Set<Long> bruteForce(float[][] vectors, float[] query, int k) {
+        List<Integer> nearest = IntStream.range(0, vectors.length).boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> -dot(vectors[i], query)))
+                .limit(k)
+                .toList();
+        Set<Long> ids = new HashSet<>();
+        nearest.forEach(i -> ids.add((long) i));
+        return ids;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return EmbeddingCodec.normalize(vector);
+    }
+}
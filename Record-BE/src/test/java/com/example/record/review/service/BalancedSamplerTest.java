@@ -0,0 +1,84 @@
+package com.example.record.review.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalancedSamplerTest {
+
+    @Test
+    void groupsByNormalizedCategory() {
+        List<String[]> items = List.of(
+                new String[]{"acting", "a1"},
+                new String[]{" ACTING ", "a2"},
+                new String[]{null, "o1"},
+                new String[]{"", "o2"},
+                new String[]{"music", "m1"});
+
+        List<List<String>> groups = BalancedSampler.group(items, i -> i[0], i -> i[1]);
+
+        assertThat(groups).containsExactly(List.of("a1", "a2"), List.of("o1", "o2"), List.of("m1"));
+    }
+
+    @Test
+    void samplesEvenlyAcrossCategories() {
+        List<List<String>> groups = List.of(items("a", 10), items("b", 10), items("c", 10));
+
+        for (int seed = 0; seed < 20; seed++) {
+            List<String> picked = BalancedSampler.sample(groups, 6, new Random(seed));
+
+            assertThat(picked).hasSize(6).doesNotHaveDuplicates();
+            Map<Character, Long> perGroup = picked.stream()
+                    .collect(Collectors.groupingBy(s -> s.charAt(0), Collectors.counting()));
+            assertThat(perGroup).containsOnly(Map.entry('a', 2L), Map.entry('b', 2L), Map.entry('c', 2L));
+        }
+    }
+
+    @Test
+    void fillsFromOtherCategoriesWhenOneRunsOut() {
+        List<List<String>> groups = List.of(items("a", 1), items("b", 10));
+
+        List<String> picked = BalancedSampler.sample(groups, 5, new Random(7));
+
+        assertThat(picked).hasSize(5).doesNotHaveDuplicates().contains("a0");
+    }
+
+    @Test
+    void returnsEverythingWhenAskingForMoreThanAvailable() {
+        List<List<String>> groups = List.of(items("a", 2), items("b", 3));
+
+        List<String> picked = BalancedSampler.sample(groups, 10, new Random(3));
+
+        assertThat(picked).containsExactlyInAnyOrder("a0", "a1", "b0", "b1", "b2");
+    }
+
+    @Test
+    void drawsEveryItemWithSimilarFrequency() {
+        List<List<String>> groups = List.of(items("a", 5));
+        Random random = new Random(11);
+        Map<String, Long> counts = IntStream.range(0, 5000)
+                .mapToObj(i -> BalancedSampler.sample(groups, 1, random).get(0))
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        assertThat(counts).hasSize(5);
+        counts.values().forEach(c -> assertThat(c).isBetween(850L, 1150L));
+    }
+
+    @Test
+    void emptyInputOrNonPositiveCountReturnsEmpty() {
+        assertThat(BalancedSampler.sample(List.<List<String>>of(), 3, new Random())).isEmpty();
+        assertThat(BalancedSampler.sample(List.of(items("a", 3)), 0, new Random())).isEmpty();
+    }
+
+    private static List<String> items(String prefix, int n) {
+        return Arrays.asList(IntStream.range(0, n).mapToObj(i -> prefix + i).toArray(String[]::new));
+    }
+}
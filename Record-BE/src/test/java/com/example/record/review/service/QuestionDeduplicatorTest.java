@@ -0,0 +1,64 @@
+package com.example.record.review.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionDeduplicatorTest {
+
+    private QuestionDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        deduplicator = new QuestionDeduplicator();
+        ReflectionTestUtils.setField(deduplicator, "similarityThreshold", 0.6);
+    }
+
+    @Test
+    void dropsCandidateAlmostEqualToExistingQuestion() {
+        QuestionDeduplicator.Result result = deduplicator.filter(
+                List.of("가장 인상 깊었던 장면은 무엇인가요?", "배우의 연기는 어땠나요?"),
+                List.of("가장 인상깊었던 장면은 무엇이었나요", "무대 연출에서 기억에 남는 부분은?"));
+
+        assertThat(result.unique()).containsExactly("무대 연출에서 기억에 남는 부분은?");
+        assertThat(result.matchedExisting()).containsExactly(0);
+    }
+
+    @Test
+    void dropsDuplicatesAmongCandidates() {
+        QuestionDeduplicator.Result result = deduplicator.filter(
+                List.of(),
+                List.of("  넘버 중 최고의 곡은? ", "넘버 중 최고의 곡은!", "넘버 중에서 최고의 곡은?", "커튼콜 분위기는 어땠나요?"));
+
+        assertThat(result.unique()).containsExactly("넘버 중 최고의 곡은?", "커튼콜 분위기는 어땠나요?");
+        assertThat(result.matchedExisting()).isEmpty();
+    }
+
+    @Test
+    void ignoresBlankCandidates() {
+        QuestionDeduplicator.Result result = deduplicator.filter(List.of(), List.of("", " ?! ", "좋았던 점은?"));
+
+        assertThat(result.unique()).containsExactly("좋았던 점은?");
+    }
+
+    @Test
+    void normalizesCaseWidthAndPunctuation() {
+        assertThat(QuestionDeduplicator.normalize("Ｈｅｌｌｏ, World 2!")).isEqualTo("helloworld2");
+        assertThat(QuestionDeduplicator.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void bigramsThatCollidedUnderMultiplyBy31AreDistinct() {
+        // (a, b)와 (a + 1, b - 31)은 a * 31 + b 값이 같았음
+        String existing = new String(new int[]{0xAC00, 0xB098}, 0, 2);
+        String candidate = new String(new int[]{0xAC01, 0xB098 - 31}, 0, 2);
+
+        QuestionDeduplicator.Result result = deduplicator.filter(List.of(existing), List.of(candidate));
+
+        assertThat(result.unique()).containsExactly(candidate);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.record.review.service;
+
+import com.example.record.review.dto.request.ReviewUpdateRequest.QuestionDTO;
+import com.example.record.review.entity.QuestionTemplate;
+import com.example.record.review.entity.Review;
+import com.example.record.review.entity.ReviewQuestion;
+import com.example.record.review.repository.QuestionTemplateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceSyncQuestionsTest {
+
+    @Mock
+    private QuestionTemplateRepository questionTemplateRepository;
+
+    @InjectMocks
+    private ReviewService reviewService;
+
+    private final QuestionTemplate template1 = QuestionTemplate.builder().id(1L).build();
+    private final QuestionTemplate template2 = QuestionTemplate.builder().id(2L).build();
+    private final QuestionTemplate template3 = QuestionTemplate.builder().id(3L).build();
+
+    private Review review;
+    private ReviewQuestion q1;
+    private ReviewQuestion q2;
+
+    @BeforeEach
+    void setUp() {
+        review = Review.builder().build();
+        q1 = question(template1, 1, "첫 질문");
+        q2 = question(template2, 2, null);
+        review.addQuestion(q1);
+        review.addQuestion(q2);
+    }
+
+    @Test
+    void unchangedQuestionsKeepTheirRows() {
+        reviewService.syncQuestions(review, List.of(dto(1L, 1, "첫 질문"), dto(2L, 2, null)));
+
+        assertThat(review.getQuestions()).containsExactly(q1, q2);
+        assertThat(q1.getCustomText()).isEqualTo("첫 질문");
+        verify(questionTemplateRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void changedTextUpdatesExistingRow() {
+        reviewService.syncQuestions(review, List.of(dto(1L, 1, "바뀐 질문"), dto(2L, 2, null)));
+
+        assertThat(review.getQuestions()).containsExactly(q1, q2);
+        assertThat(q1.getCustomText()).isEqualTo("바뀐 질문");
+    }
+
+    @Test
+    void reorderedQuestionsReuseRowsOfSameTemplate() {
+        reviewService.syncQuestions(review, List.of(dto(2L, 1, null), dto(1L, 2, "첫 질문")));
+
+        assertThat(review.getQuestions()).containsExactlyInAnyOrder(q1, q2);
+        assertThat(q1.getDisplayOrder()).isEqualTo(2);
+        assertThat(q2.getDisplayOrder()).isEqualTo(1);
+        verify(questionTemplateRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void addsNewAndRemovesMissingQuestions() {
+        when(questionTemplateRepository.findAllById(Set.of(3L))).thenReturn(List.of(template3));
+
+        reviewService.syncQuestions(review, List.of(dto(1L, 1, "첫 질문"), dto(3L, 2, "새 질문")));
+
+        assertThat(review.getQuestions()).hasSize(2).contains(q1).doesNotContain(q2);
+        ReviewQuestion added = review.getQuestions().get(1);
+        assertThat(added.getTemplate()).isSameAs(template3);
+        assertThat(added.getDisplayOrder()).isEqualTo(2);
+        assertThat(added.getCustomText()).isEqualTo("새 질문");
+        assertThat(added.getReview()).isSameAs(review);
+    }
+
+    @Test
+    void emptyRequestRemovesAllQuestions() {
+        reviewService.syncQuestions(review, List.of());
+
+        assertThat(review.getQuestions()).isEmpty();
+    }
+
+    @Test
+    void unknownTemplateIsRejected() {
+        when(questionTemplateRepository.findAllById(Set.of(99L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> reviewService.syncQuestions(review, List.of(dto(99L, 1, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void missingTemplateIdIsRejected() {
+        assertThatThrownBy(() -> reviewService.syncQuestions(review, List.of(dto(null, 1, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ReviewQuestion question(QuestionTemplate template, int order, String text) {
+        return ReviewQuestion.builder().template(template).displayOrder(order).customText(text).build();
+    }
+
+    private static QuestionDTO dto(Long templateId, int order, String text) {
+        return QuestionDTO.builder().templateId(templateId).displayOrder(order).customText(text).build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.record.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    @Test
+    void splitsHangulWordsIntoBigrams() {
+        assertThat(SearchTokenizer.documentTokens("무대연출")).isEqualTo("무대 대연 연출");
+    }
+
+    @Test
+    void keepsLatinWordsWholeAndLowercased() {
+        assertThat(SearchTokenizer.documentTokens("Hamilton 2024", "ＭＵＳＩＣＡＬ")).isEqualTo("hamilton 2024 musical");
+    }
+
+    @Test
+    void ignoresPunctuationAndNullTexts() {
+        assertThat(SearchTokenizer.documentTokens(null, "연출이, 좋았다!")).isEqualTo("연출 출이 좋았 았다");
+    }
+
+    @Test
+    void capsTokenLength() {
+        String tokens = SearchTokenizer.documentTokens("word ".repeat(10_000));
+
+        assertThat(tokens.length()).isLessThanOrEqualTo(20_000);
+        assertThat(tokens).endsWith("word");
+    }
+
+    @Test
+    void queryRequiresEveryToken() {
+        // 한글 두 글자 이상은 2-gram 그대로, 영문/한 글자는 접두어 검색
+        assertThat(SearchTokenizer.query("연출 ham 봄")).isEqualTo("연출 & ham:* & 봄:*");
+    }
+
+    @Test
+    void queryFindsDocumentTokensInsideLongerWords() {
+        // 문서 "연출이" → 연출 출이 이므로 검색어 "연출"의 토큰이 문서에 들어 있음
+        assertThat(SearchTokenizer.documentTokens("연출이").split(" ")).contains("연출");
+        assertThat(SearchTokenizer.query("연출")).isEqualTo("연출");
+    }
+
+    @Test
+    void queryDeduplicatesTokens() {
+        assertThat(SearchTokenizer.query("abc ABC")).isEqualTo("abc:*");
+    }
+
+    @Test
+    void blankQueryHasNoTokens() {
+        assertThat(SearchTokenizer.query("  ?! ")).isNull();
+        assertThat(SearchTokenizer.query(null)).isNull();
+    }
+}
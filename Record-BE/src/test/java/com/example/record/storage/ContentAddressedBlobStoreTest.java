@@ -0,0 +1,229 @@
+package com.example.record.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContentAddressedBlobStoreTest {
+
+    private static final String INCREMENT = "UPDATE media_blobs SET ref_count = ref_count + 1";
+    private static final String UPSERT = "INSERT INTO media_blobs";
+
+    @Mock
+    private MediaStorage mediaStorage;
+
+    @Mock
+    private MediaBlobRepository mediaBlobRepository;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ContentAddressedBlobStore blobStore;
+
+    private final String hash = sha256("hello");
+    private final String key = "blobs/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".png";
+
+    @BeforeEach
+    void setUp() {
+        blobStore.initTransactionTemplates();
+        lenient().when(mediaStorage.publicUrl(anyString())).thenAnswer(invocation -> "https://cdn/" + invocation.getArgument(0));
+    }
+
+    @Test
+    void existingContentOnlyGainsReference() throws IOException {
+        givenExistingRow(List.of(key));
+
+        StoredBlob blob = blobStore.store(body(), "image/png", "png");
+
+        assertThat(blob.created()).isFalse();
+        assertThat(blob.key()).isEqualTo(key);
+        assertThat(blob.url()).isEqualTo("https://cdn/" + key);
+        verify(mediaStorage, never()).put(anyString(), any(), anyLong(), anyString());
+    }
+
+    @Test
+    void newContentIsUploadedToTempKeyThenMovedIntoPlace() throws IOException {
+        givenExistingRow(List.of());
+        givenUpsert(true);
+
+        StoredBlob blob = blobStore.store(body(), "image/png", "png");
+
+        String tempKey = uploadedTempKey();
+        verify(mediaStorage).move(tempKey, key);
+        assertThat(blob.created()).isTrue();
+        assertThat(blob.key()).isEqualTo(key);
+    }
+
+    @Test
+    void losingConcurrentInsertDeletesOwnTempObject() throws IOException {
+        givenExistingRow(List.of());
+        givenUpsert(false);
+
+        StoredBlob blob = blobStore.store(body(), "image/png", "png");
+
+        String tempKey = uploadedTempKey();
+        verify(mediaStorage).delete(tempKey);
+        verify(mediaStorage, never()).move(anyString(), anyString());
+        assertThat(blob.created()).isFalse();
+    }
+
+    @Test
+    void failedUploadLeavesNoRow() throws IOException {
+        givenExistingRow(List.of());
+        when(mediaStorage.put(startsWith("blobs/tmp/"), any(), eq(5L), eq("image/png")))
+                .thenThrow(new IOException("network"));
+
+        assertThatThrownBy(() -> blobStore.store(body(), "image/png", "png")).isInstanceOf(IOException.class);
+
+        verify(mediaStorage).delete(startsWith("blobs/tmp/"));
+        verify(jdbcTemplate, never()).queryForMap(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void failedMoveUndoesInsertedRow() throws IOException {
+        givenExistingRow(List.of());
+        givenUpsert(true);
+        doThrow(new IOException("copy failed")).when(mediaStorage).move(startsWith("blobs/tmp/"), eq(key));
+
+        assertThatThrownBy(() -> blobStore.store(body(), "image/png", "png")).isInstanceOf(IOException.class);
+
+        String tempKey = uploadedTempKey();
+        verify(mediaStorage).delete(tempKey);
+        verify(jdbcTemplate).update(startsWith("UPDATE media_blobs SET ref_count = ref_count - 1"), eq(hash));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM media_blobs"), eq(hash));
+    }
+
+    @Test
+    void releasingSharedBlobOnlyDecrements() {
+        MediaBlob blob = blob(2);
+        givenRelease(blob);
+
+        assertThat(blobStore.release("https://cdn/" + key)).isTrue();
+
+        assertThat(blob.getRefCount()).isEqualTo(1);
+        verify(mediaBlobRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void releasingLastReferenceDeletesRowAndObjectAfterCommit() {
+        MediaBlob blob = blob(1);
+        givenRelease(blob);
+
+        assertThat(blobStore.release("https://cdn/" + key)).isTrue();
+
+        verify(mediaBlobRepository).delete(blob);
+        verify(eventPublisher).publishEvent(new BlobReleasedEvent(hash, key));
+        verify(mediaStorage, never()).delete(anyString()); // 커밋 전에는 객체를 지우지 않음
+    }
+
+    @Test
+    void releasedObjectIsDeletedWithVariants() {
+        when(mediaBlobRepository.findByHash(hash)).thenReturn(Optional.empty());
+
+        blobStore.onBlobReleased(new BlobReleasedEvent(hash, key));
+
+        verify(mediaStorage).delete(key);
+        for (ImageVariant variant : ImageVariant.values()) {
+            verify(mediaStorage).delete(variant.keyFor(key));
+        }
+    }
+
+    @Test
+    void objectStoredAgainBeforeCleanupIsKept() {
+        when(mediaBlobRepository.findByHash(hash)).thenReturn(Optional.of(blob(1)));
+
+        blobStore.onBlobReleased(new BlobReleasedEvent(hash, key));
+
+        verify(mediaStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void urlOutsideBlobStoreIsNotManaged() {
+        when(mediaStorage.keyOf("https://example.com/a.png")).thenReturn(Optional.empty());
+
+        assertThat(blobStore.release("https://example.com/a.png")).isFalse();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void givenExistingRow(List<String> storageKeys) {
+        when(jdbcTemplate.query(startsWith(INCREMENT), any(RowMapper.class), eq(hash))).thenReturn((List) storageKeys);
+    }
+
+    private void givenUpsert(boolean inserted) {
+        when(jdbcTemplate.queryForMap(startsWith(UPSERT), eq(hash), eq(key), eq(5L), eq("image/png")))
+                .thenReturn(Map.of("storage_key", key, "inserted", inserted));
+    }
+
+    private void givenRelease(MediaBlob blob) {
+        when(mediaStorage.keyOf("https://cdn/" + key)).thenReturn(Optional.of(key));
+        when(mediaBlobRepository.findByStorageKey(key)).thenReturn(Optional.of(blob));
+        when(mediaBlobRepository.findByStorageKeyForUpdate(key)).thenReturn(Optional.of(blob));
+    }
+
+    private String uploadedTempKey() throws IOException {
+        ArgumentCaptor<String> tempKey = ArgumentCaptor.forClass(String.class);
+        verify(mediaStorage).put(tempKey.capture(), any(), eq(5L), eq("image/png"));
+        assertThat(tempKey.getValue()).startsWith("blobs/tmp/");
+        return tempKey.getValue();
+    }
+
+    private MediaBlob blob(int refCount) {
+        return MediaBlob.builder().hash(hash).storageKey(key).refCount(refCount).build();
+    }
+
+    private static InputStream body() {
+        return new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
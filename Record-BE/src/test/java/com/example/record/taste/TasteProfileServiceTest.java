@@ -0,0 +1,167 @@
+package com.example.record.taste;
+
+import com.example.record.review.repository.ReviewRepository;
+import com.example.record.review.repository.ReviewRepository.TasteSeedRow;
+import com.example.record.user.User;
+import com.example.record.user.UserCache;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TasteProfileServiceTest {
+
+    @Mock
+    private UserTasteProfileRepository userTasteProfileRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TasteProfileService tasteProfileService;
+
+    private final User user = User.builder().id("user1").build();
+
+    @BeforeEach
+    void setUp() {
+        tasteProfileService = new TasteProfileService(
+                userTasteProfileRepository, reviewRepository, userCache, objectMapper);
+        ReflectionTestUtils.setField(tasteProfileService, "decay", 0.5);
+        ReflectionTestUtils.setField(tasteProfileService, "maxTerms", 200);
+        ReflectionTestUtils.setField(tasteProfileService, "topK", 5);
+        ReflectionTestUtils.setField(tasteProfileService, "seedReviews", 50);
+    }
+
+    @Test
+    void newReviewDecaysEarlierWeights() throws Exception {
+        UserTasteProfile profile = profile("{\"연출\":1.0}", "{\"뮤지컬\":1.0}", 1);
+        when(userTasteProfileRepository.insertIfAbsent("user1")).thenReturn(0);
+        when(userTasteProfileRepository.findByIdForUpdate("user1")).thenReturn(Optional.of(profile));
+
+        tasteProfileService.recordReview(user, "연극", "무대", null);
+
+        assertThat(weights(profile.getTermWeights())).containsOnly(entry("연출", 0.5), entry("무대", 1.0));
+        assertThat(weights(profile.getGenreWeights())).containsOnly(entry("뮤지컬", 0.5), entry("연극", 1.0));
+        assertThat(profile.getTopKeywords()).isEqualTo("무대,연출");
+        assertThat(profile.getTopGenre()).isEqualTo("연극");
+        assertThat(profile.getReviewCount()).isEqualTo(2L);
+        assertThat(user.getFavorite()).isEqualTo("무대,연출");
+        verify(userCache).evict("user1");
+    }
+
+    @Test
+    void newProfileIsSeededFromRecentReviewsOldestFirst() throws Exception {
+        UserTasteProfile profile = profile("{}", "{}", 0);
+        when(userTasteProfileRepository.insertIfAbsent("user1")).thenReturn(1);
+        when(userTasteProfileRepository.findByIdForUpdate("user1")).thenReturn(Optional.of(profile));
+        // 최신순으로 조회됨
+        when(reviewRepository.findTasteSeedRows(eq("user1"), any(Pageable.class)))
+                .thenReturn(List.of(row("무대", "연극"), row("연출", "뮤지컬")));
+
+        tasteProfileService.recordReview(user, "연극", "무대", null);
+
+        assertThat(weights(profile.getTermWeights())).containsOnly(entry("연출", 0.5), entry("무대", 1.0));
+        assertThat(profile.getReviewCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void keywordsChosenByUserWeighMoreThanSummary() throws Exception {
+        UserTasteProfile profile = profile("{}", "{}", 1);
+        when(userTasteProfileRepository.insertIfAbsent("user1")).thenReturn(0);
+        when(userTasteProfileRepository.findByIdForUpdate("user1")).thenReturn(Optional.of(profile));
+
+        tasteProfileService.recordReview(user, null, "무대", "조명");
+
+        assertThat(weights(profile.getTermWeights())).containsOnly(entry("무대", 1.0), entry("조명", 2.0));
+        assertThat(profile.getTopKeywords()).isEqualTo("조명,무대");
+    }
+
+    @Test
+    void updateReplacesDecayedContributionOfOldText() throws Exception {
+        UserTasteProfile profile = profile("{\"연출\":0.5,\"무대\":1.0}", "{\"연극\":1.0}", 2);
+        when(userTasteProfileRepository.findByIdForUpdate("user1")).thenReturn(Optional.of(profile));
+
+        // 수정한 후기 뒤에 후기가 1개 더 작성됨 → 기여는 0.5배
+        tasteProfileService.updateReview(user, "연출", null, "조명", null, 1);
+
+        assertThat(weights(profile.getTermWeights())).containsOnly(entry("무대", 1.0), entry("조명", 0.5));
+        assertThat(profile.getTopKeywords()).isEqualTo("무대,조명");
+        assertThat(profile.getReviewCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void removeSubtractsDecayedContribution() throws Exception {
+        UserTasteProfile profile = profile("{\"연출\":0.5,\"무대\":1.0}", "{\"뮤지컬\":0.5,\"연극\":1.0}", 2);
+        when(userTasteProfileRepository.findByIdForUpdate("user1")).thenReturn(Optional.of(profile));
+
+        tasteProfileService.removeReview(user, "뮤지컬", "연출", null, 1);
+
+        assertThat(weights(profile.getTermWeights())).containsOnly(entry("무대", 1.0));
+        assertThat(weights(profile.getGenreWeights())).containsOnly(entry("연극", 1.0));
+        assertThat(profile.getTopGenre()).isEqualTo("연극");
+        assertThat(profile.getReviewCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void updateWithoutProfileDoesNothing() {
+        when(userTasteProfileRepository.findByIdForUpdate("user1")).thenReturn(Optional.empty());
+
+        tasteProfileService.updateReview(user, "연출", null, "조명", null, 0);
+
+        verifyNoInteractions(userCache);
+    }
+
+    private static UserTasteProfile profile(String terms, String genres, long reviewCount) {
+        return UserTasteProfile.builder()
+                .userId("user1")
+                .termWeights(terms)
+                .genreWeights(genres)
+                .reviewCount(reviewCount)
+                .build();
+    }
+
+    private static TasteSeedRow row(String summary, String genre) {
+        return new TasteSeedRow() {
+            @Override
+            public String getSummary() {
+                return summary;
+            }
+
+            @Override
+            public String getKeywords() {
+                return null;
+            }
+
+            @Override
+            public String getGenre() {
+                return genre;
+            }
+        };
+    }
+
+    private Map<String, Double> weights(String json) throws Exception {
+        return objectMapper.readValue(json, new TypeReference<Map<String, Double>>() {});
+    }
+}
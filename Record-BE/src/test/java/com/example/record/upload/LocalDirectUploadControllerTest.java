@@ -0,0 +1,42 @@
+package com.example.record.upload;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalDirectUploadControllerTest {
+
+    @Test
+    void bodyOfSignedLengthIsReadFully() throws IOException {
+        try (InputStream in = limited("hello", 5)) {
+            assertThat(new String(in.readAllBytes())).isEqualTo("hello");
+        }
+    }
+
+    @Test
+    void bodyLongerThanSignedLengthIsRejected() {
+        assertThatThrownBy(() -> {
+            try (InputStream in = limited("hello world", 5)) {
+                in.readAllBytes();
+            }
+        }).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void singleByteReadsStopAtLimit() throws IOException {
+        try (InputStream in = limited("ab", 2)) {
+            assertThat(in.read()).isEqualTo('a');
+            assertThat(in.read()).isEqualTo('b');
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    private static InputStream limited(String body, long limit) {
+        return new LocalDirectUploadController.LimitedInputStream(new ByteArrayInputStream(body.getBytes()), limit);
+    }
+}
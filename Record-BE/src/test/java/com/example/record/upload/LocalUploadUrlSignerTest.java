@@ -0,0 +1,40 @@
+package com.example.record.upload;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalUploadUrlSignerTest {
+
+    private final LocalUploadUrlSigner signer = new LocalUploadUrlSigner("test-secret", "http://localhost:8080/");
+
+    @Test
+    void signedUrlIsValidOnlyForSignedKeyTypeAndLength() {
+        PresignedUpload upload = signer.presignPut("uploads/files/a.pdf", "application/pdf", 1000L, Duration.ofMinutes(5));
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUriString(upload.url()).build().getQueryParams();
+        long expires = Long.parseLong(params.getFirst("expires"));
+        String signature = params.getFirst("signature");
+
+        assertThat(upload.url()).startsWith("http://localhost:8080" + LocalDirectUploadController.PATH);
+        assertThat(upload.headers()).containsEntry("Content-Type", "application/pdf");
+        assertThat(signer.verify("uploads/files/a.pdf", expires, "application/pdf", 1000L, signature)).isTrue();
+        assertThat(signer.verify("uploads/files/a.pdf", expires, "application/pdf", 1001L, signature)).isFalse();
+        assertThat(signer.verify("uploads/files/a.pdf", expires, "image/png", 1000L, signature)).isFalse();
+        assertThat(signer.verify("uploads/files/b.pdf", expires, "application/pdf", 1000L, signature)).isFalse();
+    }
+
+    @Test
+    void expiredUrlIsRejected() {
+        PresignedUpload upload = signer.presignPut("uploads/files/a.pdf", "application/pdf", 1000L, Duration.ofSeconds(-10));
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUriString(upload.url()).build().getQueryParams();
+
+        assertThat(upload.expiresAt()).isBefore(Instant.now());
+        assertThat(signer.verify("uploads/files/a.pdf", Long.parseLong(params.getFirst("expires")),
+                "application/pdf", 1000L, params.getFirst("signature"))).isFalse();
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.record.upload;
+
+import com.example.record.storage.ContentAddressedBlobStore;
+import com.example.record.storage.MediaStorage;
+import com.example.record.storage.StoredBlob;
+import com.example.record.upload.dto.CreateUploadSessionRequest;
+import com.example.record.upload.dto.UploadCompleteResponse;
+import com.example.record.upload.dto.UploadSessionResponse;
+import com.example.record.user.User;
+import com.example.record.user.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionServiceTest {
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private UploadUrlSigner uploadUrlSigner;
+
+    @Mock
+    private MediaStorage mediaStorage;
+
+    @Mock
+    private ContentAddressedBlobStore blobStore;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private UploadSessionService uploadSessionService;
+
+    private final User user = User.builder().id("user1").build();
+
+    @Test
+    void createSignsDeclaredContentLength() {
+        when(uploadUrlSigner.presignPut(startsWith("uploads/profile/"), eq("image/png"), eq(1000L), any(Duration.class)))
+                .thenReturn(new PresignedUpload("https://upload", Map.of(), Instant.now()));
+        when(uploadSessionRepository.save(any(UploadSession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UploadSessionResponse response = uploadSessionService.create(user,
+                request(UploadPurpose.PROFILE_IMAGE, "image/png", 1000L));
+
+        assertThat(response.getUploadUrl()).isEqualTo("https://upload");
+        assertThat(response.getPurpose()).isEqualTo(UploadPurpose.PROFILE_IMAGE);
+    }
+
+    @Test
+    void createRejectsFileLargerThanPurposeAllows() {
+        long tooLarge = UploadPurpose.PROFILE_IMAGE.maxBytes() + 1;
+
+        assertThatThrownBy(() -> uploadSessionService.create(user,
+                request(UploadPurpose.PROFILE_IMAGE, "image/png", tooLarge)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(uploadUrlSigner, uploadSessionRepository);
+    }
+
+    @Test
+    void createRejectsContentTypeOfOtherPurpose() {
+        assertThatThrownBy(() -> uploadSessionService.create(user,
+                request(UploadPurpose.STT, "image/png", 1000L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(uploadUrlSigner, uploadSessionRepository);
+    }
+
+    @Test
+    void completeBeforeUploadKeepsSessionPending() {
+        UploadSession session = session(UploadPurpose.FILE);
+        when(uploadSessionRepository.findBySessionId("s1")).thenReturn(Optional.of(session));
+        when(mediaStorage.sizeOf(session.getObjectKey())).thenReturn(-1L);
+
+        assertThatThrownBy(() -> uploadSessionService.complete(user, "s1"))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(session.getStatus()).isEqualTo(UploadSession.Status.PENDING);
+        verify(uploadSessionRepository, never()).claim(any(), any());
+    }
+
+    @Test
+    void completeLosingClaimDoesNotProcess() {
+        UploadSession session = session(UploadPurpose.FILE);
+        when(uploadSessionRepository.findBySessionId("s1")).thenReturn(Optional.of(session));
+        when(mediaStorage.sizeOf(session.getObjectKey())).thenReturn(100L);
+        when(uploadSessionRepository.claim(eq(1L), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> uploadSessionService.complete(user, "s1"))
+                .isInstanceOf(IllegalStateException.class);
+
+        verifyNoInteractions(blobStore, userService);
+        verify(mediaStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void completeWithOversizedObjectDeletesItAndFails() {
+        UploadSession session = session(UploadPurpose.PROFILE_IMAGE);
+        when(uploadSessionRepository.findBySessionId("s1")).thenReturn(Optional.of(session));
+        when(mediaStorage.sizeOf(session.getObjectKey())).thenReturn(UploadPurpose.PROFILE_IMAGE.maxBytes() + 1);
+        when(uploadSessionRepository.claim(eq(1L), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> uploadSessionService.complete(user, "s1"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(mediaStorage).delete(session.getObjectKey());
+        assertThat(session.getStatus()).isEqualTo(UploadSession.Status.FAILED);
+    }
+
+    @Test
+    void completedFileIsAdoptedAsBlob() throws Exception {
+        UploadSession session = session(UploadPurpose.FILE);
+        when(uploadSessionRepository.findBySessionId("s1")).thenReturn(Optional.of(session));
+        when(mediaStorage.sizeOf(session.getObjectKey())).thenReturn(5L);
+        when(uploadSessionRepository.claim(eq(1L), any())).thenReturn(1);
+        when(mediaStorage.open(session.getObjectKey())).thenReturn(new ByteArrayInputStream("hello".getBytes()));
+        when(blobStore.store(any(), eq("application/pdf"), eq("pdf")))
+                .thenReturn(new StoredBlob("hash", "blobs/ha/sh/hash.pdf", "https://cdn/blobs/ha/sh/hash.pdf", true));
+
+        UploadCompleteResponse response = uploadSessionService.complete(user, "s1");
+
+        assertThat(response.getUrl()).isEqualTo("https://cdn/blobs/ha/sh/hash.pdf");
+        assertThat(session.getStatus()).isEqualTo(UploadSession.Status.COMPLETED);
+        verify(mediaStorage).delete(session.getObjectKey());
+    }
+
+    @Test
+    void failedProcessingReleasesAdoptedBlob() throws Exception {
+        UploadSession session = session(UploadPurpose.PROFILE_IMAGE);
+        when(uploadSessionRepository.findBySessionId("s1")).thenReturn(Optional.of(session));
+        when(mediaStorage.sizeOf(session.getObjectKey())).thenReturn(5L);
+        when(uploadSessionRepository.claim(eq(1L), any())).thenReturn(1);
+        when(mediaStorage.open(session.getObjectKey())).thenReturn(new ByteArrayInputStream("hello".getBytes()));
+        when(blobStore.store(any(), eq("application/pdf"), eq("pdf")))
+                .thenReturn(new StoredBlob("hash", "blobs/ha/sh/hash.pdf", "https://cdn/blobs/ha/sh/hash.pdf", true));
+        when(userService.updateProfileImageUrl(user, "https://cdn/blobs/ha/sh/hash.pdf"))
+                .thenThrow(new IllegalStateException("db down"));
+
+        assertThatThrownBy(() -> uploadSessionService.complete(user, "s1"))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(blobStore).release("https://cdn/blobs/ha/sh/hash.pdf");
+        assertThat(session.getStatus()).isEqualTo(UploadSession.Status.FAILED);
+    }
+
+    private static CreateUploadSessionRequest request(UploadPurpose purpose, String contentType, long contentLength) {
+        return CreateUploadSessionRequest.builder()
+                .purpose(purpose)
+                .filename("photo.png")
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build();
+    }
+
+    private UploadSession session(UploadPurpose purpose) {
+        return UploadSession.builder()
+                .id(1L)
+                .sessionId("s1")
+                .user(user)
+                .purpose(purpose)
+                .objectKey(purpose.keyPrefix() + "/2024/05/file.pdf")
+                .contentType("application/pdf")
+                .contentLength(5L)
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build();
+    }
+}